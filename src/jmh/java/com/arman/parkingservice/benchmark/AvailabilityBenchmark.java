@@ -0,0 +1,65 @@
+package com.arman.parkingservice.benchmark;
+
+import com.arman.parkingservice.criteria.ParkingSpotSearchCriteria;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.service.ParkingSpotService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the availability search answered from the occupancy bitsets with the
+ * {@code NOT IN} query it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    @Param({"1000", "5000"})
+    public int spots;
+
+    @Param({"200"})
+    public int bookingsPerSpot;
+
+    private BenchmarkDataset dataset;
+    private ParkingSpotService parkingSpotService;
+    private ParkingSpotRepository parkingSpotRepository;
+    private ParkingSpotSearchCriteria criteria;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataset = BenchmarkDataset.start(spots, spots, bookingsPerSpot);
+        parkingSpotService = dataset.getBean(ParkingSpotService.class);
+        parkingSpotRepository = dataset.getBean(ParkingSpotRepository.class);
+        criteria = new ParkingSpotSearchCriteria();
+        start = dataset.getNow().plusDays(2).plusMinutes(20);
+        end = start.plusHours(3);
+
+        // builds the community's bitsets outside of the measurement
+        parkingSpotService.getAvailableSpots(dataset.getCommunityId(), start, end, criteria);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataset.close();
+    }
+
+    @Benchmark
+    public Object bitsetAvailability() {
+        return parkingSpotService.getAvailableSpots(dataset.getCommunityId(), start, end, criteria);
+    }
+
+    @Benchmark
+    public Object sqlAvailability() {
+        return parkingSpotRepository.findAllAvailableByCommunityAndCriteria(
+                dataset.getCommunityId(), start, end, criteria, criteria.buildPageRequest());
+    }
+}
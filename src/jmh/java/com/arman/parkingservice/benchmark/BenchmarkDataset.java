@@ -0,0 +1,104 @@
+package com.arman.parkingservice.benchmark;
+
+import com.arman.parkingservice.ParkingServiceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Starts the application without a web server against an embedded PostgreSQL and seeds one
+ * community with spots, residents and non-overlapping hourly-spaced bookings per spot.
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final long communityId;
+    private final LocalDateTime now;
+
+    private BenchmarkDataset(EmbeddedPostgres postgres, ConfigurableApplicationContext context,
+                             long communityId, LocalDateTime now) {
+        this.postgres = postgres;
+        this.context = context;
+        this.communityId = communityId;
+        this.now = now;
+    }
+
+    /**
+     * @param spots           number of parking spots of the community
+     * @param residents       number of residents of the community
+     * @param bookingsPerSpot number of bookings per spot, half of them in the past
+     */
+    public static BenchmarkDataset start(int spots, int residents, int bookingsPerSpot) throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.start();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ParkingServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.datasource.password=",
+                        "spring.jpa.show-sql=false",
+                        "parking.booking-sweeper.interval=PT1H"
+                )
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        Long communityId = jdbcTemplate.queryForObject(
+                "INSERT INTO community (name) VALUES ('benchmark') RETURNING id", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO parking_spot (code, community_id)
+                SELECT 'S-' || lpad(g::text, 6, '0'), ?
+                FROM generate_series(1, ?) g
+                """, communityId, spots);
+        jdbcTemplate.update("""
+                INSERT INTO resident (first_name, last_name, email, community_id)
+                SELECT 'First' || g, 'Last' || g, 'resident' || g || '@benchmark.local', ?
+                FROM generate_series(1, ?) g
+                """, communityId, residents);
+        // every spot gets one 2-hour booking every 3 hours, shifted by the spot id
+        jdbcTemplate.update("""
+                INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status)
+                SELECT r.first_id + (s.id + k) % ?, s.id, t.start_date, t.start_date + interval '2 hours',
+                       CASE WHEN t.start_date > ? THEN 'RESERVED' ELSE 'COMPLETED' END
+                FROM parking_spot s
+                CROSS JOIN (SELECT min(id) AS first_id FROM resident WHERE community_id = ?) r
+                CROSS JOIN generate_series(0, ? - 1) k
+                CROSS JOIN LATERAL (
+                    SELECT ?::timestamp + k * interval '3 hours' + (s.id % 3) * interval '1 hour' AS start_date
+                ) t
+                WHERE s.community_id = ?
+                """, residents, now, communityId, bookingsPerSpot,
+                now.minusHours(3L * bookingsPerSpot / 2), communityId);
+        jdbcTemplate.execute("ANALYZE");
+
+        return new BenchmarkDataset(postgres, context, communityId, now);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public long getCommunityId() {
+        return communityId;
+    }
+
+    /**
+     * The seeding time truncated to the hour; bookings after it are RESERVED.
+     */
+    public LocalDateTime getNow() {
+        return now;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
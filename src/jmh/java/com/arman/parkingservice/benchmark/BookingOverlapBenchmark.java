@@ -0,0 +1,79 @@
+package com.arman.parkingservice.benchmark;
+
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.repository.BookingRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overlap check of {@code BookingService.addBooking}, answered from {@link BookingIntervalIndex},
+ * against the {@code exists} query it replaced, for random spots and upcoming windows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingOverlapBenchmark {
+    private static final List<BookingStatus> OPEN = List.of(BookingStatus.RESERVED, BookingStatus.ACTIVE);
+
+    @Param({"2000"})
+    public int spots;
+
+    @Param({"1000"})
+    public int bookingsPerSpot;
+
+    private BenchmarkDataset dataset;
+    private BookingIntervalIndex bookingIntervalIndex;
+    private BookingRepository bookingRepository;
+    private List<ParkingSpot> parkingSpots;
+    private int upcomingHours;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dataset = BenchmarkDataset.start(spots, spots, bookingsPerSpot);
+        bookingIntervalIndex = dataset.getBean(BookingIntervalIndex.class);
+        bookingRepository = dataset.getBean(BookingRepository.class);
+        parkingSpots = dataset.getBean(ParkingSpotRepository.class).findAll();
+        upcomingHours = 3 * bookingsPerSpot / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        dataset.close();
+    }
+
+    @Benchmark
+    public boolean indexOverlap() {
+        ParkingSpot spot = randomSpot();
+        LocalDateTime start = randomStart();
+
+        return bookingIntervalIndex.findOverlap(spot.getId(), start, start.plusHours(1)).isPresent();
+    }
+
+    @Benchmark
+    public boolean sqlOverlap() {
+        ParkingSpot spot = randomSpot();
+        LocalDateTime start = randomStart();
+
+        return bookingRepository.existsByParkingSpotAndBookingStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
+                spot, OPEN, start.plusHours(1), start);
+    }
+
+    private ParkingSpot randomSpot() {
+        return parkingSpots.get(ThreadLocalRandom.current().nextInt(parkingSpots.size()));
+    }
+
+    private LocalDateTime randomStart() {
+        return dataset.getNow().plusMinutes(ThreadLocalRandom.current().nextInt(upcomingHours * 60));
+    }
+}
@@ -0,0 +1,158 @@
+package com.arman.parkingservice.benchmark;
+
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
+import com.arman.parkingservice.cache.ResidentSnapshot;
+import com.arman.parkingservice.criteria.CommunitySearchCriteria;
+import com.arman.parkingservice.criteria.ParkingSpotSearchCriteria;
+import com.arman.parkingservice.criteria.ResidentSearchCriteria;
+import com.arman.parkingservice.criteria.SearchCriteria;
+import com.arman.parkingservice.dto.PageResponseDto;
+import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.mapper.BookingMapper;
+import com.arman.parkingservice.mapper.CommunityMapper;
+import com.arman.parkingservice.mapper.ParkingSpotMapper;
+import com.arman.parkingservice.mapper.ResidentMapper;
+import com.arman.parkingservice.persistence.entity.Booking;
+import com.arman.parkingservice.persistence.entity.Community;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.entity.Resident;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-row and per-request work around the queries: mapping bookings to responses,
+ * constructing projected spots, wrapping pages and building page requests from criteria.
+ * Runs on in-memory objects only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private BookingMapper bookingMapper;
+    private Booking booking;
+    private Community community;
+    private CommunitySnapshot communitySnapshot;
+    private ResidentSnapshot residentSnapshot;
+    private ParkingSpotSnapshot parkingSpotSnapshot;
+    private Page<BookingResponse> page;
+    private SearchCriteria searchCriteria;
+    private CommunitySearchCriteria communitySearchCriteria;
+    private ResidentSearchCriteria residentSearchCriteria;
+    private ParkingSpotSearchCriteria parkingSpotSearchCriteria;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CommunityMapper communityMapper = new CommunityMapper();
+        bookingMapper = new BookingMapper(new ResidentMapper(communityMapper), new ParkingSpotMapper(communityMapper));
+
+        community = new Community();
+        community.setId(1L);
+        community.setName("benchmark");
+
+        Resident resident = new Resident();
+        resident.setId(2L);
+        resident.setFirstName("First");
+        resident.setLastName("Last");
+        resident.setEmail("resident@benchmark.local");
+        resident.setCommunity(community);
+
+        ParkingSpot parkingSpot = new ParkingSpot();
+        parkingSpot.setId(3L);
+        parkingSpot.setCode("S-000003");
+        parkingSpot.setCommunity(community);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        booking = new Booking();
+        booking.setId(4L);
+        booking.setResident(resident);
+        booking.setParkingSpot(parkingSpot);
+        booking.setStartTime(start);
+        booking.setEndTime(start.plusHours(2));
+        booking.setBookingStatus(BookingStatus.RESERVED);
+
+        communitySnapshot = CommunitySnapshot.of(community);
+        residentSnapshot = ResidentSnapshot.of(resident);
+        parkingSpotSnapshot = ParkingSpotSnapshot.of(parkingSpot);
+
+        List<BookingResponse> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(bookingMapper.mapToResponse(booking));
+        }
+        page = new PageImpl<>(content, PageRequest.of(3, pageSize), 10_000);
+
+        searchCriteria = new SearchCriteria();
+        searchCriteria.setSize(pageSize);
+        communitySearchCriteria = new CommunitySearchCriteria();
+        communitySearchCriteria.setSize(pageSize);
+        communitySearchCriteria.setSort("name");
+        residentSearchCriteria = new ResidentSearchCriteria();
+        residentSearchCriteria.setSize(pageSize);
+        residentSearchCriteria.setSort("lastName");
+        residentSearchCriteria.setSortAscDesc("desc");
+        parkingSpotSearchCriteria = new ParkingSpotSearchCriteria();
+        parkingSpotSearchCriteria.setSize(pageSize);
+    }
+
+    @Benchmark
+    public BookingResponse mapEntityToResponse() {
+        return bookingMapper.mapToResponse(booking);
+    }
+
+    @Benchmark
+    public BookingResponse mapSnapshotsToResponse() {
+        return bookingMapper.mapToResponse(booking, residentSnapshot, parkingSpotSnapshot, communitySnapshot);
+    }
+
+    @Benchmark
+    public BookingResponse constructProjectedBooking() {
+        return new BookingResponse(4L, 2L, "First", "Last", 1L, "benchmark", 3L, "S-000003", 1L, "benchmark",
+                booking.getStartTime(), booking.getEndTime(), BookingStatus.RESERVED, null, null);
+    }
+
+    @Benchmark
+    public ParkingSpotResponse constructProjectedParkingSpot() {
+        return new ParkingSpotResponse(3L, "S-000003", community);
+    }
+
+    @Benchmark
+    public PageResponseDto<BookingResponse> pageResponseFromPage() {
+        return PageResponseDto.from(page);
+    }
+
+    @Benchmark
+    public PageRequest searchCriteriaPageRequest() {
+        return searchCriteria.buildPageRequest();
+    }
+
+    @Benchmark
+    public PageRequest communityCriteriaPageRequest() {
+        return communitySearchCriteria.buildPageRequest();
+    }
+
+    @Benchmark
+    public PageRequest residentCriteriaPageRequest() {
+        return residentSearchCriteria.buildPageRequest();
+    }
+
+    @Benchmark
+    public PageRequest parkingSpotCriteriaPageRequest() {
+        return parkingSpotSearchCriteria.buildPageRequest();
+    }
+}
@@ -0,0 +1,57 @@
+package com.arman.parkingservice.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts of one endpoint, shared by all client threads.
+ */
+final class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * @param status the HTTP status, or a negative value if the request failed without a response
+     */
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(latencyNanos);
+        requests.increment();
+        if (status == 409) {
+            conflicts.increment();
+        } else if (status < 200 || status >= 300) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencies.reset();
+        requests.reset();
+        conflicts.reset();
+        errors.reset();
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long conflicts() {
+        return conflicts.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    double maxMillis() {
+        return latencies.getMaxValue() / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,228 @@
+package com.arman.parkingservice.loadtest;
+
+import com.arman.parkingservice.loadtest.LoadTestDataset.SeededCommunity;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP clients: each thread picks an operation by the configured mix, sends it
+ * and waits for the response before picking the next one.
+ * <p>
+ * Park and release work on the seeded open bookings, cancel on bookings created during the
+ * run; when there is nothing left to act on, the thread searches instead. Latencies are
+ * measured from send to full response, so they include client-side queueing only up to the
+ * number of threads.
+ * </p>
+ */
+final class LoadDriver {
+
+    enum Endpoint {
+        SEARCH("GET  /api/communities/{id}/spots/available"),
+        BOOK("POST /api/bookings"),
+        PARK("PUT  /api/bookings/{id}/park"),
+        RELEASE("PUT  /api/bookings/{id}/release"),
+        CANCEL("PUT  /api/bookings/{id}/cancel"),
+        HISTORY("GET  /api/residents/{id}/bookings");
+
+        private final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+
+        String label() {
+            return label;
+        }
+    }
+
+    private final LoadTestConfig config;
+    private final LoadTestDataset dataset;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Queue<Long> reserved;
+    private final Queue<Long> active = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+
+    LoadDriver(LoadTestConfig config, LoadTestDataset dataset, URI baseUri, ObjectMapper objectMapper) {
+        this.config = config;
+        this.dataset = dataset;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.reserved = new ConcurrentLinkedQueue<>(dataset.getOpenBookingIds());
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    /**
+     * Runs the clients through the warm-up, resets the statistics and runs them for the
+     * measured duration.
+     *
+     * @return the statistics of the measured duration, by endpoint
+     */
+    Map<Endpoint, EndpointStats> run() throws InterruptedException {
+        ExecutorService clients = Executors.newFixedThreadPool(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            clients.execute(this::loop);
+        }
+
+        Thread.sleep(config.warmup().toMillis());
+        stats.values().forEach(EndpointStats::reset);
+        Thread.sleep(config.duration().toMillis());
+        running = false;
+
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.MINUTES);
+
+        return stats;
+    }
+
+    private void loop() {
+        LoadTestConfig.Mix mix = config.mix();
+        while (running) {
+            int pick = ThreadLocalRandom.current().nextInt(mix.total());
+            if ((pick -= mix.search()) < 0) {
+                search();
+            } else if ((pick -= mix.book()) < 0) {
+                book();
+            } else if ((pick -= mix.park()) < 0) {
+                transition(Endpoint.PARK, reserved, active);
+            } else if ((pick -= mix.release()) < 0) {
+                transition(Endpoint.RELEASE, active, null);
+            } else if ((pick -= mix.cancel()) < 0) {
+                transition(Endpoint.CANCEL, created, null);
+            } else {
+                history();
+            }
+        }
+    }
+
+    private void search() {
+        SeededCommunity community = randomCommunity();
+        LocalDateTime start = randomStart();
+
+        send(Endpoint.SEARCH, HttpRequest.newBuilder(baseUri.resolve(
+                "/api/communities/%d/spots/available?startTime=%s&endTime=%s&size=20&withTotal=false"
+                        .formatted(community.id(), start, randomEnd(start)))).GET());
+    }
+
+    private void book() {
+        SeededCommunity community = randomCommunity();
+        LocalDateTime start = randomStart();
+        Map<String, Object> body = Map.of(
+                "residentId", random(community.residentIds()),
+                "parkingSpotId", random(community.spotIds()),
+                "startTime", start.toString(),
+                "endTime", randomEnd(start).toString()
+        );
+
+        HttpResponse<byte[]> response = send(Endpoint.BOOK, HttpRequest.newBuilder(baseUri.resolve("/api/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json(body))));
+        if (response != null && response.statusCode() == 201) {
+            created.add(bookingId(response));
+        }
+    }
+
+    private void transition(Endpoint endpoint, Queue<Long> from, Queue<Long> to) {
+        Long bookingId = from.poll();
+        if (bookingId == null) {
+            search();
+            return;
+        }
+
+        String action = endpoint.name().toLowerCase();
+        HttpResponse<byte[]> response = send(endpoint, HttpRequest.newBuilder(
+                baseUri.resolve("/api/bookings/%d/%s".formatted(bookingId, action)))
+                .PUT(HttpRequest.BodyPublishers.noBody()));
+        if (to != null && response != null && response.statusCode() == 200) {
+            to.add(bookingId);
+        }
+    }
+
+    private void history() {
+        SeededCommunity community = randomCommunity();
+
+        send(Endpoint.HISTORY, HttpRequest.newBuilder(baseUri.resolve(
+                "/api/residents/%d/bookings?period=ALL&size=20&withTotal=false"
+                        .formatted(random(community.residentIds())))).GET());
+    }
+
+    private HttpResponse<byte[]> send(Endpoint endpoint, HttpRequest.Builder request) {
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            stats.get(endpoint).record(System.nanoTime() - started, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            stats.get(endpoint).record(System.nanoTime() - started, -1);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+            return null;
+        }
+    }
+
+    private byte[] json(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long bookingId(HttpResponse<byte[]> response) {
+        try {
+            return objectMapper.readTree(response.body()).get("bookingId").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private SeededCommunity randomCommunity() {
+        return dataset.getCommunities().get(ThreadLocalRandom.current().nextInt(dataset.getCommunities().size()));
+    }
+
+    /**
+     * A quarter-hour aligned start within the booking horizon.
+     */
+    private LocalDateTime randomStart() {
+        int quarters = config.horizonDays() * 24 * 4;
+        return dataset.getBookableFrom().plusMinutes(15L * ThreadLocalRandom.current().nextInt(quarters));
+    }
+
+    /**
+     * An end 1 to 4 hours after the start.
+     */
+    private static LocalDateTime randomEnd(LocalDateTime start) {
+        return start.plusMinutes(15L * ThreadLocalRandom.current().nextInt(4, 17));
+    }
+
+    private static long random(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,102 @@
+package com.arman.parkingservice.loadtest;
+
+import com.arman.parkingservice.ParkingServiceApplication;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.loadtest.LoadDriver.Endpoint;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Starts the application on a random port against an embedded PostgreSQL (or the database
+ * given by {@code loadtest.jdbc-url}), seeds a synthetic dataset, drives the configured
+ * request mix over HTTP and prints throughput, latency percentiles and the conflict rate
+ * per endpoint. Run it with {@code ./gradlew loadTest -Ploadtest.spots=2000 ...}; see
+ * {@link LoadTestConfig} for all parameters.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        EmbeddedPostgres postgres = config.jdbcUrl().isBlank() ? EmbeddedPostgres.start() : null;
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(ParkingServiceApplication.class)
+                    .properties(
+                            "server.port=0",
+                            "spring.datasource.url=" + (postgres == null
+                                    ? config.jdbcUrl() : postgres.getJdbcUrl("postgres", "postgres")),
+                            "spring.datasource.username=" + config.username(),
+                            "spring.datasource.password=" + config.password(),
+                            "spring.datasource.hikari.maximum-pool-size=" + Math.max(10, config.concurrency()),
+                            "spring.jpa.show-sql=false"
+                    )
+                    .run();
+
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime openUntil = now
+                    .plus(config.warmup())
+                    .plus(config.duration())
+                    .plusHours(2)
+                    .truncatedTo(ChronoUnit.HOURS);
+            System.out.printf("Seeding %d communities x %d spots x %d residents, %d past bookings per spot%n",
+                    config.communities(), config.spotsPerCommunity(), config.residentsPerCommunity(),
+                    config.historyPerSpot());
+            LoadTestDataset dataset = LoadTestDataset.seed(context.getBean(JdbcTemplate.class), config, now, openUntil);
+            context.getBean(BookingIntervalIndex.class).load();
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            System.out.printf("Running %d clients for %s after a %s warm-up%n",
+                    config.concurrency(), config.duration(), config.warmup());
+            Map<Endpoint, EndpointStats> stats = new LoadDriver(
+                    config, dataset, URI.create("http://localhost:" + port), context.getBean(ObjectMapper.class)
+            ).run();
+
+            report(stats, config.duration().toMillis() / 1000.0);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    private static void report(Map<Endpoint, EndpointStats> stats, double seconds) {
+        System.out.printf("%n%-44s %9s %9s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "conflicts", "errors");
+
+        long total = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            total += endpoint.requests();
+            System.out.printf("%-44s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9d %9d%n",
+                    entry.getKey().label(),
+                    endpoint.requests(),
+                    endpoint.requests() / seconds,
+                    endpoint.percentileMillis(50),
+                    endpoint.percentileMillis(99),
+                    endpoint.percentileMillis(99.9),
+                    endpoint.maxMillis(),
+                    endpoint.conflicts(),
+                    endpoint.errors());
+        }
+
+        EndpointStats book = stats.get(Endpoint.BOOK);
+        System.out.printf("%nthroughput: %.1f req/s%n", total / seconds);
+        System.out.printf("booking conflict rate: %.2f%%%n",
+                book.requests() == 0 ? 0.0 : 100.0 * book.conflicts() / book.requests());
+    }
+}
@@ -0,0 +1,69 @@
+package com.arman.parkingservice.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Dataset size, request mix and run length of a load test, read from {@code loadtest.*}
+ * system properties (passed by the {@code loadTest} Gradle task from {@code -Ploadtest.*}).
+ *
+ * @param jdbcUrl               database to run against; an embedded PostgreSQL is started when blank
+ * @param communities           number of communities to seed
+ * @param spotsPerCommunity     parking spots per community
+ * @param residentsPerCommunity residents per community
+ * @param historyPerSpot        completed or cancelled past bookings per spot
+ * @param concurrency           number of client threads, each issuing one request at a time
+ * @param warmup                run time before latencies are recorded
+ * @param duration              recorded run time
+ * @param horizonDays           how far ahead new bookings and searches are placed
+ */
+public record LoadTestConfig(String jdbcUrl,
+                             String username,
+                             String password,
+                             int communities,
+                             int spotsPerCommunity,
+                             int residentsPerCommunity,
+                             int historyPerSpot,
+                             int concurrency,
+                             Duration warmup,
+                             Duration duration,
+                             int horizonDays,
+                             Mix mix) {
+
+    /**
+     * Relative weights of the operations each client thread picks from.
+     */
+    public record Mix(int search, int book, int park, int release, int cancel, int history) {
+
+        int total() {
+            return search + book + park + release + cancel + history;
+        }
+    }
+
+    public static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                System.getProperty("loadtest.jdbc-url", ""),
+                System.getProperty("loadtest.username", "postgres"),
+                System.getProperty("loadtest.password", ""),
+                intProperty("loadtest.communities", 10),
+                intProperty("loadtest.spots", 500),
+                intProperty("loadtest.residents", 1000),
+                intProperty("loadtest.history", 200),
+                intProperty("loadtest.concurrency", 32),
+                Duration.parse(System.getProperty("loadtest.warmup", "PT30S")),
+                Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+                intProperty("loadtest.horizon-days", 7),
+                new Mix(
+                        intProperty("loadtest.mix.search", 50),
+                        intProperty("loadtest.mix.book", 20),
+                        intProperty("loadtest.mix.park", 5),
+                        intProperty("loadtest.mix.release", 5),
+                        intProperty("loadtest.mix.cancel", 5),
+                        intProperty("loadtest.mix.history", 15)
+                )
+        );
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,122 @@
+package com.arman.parkingservice.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic communities seeded with bulk SQL:
+ * <ul>
+ *     <li>{@code historyPerSpot} past bookings per spot, 2 hours every 3 hours, every tenth one cancelled;</li>
+ *     <li>one RESERVED booking per spot covering the whole run, which clients park and release;</li>
+ *     <li>nothing from {@link #getBookableFrom()} on, where clients search and book.</li>
+ * </ul>
+ * Each run seeds its own communities under a fresh name prefix, so it can be repeated
+ * against the same local database.
+ */
+public final class LoadTestDataset {
+    private final List<SeededCommunity> communities;
+    private final List<Long> openBookingIds;
+    private final LocalDateTime bookableFrom;
+
+    private LoadTestDataset(List<SeededCommunity> communities, List<Long> openBookingIds, LocalDateTime bookableFrom) {
+        this.communities = communities;
+        this.openBookingIds = openBookingIds;
+        this.bookableFrom = bookableFrom;
+    }
+
+    /**
+     * @param now      the seeding time truncated to the hour
+     * @param openUntil end of the RESERVED bookings that are open during the run
+     */
+    public static LoadTestDataset seed(JdbcTemplate jdbcTemplate, LoadTestConfig config,
+                                       LocalDateTime now, LocalDateTime openUntil) {
+        String prefix = "load-" + System.currentTimeMillis() + "-";
+        String communitiesOfRun = "SELECT id FROM community WHERE name LIKE '" + prefix + "%'";
+
+        jdbcTemplate.update("""
+                INSERT INTO community (name)
+                SELECT ? || lpad(g::text, 4, '0') FROM generate_series(1, ?) g
+                """, prefix, config.communities());
+        jdbcTemplate.update("""
+                INSERT INTO parking_spot (code, community_id)
+                SELECT 'S-' || lpad(g::text, 6, '0'), c.id
+                FROM (%s) c
+                CROSS JOIN generate_series(1, ?) g
+                """.formatted(communitiesOfRun), config.spotsPerCommunity());
+        jdbcTemplate.update("""
+                INSERT INTO resident (first_name, last_name, email, community_id)
+                SELECT 'First' || g, 'Last' || g, ? || c.id || '-' || g || '@loadtest.local', c.id
+                FROM (%s) c
+                CROSS JOIN generate_series(1, ?) g
+                """.formatted(communitiesOfRun), prefix, config.residentsPerCommunity());
+
+        // residents are assigned round-robin within the spot's community
+        String spotsWithResident = """
+                SELECT s.id AS spot_id, r.id AS resident_id, k
+                FROM (SELECT id, community_id, row_number() OVER (PARTITION BY community_id ORDER BY id) AS rn
+                      FROM parking_spot WHERE community_id IN (%1$s)) s
+                CROSS JOIN generate_series(0, ? - 1) k
+                JOIN (SELECT id, community_id, row_number() OVER (PARTITION BY community_id ORDER BY id) - 1 AS rn
+                      FROM resident WHERE community_id IN (%1$s)) r
+                    ON r.community_id = s.community_id AND r.rn = (s.rn + k) %% ?
+                """.formatted(communitiesOfRun);
+
+        jdbcTemplate.update("""
+                INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status)
+                SELECT x.resident_id, x.spot_id, t.start_date, t.start_date + interval '2 hours',
+                       CASE WHEN x.k %% 10 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END
+                FROM (%s) x
+                CROSS JOIN LATERAL (
+                    SELECT ?::timestamp - (? - x.k) * interval '3 hours' AS start_date
+                ) t
+                """.formatted(spotsWithResident),
+                config.historyPerSpot(), config.residentsPerCommunity(), now.minusHours(1), config.historyPerSpot());
+        List<Long> openBookingIds = jdbcTemplate.queryForList("""
+                INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status)
+                SELECT x.resident_id, x.spot_id, ?::timestamp, ?::timestamp, 'RESERVED'
+                FROM (%s) x
+                RETURNING id
+                """.formatted(spotsWithResident),
+                Long.class, now.minusHours(1), openUntil, 1, config.residentsPerCommunity());
+        jdbcTemplate.execute("ANALYZE community, parking_spot, resident, booking");
+
+        List<SeededCommunity> communities = new ArrayList<>();
+        for (Long communityId : jdbcTemplate.queryForList(communitiesOfRun + " ORDER BY id", Long.class)) {
+            communities.add(new SeededCommunity(
+                    communityId,
+                    ids(jdbcTemplate, "SELECT id FROM parking_spot WHERE community_id = ? ORDER BY id", communityId),
+                    ids(jdbcTemplate, "SELECT id FROM resident WHERE community_id = ? ORDER BY id", communityId)
+            ));
+        }
+
+        return new LoadTestDataset(List.copyOf(communities), openBookingIds, openUntil);
+    }
+
+    private static long[] ids(JdbcTemplate jdbcTemplate, String sql, Long communityId) {
+        return jdbcTemplate.queryForList(sql, Long.class, communityId).stream().mapToLong(Long::longValue).toArray();
+    }
+
+    public List<SeededCommunity> getCommunities() {
+        return communities;
+    }
+
+    /**
+     * IDs of the RESERVED bookings whose window covers the whole run.
+     */
+    public List<Long> getOpenBookingIds() {
+        return openBookingIds;
+    }
+
+    /**
+     * Start of the free part of the calendar, after the open bookings end.
+     */
+    public LocalDateTime getBookableFrom() {
+        return bookableFrom;
+    }
+
+    public record SeededCommunity(Long id, long[] spotIds, long[] residentIds) {
+    }
+}
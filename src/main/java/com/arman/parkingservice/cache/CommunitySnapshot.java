@@ -0,0 +1,13 @@
+package com.arman.parkingservice.cache;
+
+import com.arman.parkingservice.persistence.entity.Community;
+
+/**
+ * Immutable copy of a {@link Community} held by {@link ReferenceDataCache}.
+ */
+public record CommunitySnapshot(Long id, String name) {
+
+    public static CommunitySnapshot of(Community community) {
+        return new CommunitySnapshot(community.getId(), community.getName());
+    }
+}
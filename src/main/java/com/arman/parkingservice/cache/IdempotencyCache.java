@@ -0,0 +1,123 @@
+package com.arman.parkingservice.cache;
+
+import com.arman.parkingservice.exception.IdempotencyKeyReusedException;
+import com.arman.parkingservice.exception.IdempotentRequestInProgressException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring store of the responses of requests sent with an {@code Idempotency-Key}
+ * header, so that clients can safely retry writes after a timeout.
+ * <p>
+ * The first request with a key runs and its response is kept; replays of the key get that
+ * response without running again. A duplicate arriving while the first one still runs waits
+ * for its outcome, for at most {@code wait-timeout}; after that it is answered with 409 and can
+ * be retried. A failed request is not kept: its waiting duplicates fail the same way and
+ * the next retry runs again. Keys are scoped by endpoint, and a key reused for a different
+ * request is rejected. Replays are counted as {@code idempotency.replays}.
+ * </p>
+ */
+@Component
+public class IdempotencyCache {
+    private final Cache<String, Entry> responses;
+    private final Counter replays;
+    private final Duration waitTimeout;
+
+    public IdempotencyCache(MeterRegistry meterRegistry,
+                            @Value("${parking.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${parking.idempotency.expire-after-write:PT24H}") Duration expireAfterWrite,
+                            @Value("${parking.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        Cache<String, Entry> responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.responses = CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+        this.replays = Counter.builder("idempotency.replays")
+                .description("Requests answered with the response of an earlier one with the same key")
+                .register(meterRegistry);
+        this.waitTimeout = waitTimeout;
+    }
+
+    /**
+     * Runs the action once per key and endpoint, or runs it directly if there is no key.
+     *
+     * @param scope   the endpoint, e.g. {@code "PUT /api/bookings/1/park"}
+     * @param key     the client's idempotency key, may be {@code null}
+     * @param request what identifies the request, compared with {@link Object#equals}
+     * @param action  the request's execution
+     * @return the response of the first request with the key
+     * @throws IdempotencyKeyReusedException        if the key was used for a different request
+     * @throws IdempotentRequestInProgressException if the first request with the key is still
+     *                                              running after {@code wait-timeout}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+
+        String cacheKey = scope + '\n' + key;
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry earlier = responses.asMap().putIfAbsent(cacheKey, entry);
+
+        if (earlier != null) {
+            if (!Objects.equals(earlier.request(), request)) {
+                throw new IdempotencyKeyReusedException(
+                        "Idempotency key " + key + " was already used for a different request");
+            }
+            replays.increment();
+            return (T) await(key, earlier.response());
+        }
+
+        try {
+            T response = action.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException | Error ex) {
+            responses.asMap().remove(cacheKey, entry);
+            entry.response().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private Object await(String key, CompletableFuture<Object> response) {
+        try {
+            return response.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw inProgress(key);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private static IdempotentRequestInProgressException inProgress(String key) {
+        return new IdempotentRequestInProgressException(
+                "Request with idempotency key " + key + " is still in progress");
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> response) {
+    }
+}
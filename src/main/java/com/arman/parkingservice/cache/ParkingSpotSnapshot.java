@@ -0,0 +1,13 @@
+package com.arman.parkingservice.cache;
+
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+
+/**
+ * Immutable copy of a {@link ParkingSpot} held by {@link ReferenceDataCache}.
+ */
+public record ParkingSpotSnapshot(Long id, String code, Long communityId) {
+
+    public static ParkingSpotSnapshot of(ParkingSpot parkingSpot) {
+        return new ParkingSpotSnapshot(parkingSpot.getId(), parkingSpot.getCode(), parkingSpot.getCommunity().getId());
+    }
+}
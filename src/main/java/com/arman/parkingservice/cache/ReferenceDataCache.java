@@ -0,0 +1,87 @@
+package com.arman.parkingservice.cache;
+
+import com.arman.parkingservice.persistence.repository.CommunityRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.persistence.repository.ResidentRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded caches of communities, parking spots and residents, which are read on every booking
+ * but hardly ever change.
+ * <p>
+ * Entries are loaded on first use, evicted by size and by age, and replaced by the services
+ * whenever they write the underlying row. Ids that do not exist are not cached. Hit, miss and
+ * eviction counts are published as {@code cache.*} meters tagged with the cache name.
+ * </p>
+ */
+@Component
+public class ReferenceDataCache {
+    private final CommunityRepository communityRepository;
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final ResidentRepository residentRepository;
+
+    private final Cache<Long, CommunitySnapshot> communities;
+    private final Cache<Long, ParkingSpotSnapshot> parkingSpots;
+    private final Cache<Long, ResidentSnapshot> residents;
+
+    public ReferenceDataCache(CommunityRepository communityRepository,
+                              ParkingSpotRepository parkingSpotRepository,
+                              ResidentRepository residentRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${parking.reference-cache.maximum-size:100000}") long maximumSize,
+                              @Value("${parking.reference-cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.communityRepository = communityRepository;
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.residentRepository = residentRepository;
+
+        this.communities = CaffeineCacheMetrics.monitor(meterRegistry,
+                build(maximumSize, expireAfterWrite), "reference.community");
+        this.parkingSpots = CaffeineCacheMetrics.monitor(meterRegistry,
+                build(maximumSize, expireAfterWrite), "reference.parking-spot");
+        this.residents = CaffeineCacheMetrics.monitor(meterRegistry,
+                build(maximumSize, expireAfterWrite), "reference.resident");
+    }
+
+    private static <V> Cache<Long, V> build(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CommunitySnapshot> findCommunity(Long id) {
+        return Optional.ofNullable(communities.get(id, key ->
+                communityRepository.findById(key).map(CommunitySnapshot::of).orElse(null)));
+    }
+
+    public Optional<ParkingSpotSnapshot> findParkingSpot(Long id) {
+        return Optional.ofNullable(parkingSpots.get(id, key ->
+                parkingSpotRepository.findById(key).map(ParkingSpotSnapshot::of).orElse(null)));
+    }
+
+    public Optional<ResidentSnapshot> findResident(Long id) {
+        return Optional.ofNullable(residents.get(id, key ->
+                residentRepository.findById(key).map(ResidentSnapshot::of).orElse(null)));
+    }
+
+    public void put(CommunitySnapshot community) {
+        communities.put(community.id(), community);
+    }
+
+    public void put(ParkingSpotSnapshot parkingSpot) {
+        parkingSpots.put(parkingSpot.id(), parkingSpot);
+    }
+
+    public void put(ResidentSnapshot resident) {
+        residents.put(resident.id(), resident);
+    }
+}
@@ -0,0 +1,15 @@
+package com.arman.parkingservice.cache;
+
+import com.arman.parkingservice.persistence.entity.Resident;
+
+/**
+ * Immutable copy of a {@link Resident} held by {@link ReferenceDataCache}, with the names
+ * a booking response shows.
+ */
+public record ResidentSnapshot(Long id, String firstName, String lastName, Long communityId) {
+
+    public static ResidentSnapshot of(Resident resident) {
+        return new ResidentSnapshot(resident.getId(), resident.getFirstName(), resident.getLastName(),
+                resident.getCommunity().getId());
+    }
+}
@@ -0,0 +1,80 @@
+package com.arman.parkingservice.config;
+
+import com.arman.parkingservice.datasource.ReadWriteRoutingDataSource;
+import com.arman.parkingservice.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Connection pools of the primary and, when {@code parking.datasource.replica.url} is set, of a
+ * read replica, behind a {@link ReadWriteRoutingDataSource} that JPA, JDBC and the transaction
+ * managers use.
+ * <p>
+ * The pools are named {@code primary} and {@code replica}, which tags their
+ * {@code hikaricp.connections.*} metrics. Flyway always migrates the primary.
+ * </p>
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty("parking.datasource.replica.url")
+    @ConfigurationProperties("parking.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${parking.datasource.replica.url}") String url,
+                                              @Value("${parking.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${parking.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Routes read-only transactions to the replica while its lag, as measured by
+     * {@link ReplicaLagMonitor}, stays within {@code max-staleness}
+     */
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                        @Qualifier("replicaDataSource") ObjectProvider<DataSource> replica,
+                                                        MeterRegistry meterRegistry,
+                                                        @Value("${parking.datasource.replica.max-staleness:PT5S}") Duration maxStaleness) {
+        return new ReadWriteRoutingDataSource(primary, replica.getIfAvailable(), maxStaleness, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
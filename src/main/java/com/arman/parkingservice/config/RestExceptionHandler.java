@@ -1,74 +1,146 @@
 package com.arman.parkingservice.config;
 
+import com.arman.parkingservice.dto.booking.FreeWindowResponse;
 import com.arman.parkingservice.exception.*;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Maps exceptions to error responses and counts each handled exception as
+ * {@code parking.errors}, tagged with its simple class name.
+ */
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class RestExceptionHandler {
+    private final MeterRegistry meterRegistry;
 
     @ExceptionHandler(ResourceNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorDto handleNotFound(ResourceNotFoundException ex) {
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(ResourceAlreadyUsedException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
-    public ErrorDto handleAlreadyUsed(ResourceAlreadyUsedException ex) {
-        return new ErrorDto(ex.getMessage());
+    public ConflictDto handleAlreadyUsed(ResourceAlreadyUsedException ex) {
+        ErrorDto error = error(ex);
+        if (ex instanceof BookingConflictException conflict) {
+            return new ConflictDto(
+                    error.error(),
+                    new IntervalDto(conflict.getConflictStartTime(), conflict.getConflictEndTime()),
+                    conflict.getAlternatives()
+            );
+        }
+        return new ConflictDto(error.error(), null, null);
     }
 
     @ExceptionHandler(BookingNotReservedException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorDto handleNotReserved(BookingNotReservedException ex) {
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(BookingNotStartedException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorDto handleNotStarted(BookingNotStartedException ex) {
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(BookingExpiredException.class)
     @ResponseStatus(HttpStatus.GONE)
     public ErrorDto handleExpired(BookingExpiredException ex) {
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(BookingEndedException.class)
     @ResponseStatus(HttpStatus.GONE)
     public ErrorDto handleEnded(BookingEndedException ex) {
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(BookingCommunityMismatchException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorDto handleCommunityMismatch(BookingCommunityMismatchException ex){
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(InvalidBookingPeriodException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorDto handleInvalidPeriod(InvalidBookingPeriodException ex){
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
     }
 
     @ExceptionHandler(BookingNotActiveException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public ErrorDto handleNotActive(BookingNotActiveException ex){
-        return new ErrorDto(ex.getMessage());
+        return error(ex);
+    }
+
+    @ExceptionHandler(InvalidRecurrenceRuleException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleInvalidRecurrence(InvalidRecurrenceRuleException ex){
+        return error(ex);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleInvalidCursor(InvalidCursorException ex){
+        return error(ex);
+    }
+
+    @ExceptionHandler(InvalidImportFileException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorDto handleInvalidImportFile(InvalidImportFileException ex){
+        return error(ex);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public ErrorDto handleIdempotencyKeyReused(IdempotencyKeyReusedException ex){
+        return error(ex);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorDto handleIdempotentRequestInProgress(IdempotentRequestInProgressException ex){
+        return error(ex);
     }
 
     // fallback
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorDto handleAny(Exception ex) {
+        return error(ex);
+    }
+
+    private ErrorDto error(Exception ex) {
+        Counter.builder("parking.errors")
+                .description("Exceptions handled by the REST layer")
+                .tag("exception", ex.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+
         return new ErrorDto(ex.getMessage());
     }
 
     public record ErrorDto(String error) {
     }
+
+    /**
+     * Error of a conflict; for a booking overlap also the conflicting window and the nearest free ones.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record ConflictDto(String error, IntervalDto conflict, List<FreeWindowResponse> alternatives) {
+    }
+
+    public record IntervalDto(LocalDateTime startTime, LocalDateTime endTime) {
+    }
 }
 
@@ -1,7 +1,11 @@
 package com.arman.parkingservice.controller;
 
+import com.arman.parkingservice.cache.IdempotencyCache;
+import com.arman.parkingservice.dto.booking.BookingBatchRequestDto;
+import com.arman.parkingservice.dto.booking.BookingBatchResponse;
 import com.arman.parkingservice.dto.booking.BookingRequestDto;
 import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.service.BookingBatchService;
 import com.arman.parkingservice.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -13,16 +17,45 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
 public class BookingController {
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final BookingService bookingService;
+    private final BookingBatchService bookingBatchService;
+    private final IdempotencyCache idempotencyCache;
 
     /**
-     * Create a new booking
+     * Create a new booking.
+     * Retries with the same {@code Idempotency-Key} get the first response instead of booking again.
      */
     @PostMapping
-    public ResponseEntity<BookingResponse> addBooking(@RequestBody @Valid BookingRequestDto bookingRequestDto){
-        return ResponseEntity
-                .status(HttpStatus.CREATED)
-                .body(bookingService.addBooking(bookingRequestDto));
+    public ResponseEntity<BookingResponse> addBooking(
+            @RequestBody @Valid BookingRequestDto bookingRequestDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey){
+        return idempotencyCache.execute("POST /api/bookings", idempotencyKey, bookingRequestDto,
+                () -> ResponseEntity
+                        .status(HttpStatus.CREATED)
+                        .body(bookingService.addBooking(bookingRequestDto)));
+    }
+
+    /**
+     * Create many bookings at once, reporting the outcome of every item.
+     * Responds with 201 if all were created, 207 if only some and 422 if none.
+     * Retries with the same {@code Idempotency-Key} get the first response.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BookingBatchResponse> addBookings(
+            @RequestBody @Valid BookingBatchRequestDto bookingBatchRequestDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyCache.execute("POST /api/bookings/batch", idempotencyKey, bookingBatchRequestDto, () -> {
+            BookingBatchResponse response = bookingBatchService.addBookings(bookingBatchRequestDto);
+            HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED
+                    : response.getCreated() > 0 ? HttpStatus.MULTI_STATUS
+                    : HttpStatus.UNPROCESSABLE_ENTITY;
+
+            return ResponseEntity
+                    .status(status)
+                    .body(response);
+        });
     }
 
     /**
@@ -34,30 +67,42 @@ public class BookingController {
     }
 
     /**
-     * Activate a reservation (park the car) when the resident arrives
+     * Activate a reservation (park the car) when the resident arrives.
+     * Retries with the same {@code Idempotency-Key} get the first response.
      */
     @PutMapping("/{id}/park")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public ResponseEntity<BookingResponse> park(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(bookingService.park(id));
+    public ResponseEntity<BookingResponse> park(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyCache.execute("PUT /api/bookings/" + id + "/park", idempotencyKey, id,
+                () -> ResponseEntity.ok(bookingService.park(id)));
     }
 
     /**
-     * Complete a booking (release a spot) when the resident leaves
+     * Complete a booking (release a spot) when the resident leaves.
+     * Retries with the same {@code Idempotency-Key} get the first response.
      */
     @PutMapping("/{id}/release")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public ResponseEntity<BookingResponse> release(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(bookingService.release(id));
+    public ResponseEntity<BookingResponse> release(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyCache.execute("PUT /api/bookings/" + id + "/release", idempotencyKey, id,
+                () -> ResponseEntity.ok(bookingService.release(id)));
     }
 
     /**
-     * Cancel a future booking
+     * Cancel a future booking.
+     * Retries with the same {@code Idempotency-Key} get the first response.
      */
     @PutMapping("/{id}/cancel")
     @ResponseStatus(HttpStatus.ACCEPTED)
-    public ResponseEntity<BookingResponse> cancel(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(bookingService.cancel(id));
+    public ResponseEntity<BookingResponse> cancel(
+            @PathVariable("id") Long id,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        return idempotencyCache.execute("PUT /api/bookings/" + id + "/cancel", idempotencyKey, id,
+                () -> ResponseEntity.ok(bookingService.cancel(id)));
     }
 
 }
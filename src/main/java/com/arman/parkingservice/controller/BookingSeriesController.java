@@ -0,0 +1,36 @@
+package com.arman.parkingservice.controller;
+
+import com.arman.parkingservice.dto.bookingseries.BookingSeriesCreateDto;
+import com.arman.parkingservice.dto.bookingseries.BookingSeriesResponse;
+import com.arman.parkingservice.service.BookingSeriesService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/booking-series")
+@RequiredArgsConstructor
+public class BookingSeriesController {
+    private final BookingSeriesService bookingSeriesService;
+
+    /**
+     * Create a recurring booking series, booking all of its upcoming occurrences
+     */
+    @PostMapping
+    public ResponseEntity<BookingSeriesResponse> addSeries(
+            @RequestBody @Valid BookingSeriesCreateDto bookingSeriesCreateDto) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(bookingSeriesService.addSeries(bookingSeriesCreateDto));
+    }
+
+    /**
+     * Cancel a series and all of its upcoming bookings
+     */
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<BookingSeriesResponse> cancelSeries(@PathVariable("id") Long id) {
+        return ResponseEntity.ok(bookingSeriesService.cancelSeries(id));
+    }
+}
@@ -4,22 +4,45 @@ import com.arman.parkingservice.criteria.CommunitySearchCriteria;
 import com.arman.parkingservice.criteria.ParkingSpotSearchCriteria;
 import com.arman.parkingservice.criteria.ResidentSearchCriteria;
 import com.arman.parkingservice.dto.PageResponseDto;
+import com.arman.parkingservice.dto.booking.AutoBookingRequestDto;
+import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.dto.booking.FreeWindowResponse;
 import com.arman.parkingservice.dto.community.CommunityCreateDto;
 import com.arman.parkingservice.dto.community.CommunityResponse;
+import com.arman.parkingservice.dto.community.ImportResponse;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
 import com.arman.parkingservice.dto.resident.ResidentResponse;
+import com.arman.parkingservice.dto.utilization.UtilizationReportResponse;
+import com.arman.parkingservice.enums.DataFormat;
+import com.arman.parkingservice.enums.ReportGranularity;
+import com.arman.parkingservice.feed.AvailabilityFeed;
+import com.arman.parkingservice.service.BookingExportService;
+import com.arman.parkingservice.service.BookingService;
 import com.arman.parkingservice.service.CommunityService;
+import com.arman.parkingservice.service.FreeWindowService;
+import com.arman.parkingservice.service.ImportService;
 import com.arman.parkingservice.service.ParkingSpotService;
 import com.arman.parkingservice.service.ResidentService;
+import com.arman.parkingservice.service.UtilizationService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/communities")
@@ -28,6 +51,12 @@ public class CommunityController {
     private final ResidentService residentService;
     private final CommunityService communityService;
     private final ParkingSpotService parkingSpotService;
+    private final ImportService importService;
+    private final BookingExportService bookingExportService;
+    private final AvailabilityFeed availabilityFeed;
+    private final FreeWindowService freeWindowService;
+    private final BookingService bookingService;
+    private final UtilizationService utilizationService;
 
 
     /**
@@ -92,4 +121,106 @@ public class CommunityController {
 
         return parkingSpotService.getAvailableSpots(communityId,startTime,endTime,criteria);
     }
-}
\ No newline at end of file
+
+    /**
+     * List the next free windows of the given duration (ISO-8601, e.g. PT2H) across the spots of a community
+     */
+    @GetMapping("/{communityId}/spots/free-windows")
+    public List<FreeWindowResponse> getFreeWindows(
+            @PathVariable("communityId") Long communityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam Duration duration,
+            @RequestParam(defaultValue = "5") @Min(1) @Max(50) int limit
+    ) {
+        return freeWindowService.findForCommunity(communityId, from, duration, limit);
+    }
+
+    /**
+     * Book whichever spot of the community fits the given window best
+     */
+    @PostMapping("/{communityId}/bookings/auto")
+    public ResponseEntity<BookingResponse> autoBook(
+            @PathVariable("communityId") Long communityId,
+            @RequestBody @Valid AutoBookingRequestDto autoBookingRequestDto) {
+        return ResponseEntity
+                .status(HttpStatus.CREATED)
+                .body(bookingService.autoBook(communityId, autoBookingRequestDto));
+    }
+
+    /**
+     * Stream the current availability of the spots of a community: a snapshot, then every change
+     */
+    @GetMapping(value = "/{communityId}/spots/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@PathVariable("communityId") Long communityId) {
+        return availabilityFeed.subscribe(communityId);
+    }
+
+    /**
+     * Import residents into a community from a CSV or NDJSON file, reporting every failed row
+     */
+    @PostMapping(value = "/{communityId}/residents/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportResponse importResidents(
+            @PathVariable("communityId") Long communityId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        return importService.importResidents(communityId, DataFormat.fromContentType(contentType), body);
+    }
+
+    /**
+     * Import parking spots into a community from a CSV or NDJSON file, reporting every failed row
+     */
+    @PostMapping(value = "/{communityId}/spots/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ImportResponse importParkingSpots(
+            @PathVariable("communityId") Long communityId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) {
+        return importService.importParkingSpots(communityId, DataFormat.fromContentType(contentType), body);
+    }
+
+    /**
+     * Export all bookings of a community overlapping the given window as NDJSON or CSV, streamed
+     */
+    @GetMapping("/{communityId}/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @PathVariable("communityId") Long communityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") DataFormat format
+    ) {
+        StreamingResponseBody body = bookingExportService.exportBookings(communityId, from, to, format);
+        String filename = "bookings-" + communityId + "." + format.name().toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    /**
+     * Report booked vs. parked time, occupancy, no-shows and peak concurrency of a community
+     */
+    @GetMapping("/{communityId}/utilization")
+    public UtilizationReportResponse getUtilization(
+            @PathVariable("communityId") Long communityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") ReportGranularity granularity
+    ) {
+        return utilizationService.getCommunityReport(communityId, from, to, granularity);
+    }
+
+    /**
+     * Rebuild the utilization rollups of a community for the given window from its bookings
+     */
+    @PostMapping("/{communityId}/utilization/rebuild")
+    public ResponseEntity<Void> rebuildUtilization(
+            @PathVariable("communityId") Long communityId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        utilizationService.rebuild(communityId, from, to);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,19 +1,33 @@
 package com.arman.parkingservice.controller;
 
+import com.arman.parkingservice.dto.booking.FreeWindowResponse;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotCreateDto;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.dto.utilization.UtilizationReportResponse;
+import com.arman.parkingservice.enums.ReportGranularity;
+import com.arman.parkingservice.service.FreeWindowService;
 import com.arman.parkingservice.service.ParkingSpotService;
+import com.arman.parkingservice.service.UtilizationService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/spots")
 @RequiredArgsConstructor
 public class ParkingSpotController {
     private final ParkingSpotService parkingSpotService;
+    private final FreeWindowService freeWindowService;
+    private final UtilizationService utilizationService;
 
     /**
      * Create a new parking spot.
@@ -34,4 +48,29 @@ public class ParkingSpotController {
         return ResponseEntity.ok(parkingSpotService.getParkingSpotById(id));
     }
 
-}
\ No newline at end of file
+    /**
+     * List the next free windows of the given duration (ISO-8601, e.g. PT2H) on a spot.
+     */
+    @GetMapping("/{id}/free-windows")
+    public List<FreeWindowResponse> getFreeWindows(
+            @PathVariable("id") Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam Duration duration,
+            @RequestParam(defaultValue = "5") @Min(1) @Max(50) int limit
+    ) {
+        return freeWindowService.findForSpot(id, from, duration, limit);
+    }
+
+    /**
+     * Report booked vs. parked time, occupancy and no-shows of a spot
+     */
+    @GetMapping("/{id}/utilization")
+    public UtilizationReportResponse getUtilization(
+            @PathVariable("id") Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "DAY") ReportGranularity granularity
+    ) {
+        return utilizationService.getSpotReport(id, from, to, granularity);
+    }
+}
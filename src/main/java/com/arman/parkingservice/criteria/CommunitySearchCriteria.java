@@ -21,7 +21,13 @@ public class CommunitySearchCriteria extends SearchCriteria{
         Sort.Direction direction = sortAscDesc==null || sortAscDesc.isBlank() ? Sort.Direction.ASC : Sort.Direction.fromString(sortAscDesc);
 
         return pageRequest.withSort(
-                Sort.by(direction, sortingParam)
+                Sort.by(direction, sortingParam, "id")
         );
     }
+
+    @Override
+    public boolean isSeekable() {
+        return (sort == null || sort.isBlank() || sort.equals("name"))
+                && (sortAscDesc == null || sortAscDesc.isBlank() || Sort.Direction.fromString(sortAscDesc).isAscending());
+    }
 }
@@ -0,0 +1,34 @@
+package com.arman.parkingservice.criteria;
+
+import com.arman.parkingservice.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page in keyset pagination: the value of the sort key and
+ * the id breaking ties between equal keys. Handed to clients as an opaque URL-safe token.
+ */
+public record Cursor(String key, Long id) {
+    private static final char SEPARATOR = '\n';
+
+    public static Cursor of(Object key, Long id) {
+        return new Cursor(key == null ? "" : key.toString(), id);
+    }
+
+    public static Cursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+
+            return new Cursor(decoded.substring(0, separator), Long.valueOf(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidCursorException("Malformed cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((key + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
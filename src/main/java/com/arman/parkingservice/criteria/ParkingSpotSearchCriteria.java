@@ -21,8 +21,14 @@ public class ParkingSpotSearchCriteria extends SearchCriteria{
         Sort.Direction direction = sortAscDesc==null || sortAscDesc.isBlank() ? Sort.Direction.ASC : Sort.Direction.fromString(sortAscDesc);
 
         return pageRequest.withSort(
-                Sort.by(direction, sortingParam)
+                Sort.by(direction, sortingParam, "id")
         );
     }
 
+    @Override
+    public boolean isSeekable() {
+        return (sort == null || sort.isBlank() || sort.equals("code"))
+                && (sortAscDesc == null || sortAscDesc.isBlank() || Sort.Direction.fromString(sortAscDesc).isAscending());
+    }
+
 }
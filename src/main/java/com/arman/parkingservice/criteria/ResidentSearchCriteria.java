@@ -22,7 +22,13 @@ public class ResidentSearchCriteria extends SearchCriteria{
         Sort.Direction direction = sortAscDesc==null || sortAscDesc.isBlank() ? Sort.Direction.ASC : Sort.Direction.fromString(sortAscDesc);
 
         return pageRequest.withSort(
-                Sort.by(direction, sortingParam)
+                Sort.by(direction, sortingParam, "id")
         );
     }
+
+    @Override
+    public boolean isSeekable() {
+        return (sort == null || sort.isBlank() || sort.equals("firstName"))
+                && (sortAscDesc == null || sortAscDesc.isBlank() || Sort.Direction.fromString(sortAscDesc).isAscending());
+    }
 }
@@ -1,8 +1,10 @@
 package com.arman.parkingservice.criteria;
 
+import com.arman.parkingservice.exception.InvalidCursorException;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 @Getter
 @Setter
@@ -12,10 +14,55 @@ public class SearchCriteria {
     private int page;
     private int size;
 
+    /**
+     * Opaque cursor from a previous response's {@code nextCursor}. When present, the next page
+     * is fetched by seeking past that position instead of by offset, and {@code page} is ignored.
+     * Only valid with an order that {@link #isSeekable() can be continued}.
+     */
+    private String after;
+
+    /**
+     * When false, the list query skips its count and the response carries no totals,
+     * only whether a next page exists.
+     */
+    private boolean withTotal = true;
+
     public PageRequest buildPageRequest(){
         int pageNumber = Math.max(page,0);
-        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : size;
 
-        return PageRequest.of(pageNumber,pageSize);
+        return PageRequest.of(pageNumber, pageSize(), Sort.by("id"));
+    }
+
+    /**
+     * Page request for seek queries, which order their rows themselves and always start
+     * at the first row following the cursor.
+     */
+    public PageRequest buildSeekRequest() {
+        return PageRequest.of(0, pageSize());
+    }
+
+    /**
+     * Whether rows are ordered by the cursor key ascending, then by id, so that the last row
+     * of an offset page can be continued with a cursor.
+     */
+    public boolean isSeekable() {
+        return true;
+    }
+
+    /**
+     * The position of the {@code after} cursor.
+     *
+     * @throws InvalidCursorException if the cursor is malformed, or the criteria ask for an order
+     *                                that a seek cannot continue
+     */
+    public Cursor cursor() {
+        if (!isSeekable()) {
+            throw new InvalidCursorException("A cursor cannot be combined with the requested sort order");
+        }
+        return Cursor.decode(after);
+    }
+
+    protected int pageSize() {
+        return size <= 0 ? DEFAULT_PAGE_SIZE : size;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.arman.parkingservice.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sends the connections of read-only transactions to the replica and everything else to the
+ * primary.
+ * <p>
+ * A service method opts in with {@code @Transactional(readOnly = true)}, which it should only
+ * do if it never writes and can live with reading data up to {@code maxStaleness} old; the
+ * paged list reads do. Writes, and reads that must see a write just made, stay on the primary.
+ * </p>
+ * <p>
+ * The replica is only used while its last measured lag, reported by {@link ReplicaLagMonitor},
+ * plus the time since the measurement is within {@code maxStaleness}: a replica that stopped
+ * replaying right after a check falls further behind until the next one, so the measurement
+ * ages with it. With no replica, an unknown lag or a lag beyond it, read-only transactions fall
+ * back to the primary. The decision is taken when the transaction first touches the database,
+ * so this data source has to sit behind a {@link LazyConnectionDataSourceProxy}: the
+ * transaction managers fetch their connection before marking the transaction read-only. Exposes
+ * {@code datasource.routes} per route and {@code datasource.replica.lag}.
+ * </p>
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final boolean hasReplica;
+    private final Duration maxStaleness;
+    private final Map<Route, Counter> routed = new EnumMap<>(Route.class);
+
+    private volatile LagMeasurement replicaLag;
+
+    /**
+     * @param replica the replica, {@code null} to keep every transaction on the primary
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration maxStaleness,
+                                      MeterRegistry meterRegistry) {
+        this.hasReplica = replica != null;
+        this.maxStaleness = maxStaleness;
+
+        Map<Object, Object> targets = new EnumMap<>(Route.class);
+        targets.put(Route.PRIMARY, primary);
+        targets.put(Route.REPLICA, hasReplica ? replica : primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (Route route : Route.values()) {
+            routed.put(route, Counter.builder("datasource.routes")
+                    .description("Connections handed out per route")
+                    .tag("route", route.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("datasource.replica.lag", this,
+                        dataSource -> {
+                            LagMeasurement measurement = dataSource.replicaLag;
+                            return measurement == null ? Double.NaN : measurement.lag().toMillis() / 1000.0;
+                        })
+                .description("Replication lag of the replica at the last check")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records the lag measured on the replica, {@code null} if it could not be measured.
+     */
+    public void setReplicaLag(Duration replicaLag) {
+        this.replicaLag = replicaLag == null ? null : new LagMeasurement(replicaLag, System.nanoTime());
+    }
+
+    /**
+     * Whether read-only transactions currently go to the replica
+     */
+    public boolean isReplicaUsable() {
+        LagMeasurement measurement = replicaLag;
+        if (!hasReplica || measurement == null) {
+            return false;
+        }
+        Duration sinceMeasured = Duration.ofNanos(System.nanoTime() - measurement.measuredAt());
+        return measurement.lag().plus(sinceMeasured).compareTo(maxStaleness) <= 0;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = TransactionSynchronizationManager.isCurrentTransactionReadOnly() && isReplicaUsable()
+                ? Route.REPLICA
+                : Route.PRIMARY;
+        routed.get(route).increment();
+
+        return route;
+    }
+
+    /**
+     * @param measuredAt the {@link System#nanoTime()} of the measurement
+     */
+    private record LagMeasurement(Duration lag, long measuredAt) {
+    }
+}
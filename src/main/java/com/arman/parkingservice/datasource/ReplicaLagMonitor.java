@@ -0,0 +1,56 @@
+package com.arman.parkingservice.datasource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Measures the replication lag of the replica every {@code lag-check-interval} and hands it to
+ * {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * The lag is the age of the last replayed transaction while the replica still has received WAL
+ * to replay, and zero once it has caught up, so an idle primary does not make the replica look
+ * stale. A server that is not in recovery, e.g. a second local instance, reports zero. A failed
+ * check reports the lag as unknown, which sends reads back to the primary. Since the router ages
+ * each measurement until the next one, the interval has to be well below {@code max-staleness}
+ * for the replica to stay in use between checks.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty("parking.datasource.replica.url")
+public class ReplicaLagMonitor {
+    private static final String REPLICA_LAG_MILLIS = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM clock_timestamp() - pg_last_xact_replay_timestamp()) * 1000, 0)
+            END::bigint
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    public ReplicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                             ReadWriteRoutingDataSource routingDataSource) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${parking.datasource.replica.lag-check-interval:PT1S}")
+    public void check() {
+        Duration lag;
+        try {
+            Long millis = replicaJdbcTemplate.queryForObject(REPLICA_LAG_MILLIS, Long.class);
+            lag = millis == null ? null : Duration.ofMillis(millis);
+        } catch (DataAccessException e) {
+            lag = null;
+        }
+        routingDataSource.setReplicaLag(lag);
+    }
+}
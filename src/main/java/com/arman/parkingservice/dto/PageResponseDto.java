@@ -1,30 +1,74 @@
 package com.arman.parkingservice.dto;
 
+import com.arman.parkingservice.criteria.Cursor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Getter
 @Setter
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResponseDto<T> {
 
     private List<T> content;
     private int pageNumber;
     private int pageSize;
-    private int totalPages;
-    private long totalElements;
+    private Integer totalPages;
+    private Long totalElements;
+    private boolean hasNext;
+    private String nextCursor;
 
     public static <T> PageResponseDto<T> from(Page<T> page){
-        PageResponseDto<T> pageResponseDto = new PageResponseDto<>();
+        PageResponseDto<T> pageResponseDto = fromSlice(page);
 
-        pageResponseDto.setContent(page.getContent());
-        pageResponseDto.setPageNumber(page.getPageable().getPageNumber());
-        pageResponseDto.setPageSize(page.getPageable().getPageSize());
         pageResponseDto.setTotalPages(page.getTotalPages());
         pageResponseDto.setTotalElements(page.getTotalElements());
 
         return pageResponseDto;
     }
+
+    /**
+     * Page with totals and, if there is a next page, the cursor continuing after its last row
+     */
+    public static <T> PageResponseDto<T> from(Page<T> page, Function<T, Cursor> cursorOf) {
+        PageResponseDto<T> pageResponseDto = from(page);
+        pageResponseDto.setNextCursor(nextCursor(page, cursorOf));
+
+        return pageResponseDto;
+    }
+
+    /**
+     * Page without totals and, if there is a next page, the cursor continuing after its last row
+     */
+    public static <T> PageResponseDto<T> from(Slice<T> slice, Function<T, Cursor> cursorOf) {
+        PageResponseDto<T> pageResponseDto = fromSlice(slice);
+        pageResponseDto.setNextCursor(nextCursor(slice, cursorOf));
+
+        return pageResponseDto;
+    }
+
+    private static <T> PageResponseDto<T> fromSlice(Slice<T> slice) {
+        PageResponseDto<T> pageResponseDto = new PageResponseDto<>();
+
+        pageResponseDto.setContent(slice.getContent());
+        pageResponseDto.setPageNumber(slice.getPageable().getPageNumber());
+        pageResponseDto.setPageSize(slice.getPageable().getPageSize());
+        pageResponseDto.setHasNext(slice.hasNext());
+
+        return pageResponseDto;
+    }
+
+    private static <T> String nextCursor(Slice<T> slice, Function<T, Cursor> cursorOf) {
+        if (cursorOf == null || !slice.hasNext() || slice.getContent().isEmpty()) {
+            return null;
+        }
+        List<T> content = slice.getContent();
+
+        return cursorOf.apply(content.get(content.size() - 1)).encode();
+    }
 }
@@ -0,0 +1,23 @@
+package com.arman.parkingservice.dto.booking;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+public class AutoBookingRequestDto {
+    @NotNull
+    private Long residentId;
+
+    @NotNull
+    @Future
+    private LocalDateTime startTime;
+
+    @NotNull
+    @Future
+    private LocalDateTime endTime;
+}
@@ -0,0 +1,16 @@
+package com.arman.parkingservice.dto.booking;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class BookingBatchItemResponse {
+    private int index;
+
+    private boolean created;
+
+    private BookingResponse booking;
+
+    private String error;
+}
@@ -0,0 +1,24 @@
+package com.arman.parkingservice.dto.booking;
+
+import com.arman.parkingservice.enums.BatchMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@EqualsAndHashCode
+public class BookingBatchRequestDto {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@Valid @NotNull BookingRequestDto> bookings;
+
+    @NotNull
+    private BatchMode mode = BatchMode.ALL_OR_NOTHING;
+}
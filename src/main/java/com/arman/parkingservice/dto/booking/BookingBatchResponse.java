@@ -0,0 +1,19 @@
+package com.arman.parkingservice.dto.booking;
+
+import com.arman.parkingservice.enums.BatchMode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class BookingBatchResponse {
+    private BatchMode mode;
+
+    private int created;
+
+    private int failed;
+
+    private List<BookingBatchItemResponse> items;
+}
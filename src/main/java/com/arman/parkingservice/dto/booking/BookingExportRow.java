@@ -0,0 +1,33 @@
+package com.arman.parkingservice.dto.booking;
+
+import com.arman.parkingservice.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One booking of a community export, flat so that it maps to a CSV line as well as to a JSON object.
+ */
+public record BookingExportRow(
+        Long bookingId,
+        Long residentId,
+        String firstName,
+        String lastName,
+        Long spotId,
+        String code,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BookingStatus status,
+        LocalDateTime actualStartTime,
+        LocalDateTime actualEndTime
+) {
+    /**
+     * The row with the status the sweeper will give the booking once its window has ended.
+     */
+    public BookingExportRow asOf(LocalDateTime now) {
+        if (!now.isAfter(endTime)) {
+            return this;
+        }
+        return new BookingExportRow(bookingId, residentId, firstName, lastName, spotId, code,
+                startTime, endTime, status.expired(), actualStartTime, actualEndTime);
+    }
+}
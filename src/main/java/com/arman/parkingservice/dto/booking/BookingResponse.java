@@ -1,15 +1,18 @@
 package com.arman.parkingservice.dto.booking;
 
+import com.arman.parkingservice.dto.community.CommunityResponse;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
 import com.arman.parkingservice.dto.resident.ResidentResponse;
 import com.arman.parkingservice.enums.BookingStatus;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class BookingResponse {
     private Long bookingId;
 
@@ -26,4 +29,34 @@ public class BookingResponse {
     private LocalDateTime actualStartTime;
 
     private LocalDateTime actualEndTime;
+
+    public BookingResponse(Long bookingId,
+                           Long residentId,
+                           String residentFirstName,
+                           String residentLastName,
+                           Long residentCommunityId,
+                           String residentCommunityName,
+                           Long parkingSpotId,
+                           String parkingSpotCode,
+                           Long parkingSpotCommunityId,
+                           String parkingSpotCommunityName,
+                           LocalDateTime startTime,
+                           LocalDateTime endTime,
+                           BookingStatus bookingStatus,
+                           LocalDateTime actualStartTime,
+                           LocalDateTime actualEndTime) {
+        this.bookingId = bookingId;
+        this.resident = new ResidentResponse();
+        this.resident.setId(residentId);
+        this.resident.setFirstName(residentFirstName);
+        this.resident.setLastName(residentLastName);
+        this.resident.setCommunity(new CommunityResponse(residentCommunityId, residentCommunityName));
+        this.parkingSpot = new ParkingSpotResponse(parkingSpotId, parkingSpotCode,
+                new CommunityResponse(parkingSpotCommunityId, parkingSpotCommunityName));
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.bookingStatus = bookingStatus;
+        this.actualStartTime = actualStartTime;
+        this.actualEndTime = actualEndTime;
+    }
 }
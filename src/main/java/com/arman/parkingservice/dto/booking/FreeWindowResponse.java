@@ -0,0 +1,27 @@
+package com.arman.parkingservice.dto.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeWindowResponse {
+    private Long spotId;
+
+    private String code;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    /**
+     * Start of the next booking of the spot, {@code null} if the spot is free from then on
+     */
+    private LocalDateTime freeUntil;
+}
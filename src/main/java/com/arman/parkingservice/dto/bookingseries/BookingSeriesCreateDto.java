@@ -0,0 +1,47 @@
+package com.arman.parkingservice.dto.bookingseries;
+
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Getter
+@Setter
+public class BookingSeriesCreateDto {
+    @NotNull
+    private Long residentId;
+
+    @NotNull
+    private Long parkingSpotId;
+
+    /**
+     * RRULE-like pattern, e.g. {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR}
+     */
+    @NotBlank
+    private String recurrence;
+
+    @NotNull
+    @FutureOrPresent
+    private LocalDate startDate;
+
+    @NotNull
+    private LocalDate endDate;
+
+    @NotNull
+    private LocalTime startTime;
+
+    /**
+     * End of every occurrence; an end time before the start time ends the occurrence on the next day.
+     */
+    @NotNull
+    private LocalTime endTime;
+
+    /**
+     * Create the occurrences that are free and skip the booked ones, instead of rejecting the series.
+     */
+    private boolean skipConflicts;
+}
@@ -0,0 +1,41 @@
+package com.arman.parkingservice.dto.bookingseries;
+
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.dto.resident.ResidentResponse;
+import com.arman.parkingservice.enums.BookingSeriesStatus;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter
+@Setter
+public class BookingSeriesResponse {
+    private Long id;
+
+    private ResidentResponse resident;
+
+    private ParkingSpotResponse parkingSpot;
+
+    private String recurrence;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private LocalTime startTime;
+
+    private LocalTime endTime;
+
+    private BookingSeriesStatus seriesStatus;
+
+    /**
+     * Number of bookings created, or cancelled, by the request
+     */
+    private int occurrences;
+
+    private List<LocalDateTime> skippedStartTimes;
+}
@@ -0,0 +1,23 @@
+package com.arman.parkingservice.dto.community;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of an import. Only the first {@code max-reported-errors} failed rows are listed,
+ * {@code errorsTruncated} tells whether more failed.
+ */
+@Getter
+@Setter
+public class ImportResponse {
+    private long imported;
+
+    private long failed;
+
+    private List<ImportRowError> errors = new ArrayList<>();
+
+    private boolean errorsTruncated;
+}
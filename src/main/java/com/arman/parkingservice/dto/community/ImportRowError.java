@@ -0,0 +1,16 @@
+package com.arman.parkingservice.dto.community;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    private long line;
+
+    private String error;
+}
@@ -0,0 +1,18 @@
+package com.arman.parkingservice.dto.parkingspot;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpotAvailabilityResponse {
+    private Long id;
+
+    private String code;
+
+    private boolean occupied;
+}
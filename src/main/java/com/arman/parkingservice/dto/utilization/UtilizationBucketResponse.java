@@ -0,0 +1,29 @@
+package com.arman.parkingservice.dto.utilization;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UtilizationBucketResponse {
+    private LocalDateTime period;
+
+    private long bookedSeconds;
+
+    private long parkedSeconds;
+
+    private long bookings;
+
+    private long noShows;
+
+    /**
+     * The most spots with booked time within a single hour of the period
+     */
+    private int peakBookedSpots;
+}
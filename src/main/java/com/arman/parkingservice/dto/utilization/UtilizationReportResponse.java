@@ -0,0 +1,45 @@
+package com.arman.parkingservice.dto.utilization;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilization of a community or spot over [from, to), in total and per period.
+ * <p>
+ * {@code utilization} is parked time over booked time, {@code occupancy} booked time over
+ * the time all spots were available, and {@code noShowRate} no-shows over bookings. Peak
+ * concurrency is reported at hourly resolution, as the most spots with booked time within
+ * one hour.
+ * </p>
+ */
+@Getter
+@Setter
+public class UtilizationReportResponse {
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private long spots;
+
+    private long bookedSeconds;
+
+    private long parkedSeconds;
+
+    private long bookings;
+
+    private long noShows;
+
+    private int peakBookedSpots;
+
+    private double utilization;
+
+    private double occupancy;
+
+    private double noShowRate;
+
+    private List<UtilizationBucketResponse> buckets = new ArrayList<>();
+}
@@ -0,0 +1,6 @@
+package com.arman.parkingservice.enums;
+
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
@@ -0,0 +1,6 @@
+package com.arman.parkingservice.enums;
+
+public enum BookingSeriesStatus {
+    ACTIVE,
+    CANCELLED
+}
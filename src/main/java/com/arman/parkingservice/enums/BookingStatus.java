@@ -4,5 +4,17 @@ public enum BookingStatus {
     RESERVED,
     ACTIVE,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * The status a booking in this status ends up with once its window has passed:
+     * an unused reservation is cancelled and an active booking is completed.
+     */
+    public BookingStatus expired() {
+        return switch (this) {
+            case RESERVED -> CANCELLED;
+            case ACTIVE -> COMPLETED;
+            default -> this;
+        };
+    }
 }
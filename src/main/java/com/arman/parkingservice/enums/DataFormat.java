@@ -0,0 +1,32 @@
+package com.arman.parkingservice.enums;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formats of the community import and export endpoints: CSV with a header line, or one JSON
+ * object per line.
+ */
+public enum DataFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    DataFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static DataFormat fromContentType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (DataFormat format : values()) {
+            if (type.isCompatibleWith(MediaType.parseMediaType(format.mediaType))) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,23 @@
+package com.arman.parkingservice.enums;
+
+/**
+ * Periods the hourly utilization rollups are summed into for reports.
+ */
+public enum ReportGranularity {
+    HOUR("hour"),
+    DAY("day"),
+    MONTH("month");
+
+    private final String field;
+
+    ReportGranularity(String field) {
+        this.field = field;
+    }
+
+    /**
+     * @return the {@code date_trunc} field of the period
+     */
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,62 @@
+package com.arman.parkingservice.event;
+
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.persistence.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published after a booking was created or changed status and the change was committed.
+ *
+ * @param previousStatus  the status before the change, {@code null} for a new booking
+ * @param status          the status after the change
+ * @param actualStartTime when the car was parked, if it was
+ * @param actualEndTime   when the spot was released, if it was
+ * @param noShow          whether the booking was cancelled because it expired while RESERVED
+ */
+public record BookingChangedEvent(
+        Long bookingId,
+        Long spotId,
+        Long communityId,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BookingStatus previousStatus,
+        BookingStatus status,
+        LocalDateTime actualStartTime,
+        LocalDateTime actualEndTime,
+        boolean noShow
+) {
+    public static BookingChangedEvent of(Booking booking, BookingStatus previousStatus) {
+        return of(booking, booking.getParkingSpot().getCommunity().getId(), previousStatus);
+    }
+
+    /**
+     * For bookings whose spot is a reference only, so that the community is not loaded through it
+     */
+    public static BookingChangedEvent of(Booking booking, Long communityId, BookingStatus previousStatus) {
+        return new BookingChangedEvent(
+                booking.getId(),
+                booking.getParkingSpot().getId(),
+                communityId,
+                booking.getStartTime(),
+                booking.getEndTime(),
+                previousStatus,
+                booking.getBookingStatus(),
+                booking.getActualStartTime(),
+                booking.getActualEndTime(),
+                booking.isNoShow()
+        );
+    }
+
+    public boolean isCreated() {
+        return previousStatus == null;
+    }
+
+    /**
+     * Whether the booking stopped holding its spot, i.e. left the RESERVED/ACTIVE states.
+     */
+    public boolean isFreed() {
+        return (previousStatus == BookingStatus.RESERVED || previousStatus == BookingStatus.ACTIVE)
+                && (status == BookingStatus.CANCELLED || status == BookingStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,8 @@
+package com.arman.parkingservice.event;
+
+/**
+ * Published after an unknown set of bookings of a spot changed, e.g. after a set-based
+ * update, so that derived state of the spot has to be recomputed.
+ */
+public record SpotBookingsChangedEvent(Long spotId, Long communityId) {
+}
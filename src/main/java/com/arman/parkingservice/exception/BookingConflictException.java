@@ -0,0 +1,28 @@
+package com.arman.parkingservice.exception;
+
+import com.arman.parkingservice.dto.booking.FreeWindowResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Thrown when a booking overlaps an open booking of the spot, carrying the window of the
+ * conflicting booking and the nearest free windows of the same length.
+ */
+@Getter
+public class BookingConflictException extends ResourceAlreadyUsedException {
+    private final LocalDateTime conflictStartTime;
+    private final LocalDateTime conflictEndTime;
+    private final List<FreeWindowResponse> alternatives;
+
+    public BookingConflictException(String message,
+                                    LocalDateTime conflictStartTime,
+                                    LocalDateTime conflictEndTime,
+                                    List<FreeWindowResponse> alternatives) {
+        super(message);
+        this.conflictStartTime = conflictStartTime;
+        this.conflictEndTime = conflictEndTime;
+        this.alternatives = alternatives;
+    }
+}
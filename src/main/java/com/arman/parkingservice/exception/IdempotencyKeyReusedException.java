@@ -0,0 +1,7 @@
+package com.arman.parkingservice.exception;
+
+public class IdempotencyKeyReusedException extends BaseException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
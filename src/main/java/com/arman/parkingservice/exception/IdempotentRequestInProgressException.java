@@ -0,0 +1,7 @@
+package com.arman.parkingservice.exception;
+
+public class IdempotentRequestInProgressException extends BaseException {
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.arman.parkingservice.exception;
+
+public class InvalidCursorException extends BaseException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
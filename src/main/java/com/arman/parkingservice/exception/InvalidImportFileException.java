@@ -0,0 +1,7 @@
+package com.arman.parkingservice.exception;
+
+public class InvalidImportFileException extends BaseException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
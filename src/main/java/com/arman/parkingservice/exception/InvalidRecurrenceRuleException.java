@@ -0,0 +1,7 @@
+package com.arman.parkingservice.exception;
+
+public class InvalidRecurrenceRuleException extends BaseException {
+    public InvalidRecurrenceRuleException(String message) {
+        super(message);
+    }
+}
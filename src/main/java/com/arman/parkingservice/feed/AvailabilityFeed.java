@@ -0,0 +1,344 @@
+package com.arman.parkingservice.feed;
+
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.dto.parkingspot.SpotAvailabilityResponse;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.event.SpotBookingsChangedEvent;
+import com.arman.parkingservice.exception.ResourceNotFoundException;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes the availability of the spots of a community to Server-Sent Events subscribers.
+ * <p>
+ * A spot is occupied while a RESERVED or ACTIVE booking covers the current time. A subscriber
+ * first receives a {@code snapshot} event with every spot of the community, then a {@code spot}
+ * event for each spot whose state changed, or that was added. Changes are picked up from booking
+ * events, and by a periodic tick for windows that start or end without a transition, such as a
+ * reservation starting or a booking running out before the sweeper expires it. States are read
+ * from {@link BookingIntervalIndex}, so subscribers add no database load: only the spot list of
+ * a community is read, when its first subscriber arrives and after spots were added.
+ * </p>
+ * <p>
+ * Each subscriber has its own queue of at most {@code buffer-size} events, drained by a small
+ * pool of sender threads, so a slow client never holds up the others or the booking threads.
+ * A subscriber whose queue overflows is too slow to keep up and is disconnected; its client
+ * reconnects and starts over from a fresh snapshot.
+ * </p>
+ */
+@Component
+public class AvailabilityFeed {
+    private static final String SNAPSHOT_EVENT = "snapshot";
+    private static final String SPOT_EVENT = "spot";
+
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final int bufferSize;
+    private final ExecutorService senders;
+    private final Counter droppedSubscribers;
+
+    private final ConcurrentMap<Long, CommunityFeed> communities = new ConcurrentHashMap<>();
+
+    public AvailabilityFeed(ParkingSpotRepository parkingSpotRepository,
+                            BookingIntervalIndex bookingIntervalIndex,
+                            ReferenceDataCache referenceDataCache,
+                            MeterRegistry meterRegistry,
+                            @Value("${parking.feed.buffer-size:256}") int bufferSize,
+                            @Value("${parking.feed.sender-threads:8}") int senderThreads) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.bufferSize = bufferSize;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("availability-feed-");
+        threadFactory.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(senderThreads, threadFactory);
+
+        this.droppedSubscribers = Counter.builder("availability.feed.dropped")
+                .description("Subscribers disconnected because they could not keep up")
+                .register(meterRegistry);
+        Gauge.builder("availability.feed.subscribers", communities,
+                        feeds -> feeds.values().stream().mapToInt(CommunityFeed::subscriberCount).sum())
+                .description("Connected availability feed subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Subscribes to the availability of the spots of a community.
+     *
+     * @param communityId the community's ID
+     * @return the emitter streaming the snapshot and the changes after it
+     * @throws ResourceNotFoundException if no community exists with the given ID
+     */
+    public SseEmitter subscribe(Long communityId) {
+        referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + communityId));
+
+        SseEmitter emitter = new SseEmitter();
+        Subscriber subscriber = new Subscriber(communityId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+
+        // the snapshot is queued inside compute so that a concurrent unsubscribe of the last
+        // subscriber cannot drop the community in between; a new community's spots and their
+        // states are read before, since compute blocks every other update of the map's bin
+        CommunityFeed subscribed = communities.computeIfPresent(communityId, (id, feed) -> feed.subscribe(subscriber));
+        if (subscribed == null) {
+            CommunityFeed created = new CommunityFeed(spots(communityId), LocalDateTime.now());
+            subscribed = communities.compute(communityId,
+                    (id, feed) -> (feed != null ? feed : created).subscribe(subscriber));
+            if (subscribed == created) {
+                // bookings changed while it was built were not yet refreshed into it
+                created.refreshAll(LocalDateTime.now());
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Marks the spot list of the community as outdated, e.g. after a spot was added, so that
+     * the next tick reloads it.
+     */
+    public void invalidate(Long communityId) {
+        CommunityFeed feed = communities.get(communityId);
+        if (feed != null) {
+            feed.spotsStale = true;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        refresh(event.communityId(), event.spotId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotBookingsChanged(SpotBookingsChangedEvent event) {
+        refresh(event.communityId(), event.spotId());
+    }
+
+    @Scheduled(
+            initialDelayString = "${parking.feed.tick:PT15S}",
+            fixedDelayString = "${parking.feed.tick:PT15S}"
+    )
+    public void tick() {
+        communities.forEach((communityId, feed) -> {
+            if (feed.spotsStale) {
+                feed.spotsStale = false;
+                feed.reload(spots(communityId), LocalDateTime.now());
+            } else {
+                feed.refreshAll(LocalDateTime.now());
+            }
+            // keeps idle connections from being closed by proxies
+            feed.broadcast(FeedEvent.HEARTBEAT);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void refresh(Long communityId, Long spotId) {
+        CommunityFeed feed = communities.get(communityId);
+        if (feed != null) {
+            feed.refresh(spotId, LocalDateTime.now());
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        communities.computeIfPresent(subscriber.communityId, (id, feed) -> {
+            feed.unsubscribe(subscriber);
+            return feed.subscriberCount() > 0 ? feed : null;
+        });
+    }
+
+    private static SpotAvailabilityResponse copy(SpotAvailabilityResponse spot) {
+        return new SpotAvailabilityResponse(spot.getId(), spot.getCode(), spot.isOccupied());
+    }
+
+    private List<ParkingSpotResponse> spots(Long communityId) {
+        return parkingSpotRepository.findAllByCommunityIdOrderByCode(communityId);
+    }
+
+    private boolean isOccupied(Long spotId, LocalDateTime now) {
+        return bookingIntervalIndex.findOverlap(spotId, now, now.plusNanos(1)).isPresent();
+    }
+
+    private final class CommunityFeed {
+        private final Map<Long, SpotAvailabilityResponse> spots = new LinkedHashMap<>();
+        private final Set<Subscriber> subscribers = new HashSet<>();
+        private volatile boolean spotsStale;
+
+        private CommunityFeed(List<ParkingSpotResponse> spots, LocalDateTime now) {
+            spots.forEach(spot -> this.spots.put(spot.getId(),
+                    new SpotAvailabilityResponse(spot.getId(), spot.getCode(), isOccupied(spot.getId(), now))));
+        }
+
+        /**
+         * Adds the subscriber and queues its snapshot. Reads nothing: the states of a registered
+         * community are kept current by the booking events and ticks.
+         */
+        private synchronized CommunityFeed subscribe(Subscriber subscriber) {
+            subscribers.add(subscriber);
+
+            List<SpotAvailabilityResponse> snapshot = new ArrayList<>(spots.size());
+            spots.values().forEach(spot -> snapshot.add(copy(spot)));
+            subscriber.offer(new FeedEvent(SNAPSHOT_EVENT, snapshot));
+            return this;
+        }
+
+        private synchronized void unsubscribe(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        private synchronized int subscriberCount() {
+            return subscribers.size();
+        }
+
+        private synchronized void refresh(Long spotId, LocalDateTime now) {
+            SpotAvailabilityResponse spot = spots.get(spotId);
+            if (spot != null) {
+                refresh(spot, now);
+            }
+        }
+
+        private synchronized void refreshAll(LocalDateTime now) {
+            spots.values().forEach(spot -> refresh(spot, now));
+        }
+
+        private synchronized void reload(List<ParkingSpotResponse> current, LocalDateTime now) {
+            Map<Long, SpotAvailabilityResponse> previous = new HashMap<>(spots);
+            spots.clear();
+            for (ParkingSpotResponse spot : current) {
+                SpotAvailabilityResponse known = previous.get(spot.getId());
+                if (known != null) {
+                    spots.put(spot.getId(), known);
+                    refresh(known, now);
+                } else {
+                    SpotAvailabilityResponse added = new SpotAvailabilityResponse(
+                            spot.getId(), spot.getCode(), isOccupied(spot.getId(), now));
+                    spots.put(spot.getId(), added);
+                    broadcast(new FeedEvent(SPOT_EVENT, copy(added)));
+                }
+            }
+        }
+
+        private void refresh(SpotAvailabilityResponse spot, LocalDateTime now) {
+            boolean occupied = isOccupied(spot.getId(), now);
+            if (occupied != spot.isOccupied()) {
+                spot.setOccupied(occupied);
+                broadcast(new FeedEvent(SPOT_EVENT, copy(spot)));
+            }
+        }
+
+        private synchronized void broadcast(FeedEvent event) {
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+            subscribers.removeIf(subscriber -> subscriber.closed);
+        }
+    }
+
+    private final class Subscriber {
+        private final Long communityId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<FeedEvent> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Subscriber(Long communityId, SseEmitter emitter) {
+            this.communityId = communityId;
+            this.emitter = emitter;
+        }
+
+        private void offer(FeedEvent event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                droppedSubscribers.increment();
+                closed = true;
+                queue.clear();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        /**
+         * Sends the queued events on a sender thread. The emitter is completed here as well, never
+         * by the thread that noticed the overflow, since completing waits for a send in progress.
+         */
+        private void drain() {
+            try {
+                for (FeedEvent event = queue.poll(); event != null && !closed; event = queue.poll()) {
+                    emitter.send(event.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away
+                closed = true;
+            } finally {
+                draining.set(false);
+            }
+
+            if (closed) {
+                if (completed.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+            } else if (!queue.isEmpty()) {
+                // an event was queued after the last poll but before the flag was cleared
+                scheduleDrain();
+            }
+        }
+    }
+
+    private record FeedEvent(String name, Object data) {
+        private static final FeedEvent HEARTBEAT = new FeedEvent(null, null);
+
+        private SseEmitter.SseEventBuilder toSse() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.arman.parkingservice.index;
+
+import com.arman.parkingservice.persistence.entity.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable time window occupied by a RESERVED or ACTIVE booking on a parking spot.
+ */
+public record BookingInterval(Long bookingId, Long spotId, LocalDateTime startTime, LocalDateTime endTime) {
+
+    public static BookingInterval of(Booking booking) {
+        return new BookingInterval(
+                booking.getId(),
+                booking.getParkingSpot().getId(),
+                booking.getStartTime(),
+                booking.getEndTime()
+        );
+    }
+
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return startTime.isBefore(end) && endTime.isAfter(start);
+    }
+}
@@ -0,0 +1,253 @@
+package com.arman.parkingservice.index;
+
+import com.arman.parkingservice.persistence.repository.BookingRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of RESERVED and ACTIVE bookings per parking spot.
+ * <p>
+ * Bookings in those states never overlap on the same spot, so each spot keeps a map of
+ * intervals sorted by start time and the only possible clash for a window is the interval
+ * with the greatest start before the window's end. Overlap checks are therefore answered in
+ * O(log n) without a database round-trip.
+ * </p>
+ * <p>
+ * The database remains the source of truth: the index is loaded at startup, new spots are
+ * registered empty, and a spot missing from the index (invalidated) is reloaded from the
+ * database on its next lookup. The reload fills a placeholder under the placeholder's own
+ * monitor, outside of the map's compute, so updates and lookups of the same spot wait for it
+ * while those of other spots do not.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final ParkingSpotRepository parkingSpotRepository;
+
+    private final ConcurrentMap<Long, SpotIntervals> spots = new ConcurrentHashMap<>();
+
+    /**
+     * Loads every open booking interval, and an empty entry for each spot without one,
+     * before the application starts serving requests.
+     */
+    @PostConstruct
+    public void load() {
+        Map<Long, List<BookingInterval>> intervalsBySpot = bookingRepository
+                .findOpenIntervals(LocalDateTime.now())
+                .stream()
+                .collect(Collectors.groupingBy(BookingInterval::spotId));
+
+        for (Long spotId : parkingSpotRepository.findAllIds()) {
+            spots.put(spotId, new SpotIntervals(intervalsBySpot.getOrDefault(spotId, List.of())));
+        }
+    }
+
+    /**
+     * Finds an open booking on the spot overlapping the half-open window [start, end).
+     *
+     * @param spotId the parking spot's ID
+     * @param start  the window's start
+     * @param end    the window's end
+     * @return the overlapping interval, if any
+     */
+    public Optional<BookingInterval> findOverlap(Long spotId, LocalDateTime start, LocalDateTime end) {
+        return spot(spotId).findOverlap(start, end);
+    }
+
+    /**
+     * Finds the first gaps on the spot, starting at or after {@code from}, that are long
+     * enough for the duration. The spot's intervals are swept once in start order from the
+     * interval preceding {@code from}, so the cost grows with the bookings passed over.
+     *
+     * @param spotId   the parking spot's ID
+     * @param from     the earliest start
+     * @param duration the minimum length of a gap
+     * @param limit    the maximum number of gaps
+     * @return the gaps ordered by start; the last one is open-ended if fewer than the limit were found
+     */
+    public List<FreeWindow> findFreeWindows(Long spotId, LocalDateTime from, Duration duration, int limit) {
+        return spot(spotId).findFreeWindows(spotId, from, duration, limit);
+    }
+
+    /**
+     * Finds the free gap on the spot that encloses the window [start, end).
+     *
+     * @return the gap from the end of the preceding open booking to the start of the following
+     * one, with a {@code null} {@code startTime} if no booking precedes the window and a
+     * {@code null} {@code freeUntil} if none follows it; empty if the window overlaps a booking
+     */
+    public Optional<FreeWindow> findEnclosingGap(Long spotId, LocalDateTime start, LocalDateTime end) {
+        return spot(spotId).findEnclosingGap(spotId, start, end);
+    }
+
+    /**
+     * Returns the spot's open intervals ordered by start time.
+     */
+    public List<BookingInterval> getIntervals(Long spotId) {
+        return spot(spotId).snapshot();
+    }
+
+    /**
+     * Registers a newly created spot, which has no bookings yet.
+     */
+    public void addSpot(Long spotId) {
+        spots.putIfAbsent(spotId, new SpotIntervals(List.of()));
+    }
+
+    /**
+     * Registers a newly persisted RESERVED booking. A spot that is not loaded is left alone,
+     * it will pick the booking up from the database when it is next loaded.
+     */
+    public void add(BookingInterval interval) {
+        spots.computeIfPresent(interval.spotId(), (id, intervals) -> {
+            intervals.add(interval);
+            return intervals;
+        });
+    }
+
+    /**
+     * Removes a booking that left the RESERVED/ACTIVE states.
+     */
+    public void remove(BookingInterval interval) {
+        spots.computeIfPresent(interval.spotId(), (id, intervals) -> {
+            intervals.remove(interval);
+            return intervals;
+        });
+    }
+
+    /**
+     * Drops the spot from the index, so that its next lookup reloads it from the database.
+     */
+    public void invalidate(Long spotId) {
+        spots.remove(spotId);
+    }
+
+    private SpotIntervals spot(Long spotId) {
+        SpotIntervals intervals = spots.get(spotId);
+        if (intervals == null) {
+            intervals = spots.computeIfAbsent(spotId, id -> new SpotIntervals());
+        }
+        return intervals.loadIfAbsent(() -> bookingRepository.findOpenIntervalsBySpot(spotId, LocalDateTime.now()));
+    }
+
+    /**
+     * The open intervals of one spot; a placeholder until loaded, ignoring updates until then
+     * since the load reads them from the database.
+     */
+    private static final class SpotIntervals {
+        private final NavigableMap<LocalDateTime, BookingInterval> byStart = new TreeMap<>();
+        private boolean loaded;
+
+        private SpotIntervals() {
+        }
+
+        private SpotIntervals(List<BookingInterval> intervals) {
+            intervals.forEach(interval -> byStart.put(interval.startTime(), interval));
+            loaded = true;
+        }
+
+        private synchronized SpotIntervals loadIfAbsent(Supplier<List<BookingInterval>> load) {
+            if (!loaded) {
+                load.get().forEach(interval -> byStart.put(interval.startTime(), interval));
+                loaded = true;
+            }
+            return this;
+        }
+
+        private synchronized Optional<BookingInterval> findOverlap(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, BookingInterval> candidate = byStart.lowerEntry(end);
+            if (candidate != null && candidate.getValue().overlaps(start, end)) {
+                return Optional.of(candidate.getValue());
+            }
+            return Optional.empty();
+        }
+
+        private synchronized List<FreeWindow> findFreeWindows(Long spotId, LocalDateTime from, Duration duration,
+                                                              int limit) {
+            List<FreeWindow> windows = new ArrayList<>(limit);
+            LocalDateTime cursor = from;
+
+            Map.Entry<LocalDateTime, BookingInterval> preceding = byStart.lowerEntry(from);
+            if (preceding != null && preceding.getValue().endTime().isAfter(cursor)) {
+                cursor = preceding.getValue().endTime();
+            }
+            for (BookingInterval interval : byStart.tailMap(from, true).values()) {
+                if (windows.size() == limit) {
+                    return windows;
+                }
+                if (!interval.startTime().isBefore(cursor.plus(duration))) {
+                    windows.add(new FreeWindow(spotId, cursor, interval.startTime()));
+                }
+                if (interval.endTime().isAfter(cursor)) {
+                    cursor = interval.endTime();
+                }
+            }
+            if (windows.size() < limit) {
+                windows.add(new FreeWindow(spotId, cursor, null));
+            }
+            return windows;
+        }
+
+        private synchronized Optional<FreeWindow> findEnclosingGap(Long spotId, LocalDateTime start,
+                                                                   LocalDateTime end) {
+            Map.Entry<LocalDateTime, BookingInterval> preceding = byStart.lowerEntry(end);
+            if (preceding != null && preceding.getValue().overlaps(start, end)) {
+                return Optional.empty();
+            }
+            LocalDateTime following = byStart.ceilingKey(end);
+
+            return Optional.of(new FreeWindow(
+                    spotId,
+                    preceding == null ? null : preceding.getValue().endTime(),
+                    following
+            ));
+        }
+
+        private synchronized List<BookingInterval> snapshot() {
+            return List.copyOf(byStart.values());
+        }
+
+        private synchronized void add(BookingInterval interval) {
+            if (!loaded) {
+                return;
+            }
+            pruneEndedBefore(LocalDateTime.now());
+            byStart.put(interval.startTime(), interval);
+        }
+
+        private synchronized void remove(BookingInterval interval) {
+            if (!loaded) {
+                return;
+            }
+            BookingInterval current = byStart.get(interval.startTime());
+            if (current != null && current.bookingId().equals(interval.bookingId())) {
+                byStart.remove(interval.startTime());
+            }
+        }
+
+        private void pruneEndedBefore(LocalDateTime now) {
+            Map.Entry<LocalDateTime, BookingInterval> first = byStart.firstEntry();
+            while (first != null && !first.getValue().endTime().isAfter(now)) {
+                byStart.pollFirstEntry();
+                first = byStart.firstEntry();
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.arman.parkingservice.index;
+
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.event.SpotBookingsChangedEvent;
+import com.arman.parkingservice.persistence.repository.BookingRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory occupancy bitsets per community, used to answer availability searches.
+ * <p>
+ * Every spot of a community is given a bit index, and the rolling horizon is split into fixed
+ * slots, each holding a {@link BitSet} of the spots with a RESERVED or ACTIVE booking touching
+ * the slot. The busy spots of a window are the OR of the slots it covers; the free spots are
+ * the complement. Bookings are not aligned to slots, so spots that are only busy in the
+ * partially covered boundary slots are verified against {@link BookingIntervalIndex}.
+ * </p>
+ * <p>
+ * A community is built from the database on its first search and rebuilt once its horizon
+ * has moved on; in between it is kept up to date from booking events. The build runs under a
+ * per-community monitor rather than inside the map's compute, so booking events of the
+ * community wait for it while those of other communities do not. Windows reaching outside the
+ * horizon are left to the database.
+ * </p>
+ */
+@Component
+public class CommunityOccupancyIndex {
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final Duration slot;
+    private final Duration horizon;
+    private final Duration rebuildAfter;
+
+    private final ConcurrentMap<Long, CommunityEntry> communities = new ConcurrentHashMap<>();
+
+    public CommunityOccupancyIndex(ParkingSpotRepository parkingSpotRepository,
+                                   BookingRepository bookingRepository,
+                                   BookingIntervalIndex bookingIntervalIndex,
+                                   @Value("${parking.occupancy.slot:PT15M}") Duration slot,
+                                   @Value("${parking.occupancy.horizon:P14D}") Duration horizon,
+                                   @Value("${parking.occupancy.rebuild-after:PT6H}") Duration rebuildAfter) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.slot = slot;
+        this.horizon = horizon;
+        this.rebuildAfter = rebuildAfter;
+    }
+
+    /**
+     * Finds the spots of the community that are free during the whole window [start, end).
+     *
+     * @return the free spots ordered by code, or empty if the window is outside the horizon
+     */
+    public Optional<List<ParkingSpotResponse>> findFreeSpots(Long communityId, LocalDateTime start, LocalDateTime end) {
+        return occupancy(communityId).findFreeSpots(start, end);
+    }
+
+    /**
+     * Drops the community, e.g. after a spot was added, so that its next search rebuilds it.
+     */
+    public void invalidate(Long communityId) {
+        communities.remove(communityId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        if (event.isCreated()) {
+            update(event.communityId(), occupancy ->
+                    occupancy.occupy(event.spotId(), event.startTime(), event.endTime()));
+        } else if (event.isFreed()) {
+            update(event.communityId(), occupancy ->
+                    occupancy.recompute(event.spotId(), event.startTime(), event.endTime()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotBookingsChanged(SpotBookingsChangedEvent event) {
+        update(event.communityId(), occupancy -> occupancy.recomputeSpot(event.spotId()));
+    }
+
+    private void update(Long communityId, Consumer<Occupancy> change) {
+        CommunityEntry entry = communities.get(communityId);
+        if (entry != null) {
+            entry.update(change);
+        }
+    }
+
+    private Occupancy occupancy(Long communityId) {
+        LocalDateTime now = LocalDateTime.now();
+        CommunityEntry entry = communities.get(communityId);
+        if (entry == null || entry.isStale(now)) {
+            // only the empty entry is created inside compute, it is built outside of it
+            entry = communities.compute(communityId, (id, current) ->
+                    current == null || current.isStale(now)
+                            ? new CommunityEntry(id, now.truncatedTo(ChronoUnit.HOURS))
+                            : current);
+        }
+        return entry.occupancy();
+    }
+
+    private Occupancy build(Long communityId, LocalDateTime horizonStart) {
+        Occupancy occupancy = new Occupancy(
+                horizonStart,
+                parkingSpotRepository.findAllByCommunityIdOrderByCode(communityId)
+        );
+        bookingRepository
+                .findOpenIntervalsByCommunity(communityId, horizonStart, occupancy.horizonEnd)
+                .forEach(interval -> occupancy.occupy(interval.spotId(), interval.startTime(), interval.endTime()));
+
+        return occupancy;
+    }
+
+    /**
+     * A community's occupancy, built on first use. It is in the map before it is built, so a
+     * booking event arriving during the build waits for it and is then applied; events from
+     * before the entry existed were committed before the build read the database.
+     */
+    private final class CommunityEntry {
+        private final Long communityId;
+        private final LocalDateTime horizonStart;
+        private Occupancy occupancy;
+
+        private CommunityEntry(Long communityId, LocalDateTime horizonStart) {
+            this.communityId = communityId;
+            this.horizonStart = horizonStart;
+        }
+
+        private boolean isStale(LocalDateTime now) {
+            return now.isAfter(horizonStart.plus(rebuildAfter));
+        }
+
+        private synchronized Occupancy occupancy() {
+            if (occupancy == null) {
+                occupancy = build(communityId, horizonStart);
+            }
+            return occupancy;
+        }
+
+        private synchronized void update(Consumer<Occupancy> change) {
+            change.accept(occupancy());
+        }
+    }
+
+    private final class Occupancy {
+        private final LocalDateTime horizonStart;
+        private final LocalDateTime horizonEnd;
+        private final long slotMillis = slot.toMillis();
+        private final List<ParkingSpotResponse> spots;
+        private final Map<Long, Integer> bitBySpot = new HashMap<>();
+        private final BitSet[] slots;
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private Occupancy(LocalDateTime horizonStart, List<ParkingSpotResponse> spots) {
+            this.horizonStart = horizonStart;
+            this.horizonEnd = horizonStart.plus(horizon);
+            this.spots = spots;
+            for (int i = 0; i < spots.size(); i++) {
+                bitBySpot.put(spots.get(i).getId(), i);
+            }
+            this.slots = new BitSet[(int) (horizon.toMillis() / slotMillis)];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new BitSet(spots.size());
+            }
+        }
+
+        private Optional<List<ParkingSpotResponse>> findFreeSpots(LocalDateTime start, LocalDateTime end) {
+            if (start.isBefore(horizonStart) || end.isAfter(horizonEnd)) {
+                return Optional.empty();
+            }
+
+            BitSet busy = new BitSet(spots.size());
+            BitSet boundary = new BitSet(spots.size());
+
+            lock.readLock().lock();
+            try {
+                for (int i = slotFloor(start); i < Math.min(slotCeil(end), slots.length); i++) {
+                    LocalDateTime slotStart = slotStart(i);
+                    boolean fullyCovered = !slotStart.isBefore(start) && !slotStart.plus(slot).isAfter(end);
+                    (fullyCovered ? busy : boundary).or(slots[i]);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            boundary.andNot(busy);
+            for (int bit = boundary.nextSetBit(0); bit >= 0; bit = boundary.nextSetBit(bit + 1)) {
+                if (bookingIntervalIndex.findOverlap(spots.get(bit).getId(), start, end).isPresent()) {
+                    busy.set(bit);
+                }
+            }
+
+            List<ParkingSpotResponse> free = new ArrayList<>(spots.size() - busy.cardinality());
+            for (int bit = busy.nextClearBit(0); bit < spots.size(); bit = busy.nextClearBit(bit + 1)) {
+                ParkingSpotResponse spot = spots.get(bit);
+                free.add(new ParkingSpotResponse(spot.getId(), spot.getCode(), spot.getCommunity()));
+            }
+            return Optional.of(free);
+        }
+
+        private void occupy(Long spotId, LocalDateTime start, LocalDateTime end) {
+            Integer bit = bitBySpot.get(spotId);
+            if (bit == null) {
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (int i = Math.max(slotFloor(start), 0); i < Math.min(slotCeil(end), slots.length); i++) {
+                    slots[i].set(bit);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Re-evaluates the spot's bit in every slot touched by the window, after a booking
+         * of the spot was freed; other bookings may still share the boundary slots.
+         */
+        private void recompute(Long spotId, LocalDateTime start, LocalDateTime end) {
+            Integer bit = bitBySpot.get(spotId);
+            if (bit == null) {
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (int i = Math.max(slotFloor(start), 0); i < Math.min(slotCeil(end), slots.length); i++) {
+                    LocalDateTime slotStart = slotStart(i);
+                    boolean busy = bookingIntervalIndex.findOverlap(spotId, slotStart, slotStart.plus(slot)).isPresent();
+                    slots[i].set(bit, busy);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void recomputeSpot(Long spotId) {
+            Integer bit = bitBySpot.get(spotId);
+            if (bit == null) {
+                return;
+            }
+
+            lock.writeLock().lock();
+            try {
+                for (BitSet slotBits : slots) {
+                    slotBits.clear(bit);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            bookingIntervalIndex.getIntervals(spotId)
+                    .forEach(interval -> occupy(spotId, interval.startTime(), interval.endTime()));
+        }
+
+        private LocalDateTime slotStart(int slotIndex) {
+            return horizonStart.plus(Duration.ofMillis(slotIndex * slotMillis));
+        }
+
+        private int slotFloor(LocalDateTime time) {
+            long millis = Duration.between(horizonStart, time).toMillis();
+            return (int) Math.floorDiv(millis, slotMillis);
+        }
+
+        private int slotCeil(LocalDateTime time) {
+            long millis = Duration.between(horizonStart, time).toMillis();
+            return (int) -Math.floorDiv(-millis, slotMillis);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.arman.parkingservice.index;
+
+import java.time.LocalDateTime;
+
+/**
+ * Gap between the open bookings of a parking spot.
+ *
+ * @param startTime the start of the gap; for an enclosing gap the end of the preceding open
+ *                  booking, {@code null} if none precedes
+ * @param freeUntil the start of the next open booking, {@code null} if none follows
+ */
+public record FreeWindow(Long spotId, LocalDateTime startTime, LocalDateTime freeUntil) {
+}
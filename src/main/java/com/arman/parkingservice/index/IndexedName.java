@@ -0,0 +1,8 @@
+package com.arman.parkingservice.index;
+
+/**
+ * A searchable name of a row: a community's name, a resident's first or last name or a
+ * parking spot's code, with the community the row belongs to.
+ */
+public record IndexedName(Long id, Long communityId, String value) {
+}
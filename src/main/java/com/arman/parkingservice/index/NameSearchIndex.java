@@ -0,0 +1,184 @@
+package com.arman.parkingservice.index;
+
+import com.arman.parkingservice.persistence.repository.CommunityRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.persistence.repository.ResidentRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory substring search over community names, resident first and last names and
+ * parking spot codes, one {@link TrigramIndex} per field and community.
+ * <p>
+ * The name filters of the list endpoints are {@code LIKE '%...%'} predicates that no B-tree
+ * index can serve. The services look the matching ids up here first and the repositories
+ * fetch only those rows. A filter matching more than {@code max-ids} rows is left to the
+ * database: it is not selective, and the id list would cost more than the scan.
+ * </p>
+ * <p>
+ * Names never change and rows are never deleted, so the index only ever grows. It is loaded
+ * at startup, extended by this instance's creates and imports, and refreshed every
+ * {@code refresh-interval} with the rows above the highest id it has read, which picks up
+ * rows written by other instances, migrations or plain SQL. A row committed out of id order
+ * is missed by that delta, so a field holding fewer rows than its table is reloaded in full.
+ * Rows written elsewhere therefore show up in the filters within one refresh interval.
+ * </p>
+ */
+@Component
+public class NameSearchIndex {
+    private static final Long ALL_COMMUNITIES = 0L;
+    private static final TrigramIndex EMPTY = new TrigramIndex();
+
+    private final int maxIds;
+    private final Field communityNames;
+    private final Field firstNames;
+    private final Field lastNames;
+    private final Field spotCodes;
+
+    public NameSearchIndex(CommunityRepository communityRepository,
+                           ResidentRepository residentRepository,
+                           ParkingSpotRepository parkingSpotRepository,
+                           @Value("${parking.search.max-ids:1000}") int maxIds) {
+        this.maxIds = maxIds;
+        this.communityNames = new Field(communityRepository::findIndexedNamesAfter, communityRepository::count, false);
+        this.firstNames = new Field(residentRepository::findIndexedFirstNamesAfter, residentRepository::count, true);
+        this.lastNames = new Field(residentRepository::findIndexedLastNamesAfter, residentRepository::count, true);
+        this.spotCodes = new Field(parkingSpotRepository::findIndexedCodesAfter, parkingSpotRepository::count, true);
+    }
+
+    /**
+     * Loads every name before the application starts serving requests.
+     */
+    @PostConstruct
+    public void load() {
+        refresh();
+    }
+
+    /**
+     * Reads the rows added since the last refresh, reloading a field that still misses rows.
+     */
+    @Scheduled(fixedDelayString = "${parking.search.refresh-interval:PT30S}",
+            initialDelayString = "${parking.search.refresh-interval:PT30S}")
+    public void refresh() {
+        communityNames.refresh();
+        firstNames.refresh();
+        lastNames.refresh();
+        spotCodes.refresh();
+    }
+
+    public void addCommunity(Long id, String name) {
+        communityNames.add(ALL_COMMUNITIES, id, name);
+    }
+
+    public void addResident(Long communityId, Long id, String firstName, String lastName) {
+        firstNames.add(communityId, id, firstName);
+        lastNames.add(communityId, id, lastName);
+    }
+
+    public void addParkingSpot(Long communityId, Long id, String code) {
+        spotCodes.add(communityId, id, code);
+    }
+
+    /**
+     * Finds the communities whose name contains the given text, ignoring case.
+     *
+     * @return the ids in ascending order, or empty if there is no filter or it is left to the database
+     */
+    public Optional<List<Long>> findCommunities(String name) {
+        return name == null ? Optional.empty() : communityNames.of(ALL_COMMUNITIES).find(name, maxIds);
+    }
+
+    /**
+     * Finds the residents of the community whose first and last names contain the given texts,
+     * ignoring case; a {@code null} text matches every name. When only one of the names is
+     * selective, its matches are checked against the other.
+     *
+     * @return the ids in ascending order, or empty if there is no filter or it is left to the database
+     */
+    public Optional<List<Long>> findResidents(Long communityId, String firstName, String lastName) {
+        TrigramIndex first = firstNames.of(communityId);
+        TrigramIndex last = lastNames.of(communityId);
+
+        Optional<List<Long>> byFirstName = firstName == null ? Optional.empty() : first.find(firstName, maxIds);
+        if (byFirstName.isPresent()) {
+            return lastName == null ? byFirstName : Optional.of(last.retainContaining(byFirstName.get(), lastName));
+        }
+
+        Optional<List<Long>> byLastName = lastName == null ? Optional.empty() : last.find(lastName, maxIds);
+        if (byLastName.isPresent()) {
+            return firstName == null ? byLastName : Optional.of(first.retainContaining(byLastName.get(), firstName));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the parking spots of the community whose code contains the given text, ignoring case.
+     *
+     * @return the ids in ascending order, or empty if there is no filter or it is left to the database
+     */
+    public Optional<List<Long>> findParkingSpots(Long communityId, String code) {
+        return code == null
+                ? Optional.empty()
+                : spotCodes.of(communityId).find(code, maxIds);
+    }
+
+    /**
+     * One field of every community, read from its table by id.
+     */
+    private static final class Field {
+        private final LongFunction<List<IndexedName>> loadAfter;
+        private final LongSupplier count;
+        private final boolean perCommunity;
+
+        private volatile ConcurrentMap<Long, TrigramIndex> communities = new ConcurrentHashMap<>();
+        private long lastId;
+
+        private Field(LongFunction<List<IndexedName>> loadAfter, LongSupplier count, boolean perCommunity) {
+            this.loadAfter = loadAfter;
+            this.count = count;
+            this.perCommunity = perCommunity;
+        }
+
+        private TrigramIndex of(Long communityId) {
+            return communities.getOrDefault(communityId, EMPTY);
+        }
+
+        private void add(Long communityId, Long id, String value) {
+            communities.computeIfAbsent(communityId, c -> new TrigramIndex()).add(id, value);
+        }
+
+        private synchronized void refresh() {
+            // counted first, so every counted row was committed before the delta is read
+            long rows = count.getAsLong();
+            lastId = load(communities, loadAfter.apply(lastId), lastId);
+
+            if (size() < rows) {
+                ConcurrentMap<Long, TrigramIndex> reloaded = new ConcurrentHashMap<>();
+                lastId = load(reloaded, loadAfter.apply(0), 0);
+                communities = reloaded;
+            }
+        }
+
+        private long size() {
+            return communities.values().stream().mapToLong(TrigramIndex::size).sum();
+        }
+
+        private long load(ConcurrentMap<Long, TrigramIndex> communities, List<IndexedName> names, long lastId) {
+            for (IndexedName name : names) {
+                Long communityId = perCommunity ? name.communityId() : ALL_COMMUNITIES;
+                communities.computeIfAbsent(communityId, c -> new TrigramIndex()).add(name.id(), name.value());
+                lastId = Math.max(lastId, name.id());
+            }
+            return lastId;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.arman.parkingservice.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Case-insensitive substring index over the values of one field.
+ * <p>
+ * Every lowercased value is split into its overlapping three-character grams, and each gram
+ * keeps the ascending ids of the values containing it. A value contains a query of three or
+ * more characters only if it contains all of the query's grams, so the candidates are the
+ * intersection of their id lists, walked from the shortest one; candidates are then checked
+ * against the value itself. Shorter queries have no gram to look up and scan the values.
+ * </p>
+ */
+final class TrigramIndex {
+    private static final int GRAM = 3;
+
+    private final Map<Long, String> values = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    void add(Long id, String value) {
+        String normalized = normalize(value);
+
+        lock.writeLock().lock();
+        try {
+            if (values.putIfAbsent(id, normalized) != null) {
+                return;
+            }
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return values.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the values containing the query.
+     *
+     * @return the ids in ascending order, or empty if more than {@code limit} match
+     */
+    Optional<List<Long>> find(String query, int limit) {
+        String normalized = normalize(query);
+        List<Long> ids = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            if (normalized.length() < GRAM) {
+                for (Map.Entry<Long, String> entry : values.entrySet()) {
+                    if (entry.getValue().contains(normalized)) {
+                        ids.add(entry.getKey());
+                        if (ids.size() > limit) {
+                            return Optional.empty();
+                        }
+                    }
+                }
+                ids.sort(Comparator.naturalOrder());
+                return Optional.of(ids);
+            }
+
+            List<Postings> lists = new ArrayList<>();
+            for (String gram : grams(normalized)) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    return Optional.of(ids);
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            Postings shortest = lists.get(0);
+            for (int i = 0; i < shortest.size; i++) {
+                long id = shortest.ids[i];
+                if (containsAll(lists, id) && values.get(id).contains(normalized)) {
+                    ids.add(id);
+                    if (ids.size() > limit) {
+                        return Optional.empty();
+                    }
+                }
+            }
+            return Optional.of(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps the ids whose value contains the query, in their order.
+     */
+    List<Long> retainContaining(List<Long> ids, String query) {
+        String normalized = normalize(query);
+
+        lock.readLock().lock();
+        try {
+            return ids.stream()
+                    .filter(id -> {
+                        String value = values.get(id);
+                        return value != null && value.contains(normalized);
+                    })
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean containsAll(List<Postings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Ascending ids; new rows mostly have the highest id so far and are appended.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.arman.parkingservice.lock;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed pool of locks that serializes booking writers per parking spot.
+ * <p>
+ * Each spot ID is hashed onto one of the stripes, so writers on the same spot always
+ * contend for the same lock while writers on different spots almost never do. Memory use
+ * is constant no matter how many spots exist.
+ * </p>
+ */
+@Component
+public class SpotLockStripes {
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public SpotLockStripes() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the stripe of the given spot.
+     */
+    public <T> T withLock(Long spotId, Supplier<T> action) {
+        ReentrantLock lock = locks[stripeOf(spotId)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action if the stripe of the given spot is free, without waiting for it.
+     *
+     * @param ifLocked supplies the result when the stripe is held by another writer
+     */
+    public <T> T tryWithLock(Long spotId, Supplier<T> action, Supplier<T> ifLocked) {
+        ReentrantLock lock = locks[stripeOf(spotId)];
+        if (!lock.tryLock()) {
+            return ifLocked.get();
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the action while holding the stripes of all given spots. Stripes are acquired
+     * in index order, so concurrent multi-spot writers cannot deadlock.
+     */
+    public <T> T withLocks(Collection<Long> spotIds, Supplier<T> action) {
+        int[] stripes = spotIds.stream()
+                .mapToInt(SpotLockStripes::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private static int stripeOf(Long spotId) {
+        int hash = spotId.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -1,5 +1,8 @@
 package com.arman.parkingservice.mapper;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
+import com.arman.parkingservice.cache.ResidentSnapshot;
 import com.arman.parkingservice.dto.booking.BookingRequestDto;
 import com.arman.parkingservice.dto.booking.BookingResponse;
 import com.arman.parkingservice.enums.BookingStatus;
@@ -42,4 +45,26 @@ public class BookingMapper {
 
         return bookingResponse;
     }
+
+    /**
+     * Maps a booking whose resident and spot are references only, taking their details from
+     * the given snapshots instead of loading them
+     */
+    public BookingResponse mapToResponse(Booking savedBooking,
+                                         ResidentSnapshot resident,
+                                         ParkingSpotSnapshot spot,
+                                         CommunitySnapshot community) {
+        BookingResponse bookingResponse = new BookingResponse();
+
+        bookingResponse.setBookingId(savedBooking.getId());
+        bookingResponse.setResident(residentMapper.mapToResponse(resident, community));
+        bookingResponse.setParkingSpot(parkingSpotMapper.mapToResponse(spot, community));
+        bookingResponse.setStartTime(savedBooking.getStartTime());
+        bookingResponse.setEndTime(savedBooking.getEndTime());
+        bookingResponse.setActualStartTime(savedBooking.getActualStartTime());
+        bookingResponse.setActualEndTime(savedBooking.getActualEndTime());
+        bookingResponse.setBookingStatus(savedBooking.getBookingStatus());
+
+        return bookingResponse;
+    }
 }
@@ -0,0 +1,69 @@
+package com.arman.parkingservice.mapper;
+
+import com.arman.parkingservice.dto.bookingseries.BookingSeriesCreateDto;
+import com.arman.parkingservice.dto.bookingseries.BookingSeriesResponse;
+import com.arman.parkingservice.enums.BookingSeriesStatus;
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.persistence.entity.Booking;
+import com.arman.parkingservice.persistence.entity.BookingSeries;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.entity.Resident;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class BookingSeriesMapper {
+
+    private final ResidentMapper residentMapper;
+    private final ParkingSpotMapper parkingSpotMapper;
+
+    public BookingSeries mapCreateToSeries(BookingSeriesCreateDto bookingSeriesCreateDto, Resident resident, ParkingSpot spot) {
+        BookingSeries series = new BookingSeries();
+
+        series.setResident(resident);
+        series.setParkingSpot(spot);
+        series.setRecurrence(bookingSeriesCreateDto.getRecurrence());
+        series.setStartDate(bookingSeriesCreateDto.getStartDate());
+        series.setEndDate(bookingSeriesCreateDto.getEndDate());
+        series.setStartTime(bookingSeriesCreateDto.getStartTime());
+        series.setEndTime(bookingSeriesCreateDto.getEndTime());
+        series.setSeriesStatus(BookingSeriesStatus.ACTIVE);
+
+        return series;
+    }
+
+    public Booking mapOccurrenceToBooking(BookingSeries series, LocalDateTime startTime, LocalDateTime endTime) {
+        Booking booking = new Booking();
+
+        booking.setResident(series.getResident());
+        booking.setParkingSpot(series.getParkingSpot());
+        booking.setSeries(series);
+        booking.setStartTime(startTime);
+        booking.setEndTime(endTime);
+        booking.setBookingStatus(BookingStatus.RESERVED);
+
+        return booking;
+    }
+
+    public BookingSeriesResponse mapToResponse(BookingSeries series, int occurrences, List<LocalDateTime> skippedStartTimes) {
+        BookingSeriesResponse bookingSeriesResponse = new BookingSeriesResponse();
+
+        bookingSeriesResponse.setId(series.getId());
+        bookingSeriesResponse.setResident(residentMapper.mapToResponse(series.getResident()));
+        bookingSeriesResponse.setParkingSpot(parkingSpotMapper.mapToResponse(series.getParkingSpot()));
+        bookingSeriesResponse.setRecurrence(series.getRecurrence());
+        bookingSeriesResponse.setStartDate(series.getStartDate());
+        bookingSeriesResponse.setEndDate(series.getEndDate());
+        bookingSeriesResponse.setStartTime(series.getStartTime());
+        bookingSeriesResponse.setEndTime(series.getEndTime());
+        bookingSeriesResponse.setSeriesStatus(series.getSeriesStatus());
+        bookingSeriesResponse.setOccurrences(occurrences);
+        bookingSeriesResponse.setSkippedStartTimes(skippedStartTimes);
+
+        return bookingSeriesResponse;
+    }
+}
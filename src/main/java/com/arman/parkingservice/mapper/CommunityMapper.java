@@ -1,5 +1,6 @@
 package com.arman.parkingservice.mapper;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
 import com.arman.parkingservice.dto.community.CommunityCreateDto;
 import com.arman.parkingservice.dto.community.CommunityResponse;
 import com.arman.parkingservice.persistence.entity.Community;
@@ -15,6 +16,10 @@ public class CommunityMapper {
         return communityResponse;
     }
 
+    public CommunityResponse mapToResponse(CommunitySnapshot community) {
+        return new CommunityResponse(community.id(), community.name());
+    }
+
     public Community mapCreateToCommunity(CommunityCreateDto communityCreateDto) {
         Community community = new Community();
         community.setName(communityCreateDto.getName());
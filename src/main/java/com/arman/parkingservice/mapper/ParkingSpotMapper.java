@@ -1,5 +1,7 @@
 package com.arman.parkingservice.mapper;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotCreateDto;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
 import com.arman.parkingservice.persistence.entity.Community;
@@ -30,4 +32,13 @@ public class ParkingSpotMapper {
 
         return parkingSpotResponse;
     }
+
+    public ParkingSpotResponse mapToResponse(ParkingSpotSnapshot parkingSpot, CommunitySnapshot community) {
+        ParkingSpotResponse parkingSpotResponse = new ParkingSpotResponse();
+        parkingSpotResponse.setId(parkingSpot.id());
+        parkingSpotResponse.setCode(parkingSpot.code());
+        parkingSpotResponse.setCommunity(communityMapper.mapToResponse(community));
+
+        return parkingSpotResponse;
+    }
 }
@@ -1,5 +1,7 @@
 package com.arman.parkingservice.mapper;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ResidentSnapshot;
 import com.arman.parkingservice.dto.resident.ResidentCreateDto;
 import com.arman.parkingservice.dto.resident.ResidentResponse;
 import com.arman.parkingservice.persistence.entity.Community;
@@ -30,4 +32,14 @@ public class ResidentMapper {
 
         return residentResponse;
     }
+
+    public ResidentResponse mapToResponse(ResidentSnapshot resident, CommunitySnapshot community) {
+        ResidentResponse residentResponse = new ResidentResponse();
+        residentResponse.setId(resident.id());
+        residentResponse.setFirstName(resident.firstName());
+        residentResponse.setLastName(resident.lastName());
+        residentResponse.setCommunity(communityMapper.mapToResponse(community));
+
+        return residentResponse;
+    }
 }
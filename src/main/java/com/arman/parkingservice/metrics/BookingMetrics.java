@@ -0,0 +1,93 @@
+package com.arman.parkingservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Times the booking hot paths as {@code parking.operation}, tagged with the operation, the
+ * community and the outcome ({@code success} or {@code error}), with percentile histograms.
+ * <p>
+ * The community tag is bounded: the first {@code max-communities} communities seen keep
+ * their own tag value, any later one is reported as {@code other}, and operations that fail
+ * before their community is known as {@code none}.
+ * </p>
+ */
+@Component
+public class BookingMetrics {
+    public static final String OTHER_COMMUNITY = "other";
+    public static final String NO_COMMUNITY = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final int maxCommunities;
+    private final Set<Long> taggedCommunities = ConcurrentHashMap.newKeySet();
+
+    public BookingMetrics(MeterRegistry meterRegistry,
+                          @Value("${parking.metrics.max-communities:200}") int maxCommunities) {
+        this.meterRegistry = meterRegistry;
+        this.maxCommunities = maxCommunities;
+    }
+
+    /**
+     * Times an operation of a community known up front.
+     */
+    public <T> T record(String operation, Long communityId, Supplier<T> action) {
+        return record(operation, action, result -> communityId, communityId);
+    }
+
+    public void record(String operation, Long communityId, Runnable action) {
+        record(operation, communityId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times an operation whose community is only known from its result.
+     */
+    public <T> T record(String operation, Supplier<T> action, Function<T, Long> communityOf) {
+        return record(operation, action, communityOf, null);
+    }
+
+    private <T> T record(String operation, Supplier<T> action, Function<T, Long> communityOf, Long knownCommunityId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = action.get();
+            sample.stop(timer(operation, communityOf.apply(result), "success"));
+            return result;
+        } catch (RuntimeException ex) {
+            sample.stop(timer(operation, knownCommunityId, "error"));
+            throw ex;
+        }
+    }
+
+    private Timer timer(String operation, Long communityId, String outcome) {
+        return Timer.builder("parking.operation")
+                .description("Time spent in booking hot paths")
+                .tag("operation", operation)
+                .tag("community", communityTag(communityId))
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * The tag value of a community, bounded to {@code max-communities} distinct values
+     * plus {@code other} and {@code none}.
+     */
+    public String communityTag(Long communityId) {
+        if (communityId == null) {
+            return NO_COMMUNITY;
+        }
+        if (!taggedCommunities.contains(communityId) && taggedCommunities.size() < maxCommunities) {
+            taggedCommunities.add(communityId);
+        }
+        return taggedCommunities.contains(communityId) ? communityId.toString() : OTHER_COMMUNITY;
+    }
+}
@@ -0,0 +1,9 @@
+package com.arman.parkingservice.metrics;
+
+import com.arman.parkingservice.enums.BookingStatus;
+
+/**
+ * Number of bookings of a community in one of the open statuses.
+ */
+public record OpenBookingCount(Long communityId, BookingStatus status, Long count) {
+}
@@ -0,0 +1,59 @@
+package com.arman.parkingservice.metrics;
+
+import com.arman.parkingservice.persistence.repository.BookingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes {@code booking.open}, the number of RESERVED and ACTIVE bookings per community
+ * and status, from one grouped count of {@code open_booking} refreshed every
+ * {@code open-bookings-refresh}.
+ * <p>
+ * Counts are taken from the database rather than from booking events, so they also follow
+ * bulk changes such as the sweeper's. Communities beyond the tag bound of
+ * {@link BookingMetrics} are summed up under {@code other}.
+ * </p>
+ */
+@Component
+public class OpenBookingGauges {
+    private final BookingRepository bookingRepository;
+    private final BookingMetrics bookingMetrics;
+    private final MultiGauge openBookings;
+
+    public OpenBookingGauges(BookingRepository bookingRepository,
+                             BookingMetrics bookingMetrics,
+                             MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.bookingMetrics = bookingMetrics;
+        this.openBookings = MultiGauge.builder("booking.open")
+                .description("RESERVED and ACTIVE bookings")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${parking.metrics.open-bookings-refresh:PT30S}",
+            fixedDelayString = "${parking.metrics.open-bookings-refresh:PT30S}"
+    )
+    public void refresh() {
+        Map<Tags, Long> counts = new HashMap<>();
+        for (OpenBookingCount count : bookingRepository.countOpenByCommunity()) {
+            Tags tags = Tags.of(
+                    "community", bookingMetrics.communityTag(count.communityId()),
+                    "status", count.status().name()
+            );
+            counts.merge(tags, count.count(), Long::sum);
+        }
+
+        List<MultiGauge.Row<?>> rows = counts.entrySet().stream()
+                .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(entry.getKey(), entry.getValue()))
+                .toList();
+        openBookings.register(rows, true);
+    }
+}
@@ -0,0 +1,29 @@
+package com.arman.parkingservice.persistence;
+
+import org.springframework.dao.DataAccessException;
+
+import java.sql.SQLException;
+
+/**
+ * Recognizes violations of the database constraints guarding the booking table.
+ */
+public final class BookingConstraints {
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
+    private BookingConstraints() {
+    }
+
+    /**
+     * Whether the exception was caused by {@code booking_no_overlap}, i.e. two open
+     * bookings of the same spot overlapping in time.
+     */
+    public static boolean isOverlapViolation(DataAccessException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
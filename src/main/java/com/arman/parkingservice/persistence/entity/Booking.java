@@ -16,11 +16,11 @@ public class Booking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "resident_id", nullable = false)
     private Resident resident;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "spot_id", nullable = false)
     private ParkingSpot parkingSpot;
 
@@ -39,4 +39,14 @@ public class Booking {
 
     @Column(name = "actual_end_date")
     private LocalDateTime actualEndTime;
+
+    /**
+     * Whether the booking was cancelled because it expired while still RESERVED
+     */
+    @Column(name = "no_show", nullable = false)
+    private boolean noShow;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_id")
+    private BookingSeries series;
 }
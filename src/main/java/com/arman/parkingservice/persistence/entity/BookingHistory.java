@@ -0,0 +1,45 @@
+package com.arman.parkingservice.persistence.entity;
+
+import com.arman.parkingservice.enums.BookingStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking read through the {@code booking_history} view, which also covers the archived
+ * partitions. Read-only.
+ */
+@Entity
+@Getter
+@Immutable
+@Table(name = "booking_history")
+public class BookingHistory {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "resident_id", nullable = false)
+    private Resident resident;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "spot_id", nullable = false)
+    private ParkingSpot parkingSpot;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_status", nullable = false)
+    private BookingStatus bookingStatus;
+
+    @Column(name = "actual_start_date")
+    private LocalDateTime actualStartTime;
+
+    @Column(name = "actual_end_date")
+    private LocalDateTime actualEndTime;
+}
@@ -0,0 +1,40 @@
+package com.arman.parkingservice.persistence.entity;
+
+import com.arman.parkingservice.enums.BookingStatus;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A RESERVED or ACTIVE booking, as kept in {@code open_booking} by a trigger on the booking
+ * table. Read-only; the hot-path queries of open bookings read it instead of the partitions.
+ */
+@Entity
+@Getter
+@Immutable
+@Table(name = "open_booking")
+public class OpenBooking {
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "spot_id", nullable = false)
+    private Long spotId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "booking_status", nullable = false)
+    private BookingStatus bookingStatus;
+}
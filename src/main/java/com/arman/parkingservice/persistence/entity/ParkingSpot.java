@@ -18,7 +18,7 @@ public class ParkingSpot {
     @Column(name = "code", nullable = false)
     private String code;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "community_id", nullable = false)
     private Community community;
 }
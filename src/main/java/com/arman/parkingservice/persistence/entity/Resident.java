@@ -24,7 +24,7 @@ public class Resident {
     @Column(name = "email", nullable = false)
     private String email;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "community_id", nullable = false)
     private Community community;
 }
\ No newline at end of file
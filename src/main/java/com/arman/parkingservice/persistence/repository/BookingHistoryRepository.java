@@ -0,0 +1,55 @@
+package com.arman.parkingservice.persistence.repository;
+
+import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.persistence.entity.BookingHistory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.arman.parkingservice.persistence.repository.BookingRepository.AFTER_ID;
+import static com.arman.parkingservice.persistence.repository.BookingRepository.ALL_BY_RESIDENT;
+import static com.arman.parkingservice.persistence.repository.BookingRepository.BOOKING_RESPONSE_COLUMNS;
+import static com.arman.parkingservice.persistence.repository.BookingRepository.BOOKING_RESPONSE_JOINS;
+import static com.arman.parkingservice.persistence.repository.BookingRepository.PAST_BY_RESIDENT;
+
+/**
+ * Reads bookings of the live and the archived partitions, for the lists that reach back
+ * beyond the live ones: PAST and ALL.
+ */
+@Repository
+public interface BookingHistoryRepository extends JpaRepository<BookingHistory, Long> {
+
+    String SELECT_HISTORY_RESPONSE = BOOKING_RESPONSE_COLUMNS + """
+        FROM BookingHistory b
+""" + BOOKING_RESPONSE_JOINS;
+
+    @Query(SELECT_HISTORY_RESPONSE + """
+        WHERE b.id = :id
+""")
+    Optional<BookingResponse> findResponseById(Long id);
+
+    @Query(SELECT_HISTORY_RESPONSE + PAST_BY_RESIDENT)
+    Page<BookingResponse> findPastByResident(Long residentId, LocalDateTime now, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(SELECT_HISTORY_RESPONSE + PAST_BY_RESIDENT)
+    Slice<BookingResponse> findPastSliceByResident(Long residentId, LocalDateTime now, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(SELECT_HISTORY_RESPONSE + PAST_BY_RESIDENT + AFTER_ID)
+    Slice<BookingResponse> findPastByResidentAfter(Long residentId, LocalDateTime now, BookingStatus bookingStatus, Long afterId, Pageable pageable);
+
+    @Query(SELECT_HISTORY_RESPONSE + ALL_BY_RESIDENT)
+    Page<BookingResponse> findAllByResident(Long residentId, Pageable pageable);
+
+    @Query(SELECT_HISTORY_RESPONSE + ALL_BY_RESIDENT)
+    Slice<BookingResponse> findAllSliceByResident(Long residentId, Pageable pageable);
+
+    @Query(SELECT_HISTORY_RESPONSE + ALL_BY_RESIDENT + AFTER_ID)
+    Slice<BookingResponse> findAllByResidentAfter(Long residentId, Long afterId, Pageable pageable);
+}
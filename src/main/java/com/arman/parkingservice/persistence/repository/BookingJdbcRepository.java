@@ -0,0 +1,250 @@
+package com.arman.parkingservice.persistence.repository;
+
+import com.arman.parkingservice.dto.booking.BookingExportRow;
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.persistence.entity.Booking;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.entity.Resident;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the booking table for bulk writes that Hibernate cannot batch
+ * because of the IDENTITY id generation, for status transitions that check and change
+ * a booking in a single statement, and for streaming exports.
+ * <p>
+ * Bookings returned by the transitions are detached copies of the updated row; their
+ * resident and parking spot carry the id only. Exports read {@code booking_history}, which
+ * includes the archived partitions.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+    private static final String INSERT_BOOKING = """
+            INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status, series_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String RETURNING_BOOKING = """
+            RETURNING id, resident_id, spot_id, start_date, end_date, booking_status,
+                      actual_start_date, actual_end_date, no_show
+            """;
+
+    private static final String PARK_BOOKING = """
+            UPDATE booking
+            SET booking_status = ?, actual_start_date = ?
+            WHERE id = ? AND booking_status = ? AND ? BETWEEN start_date AND end_date
+            """ + RETURNING_BOOKING;
+
+    private static final String RELEASE_BOOKING = """
+            UPDATE booking
+            SET booking_status = ?, actual_end_date = ?
+            WHERE id = ? AND booking_status = ? AND ? BETWEEN start_date AND end_date
+            """ + RETURNING_BOOKING;
+
+    private static final String CANCEL_BOOKING = """
+            UPDATE booking
+            SET booking_status = ?
+            WHERE id = ? AND booking_status = ?
+            """ + RETURNING_BOOKING;
+
+    private static final String EXPIRE_BOOKING = """
+            UPDATE booking
+            SET booking_status = ?, no_show = (booking_status = 'RESERVED')
+            WHERE id = ? AND booking_status = ? AND end_date < ?
+            """ + RETURNING_BOOKING;
+
+    private static final String EXPIRE_CHUNK = """
+            UPDATE booking
+            SET booking_status = ?, no_show = (booking_status = 'RESERVED')
+            WHERE (id, start_date) IN (
+                SELECT id, start_date
+                FROM booking
+                WHERE booking_status = ?
+                    AND end_date < ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            """ + RETURNING_BOOKING;
+
+    private static final String EXPORT_BY_COMMUNITY = """
+            SELECT b.id, b.resident_id, r.first_name, r.last_name, b.spot_id, p.code,
+                   b.start_date, b.end_date, b.booking_status, b.actual_start_date, b.actual_end_date
+            FROM booking_history b
+            JOIN parking_spot p ON p.id = b.spot_id
+            JOIN resident r ON r.id = b.resident_id
+            WHERE p.community_id = ?
+                AND b.start_date < ?
+                AND b.end_date > ?
+            """;
+
+    private static final RowMapper<Booking> BOOKING_ROW = (rs, rowNum) -> {
+        Resident resident = new Resident();
+        resident.setId(rs.getLong("resident_id"));
+        ParkingSpot parkingSpot = new ParkingSpot();
+        parkingSpot.setId(rs.getLong("spot_id"));
+
+        Booking booking = new Booking();
+        booking.setId(rs.getLong("id"));
+        booking.setResident(resident);
+        booking.setParkingSpot(parkingSpot);
+        booking.setStartTime(rs.getObject("start_date", LocalDateTime.class));
+        booking.setEndTime(rs.getObject("end_date", LocalDateTime.class));
+        booking.setBookingStatus(BookingStatus.valueOf(rs.getString("booking_status")));
+        booking.setActualStartTime(rs.getObject("actual_start_date", LocalDateTime.class));
+        booking.setActualEndTime(rs.getObject("actual_end_date", LocalDateTime.class));
+        booking.setNoShow(rs.getBoolean("no_show"));
+
+        return booking;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts all bookings with one JDBC batch and assigns the generated IDs to them.
+     */
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_BOOKING, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        ps.setLong(1, booking.getResident().getId());
+                        ps.setLong(2, booking.getParkingSpot().getId());
+                        ps.setObject(3, booking.getStartTime());
+                        ps.setObject(4, booking.getEndTime());
+                        ps.setString(5, booking.getBookingStatus().name());
+                        ps.setObject(6, booking.getSeries() == null ? null : booking.getSeries().getId(), Types.BIGINT);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size(); i++) {
+            bookings.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+
+    /**
+     * Moves the booking from RESERVED to ACTIVE and records {@code now} as its actual start,
+     * if it is RESERVED and {@code now} is within its window.
+     *
+     * @return the updated booking, or empty if nothing was updated
+     */
+    public Optional<Booking> park(Long id, LocalDateTime now) {
+        return single(jdbcTemplate.query(PARK_BOOKING, BOOKING_ROW,
+                BookingStatus.ACTIVE.name(), now, id, BookingStatus.RESERVED.name(), now));
+    }
+
+    /**
+     * Moves the booking from ACTIVE to COMPLETED and records {@code now} as its actual end,
+     * if it is ACTIVE and {@code now} is within its window.
+     *
+     * @return the updated booking, or empty if nothing was updated
+     */
+    public Optional<Booking> release(Long id, LocalDateTime now) {
+        return single(jdbcTemplate.query(RELEASE_BOOKING, BOOKING_ROW,
+                BookingStatus.COMPLETED.name(), now, id, BookingStatus.ACTIVE.name(), now));
+    }
+
+    /**
+     * Moves the booking from RESERVED to CANCELLED, if it is RESERVED.
+     *
+     * @return the updated booking, or empty if nothing was updated
+     */
+    public Optional<Booking> cancel(Long id) {
+        return single(jdbcTemplate.query(CANCEL_BOOKING, BOOKING_ROW,
+                BookingStatus.CANCELLED.name(), id, BookingStatus.RESERVED.name()));
+    }
+
+    /**
+     * Moves the booking from {@code fromStatus} to {@link BookingStatus#expired()}, if it is
+     * still in {@code fromStatus} and its window ended before {@code now}. An expired
+     * reservation is flagged as a no-show.
+     *
+     * @return the updated booking, or empty if nothing was updated
+     */
+    public Optional<Booking> expire(Long id, BookingStatus fromStatus, LocalDateTime now) {
+        return single(jdbcTemplate.query(EXPIRE_BOOKING, BOOKING_ROW,
+                fromStatus.expired().name(), id, fromStatus.name(), now));
+    }
+
+    /**
+     * Moves at most {@code chunkSize} bookings in status {@code fromStatus} whose window
+     * ended before {@code now} to the expired status, flagging expired reservations as
+     * no-shows. Rows locked by concurrent transitions are skipped and picked up by the next
+     * chunk or sweep.
+     *
+     * @return the updated bookings
+     */
+    public List<Booking> expireChunk(BookingStatus fromStatus, LocalDateTime now, int chunkSize) {
+        return jdbcTemplate.query(EXPIRE_CHUNK, BOOKING_ROW,
+                fromStatus.expired().name(), fromStatus.name(), now, chunkSize);
+    }
+
+    /**
+     * Passes every booking of the community overlapping [from, to) to {@code consumer}, in no
+     * particular order, reading them through a forward-only cursor of {@code fetchSize} rows.
+     * <p>
+     * Must run inside a transaction: PostgreSQL only honours the fetch size with auto-commit
+     * off, and would otherwise read the whole result into memory.
+     * </p>
+     */
+    public void streamByCommunity(Long communityId, LocalDateTime from, LocalDateTime to, int fetchSize,
+                                  Consumer<BookingExportRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    EXPORT_BY_COMMUNITY, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setLong(1, communityId);
+            ps.setObject(2, to);
+            ps.setObject(3, from);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumer.accept(new BookingExportRow(
+                rs.getLong("id"),
+                rs.getLong("resident_id"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getLong("spot_id"),
+                rs.getString("code"),
+                rs.getObject("start_date", LocalDateTime.class),
+                rs.getObject("end_date", LocalDateTime.class),
+                BookingStatus.valueOf(rs.getString("booking_status")),
+                rs.getObject("actual_start_date", LocalDateTime.class),
+                rs.getObject("actual_end_date", LocalDateTime.class)
+        )));
+    }
+
+    private static Optional<Booking> single(List<Booking> bookings) {
+        return bookings.stream().findFirst();
+    }
+}
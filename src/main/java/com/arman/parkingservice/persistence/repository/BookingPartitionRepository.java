@@ -0,0 +1,71 @@
+package com.arman.parkingservice.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Manages the monthly partitions of the booking table through the functions of
+ * {@code V4__partition_booking.sql}.
+ * <p>
+ * Attaching and detaching partitions needs short but strong locks on the booking table, so
+ * both operations give up after {@code lockTimeout} instead of queueing the booking writers
+ * behind them. They must run inside a transaction.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingPartitionRepository {
+    private static final String FIND_LIVE_MONTHS = """
+            SELECT to_date(substr(c.relname, 9), 'YYYY_MM')
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'booking'::regclass
+                AND c.relname ~ '^booking_[0-9]{4}_[0-9]{2}$'
+            ORDER BY 1
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partition of the month, moving its bookings out of the default partition.
+     *
+     * @return whether the partition was created, {@code false} if it existed already
+     */
+    public boolean createPartition(YearMonth month, Duration lockTimeout) {
+        setLockTimeout(lockTimeout);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT booking_create_partition(?)", Boolean.class, month.atDay(1)));
+    }
+
+    /**
+     * Moves the partition of the month to the archive, where only the history reads see it.
+     *
+     * @return whether the partition was archived, {@code false} if it is not live or still
+     * has RESERVED or ACTIVE bookings
+     */
+    public boolean archivePartition(YearMonth month, Duration lockTimeout) {
+        setLockTimeout(lockTimeout);
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT booking_archive_partition(?)", Boolean.class, month.atDay(1)));
+    }
+
+    /**
+     * @return the months with a live partition, oldest first
+     */
+    public List<YearMonth> findLiveMonths() {
+        return jdbcTemplate.queryForList(FIND_LIVE_MONTHS, LocalDate.class).stream()
+                .map(YearMonth::from)
+                .toList();
+    }
+
+    private void setLockTimeout(Duration lockTimeout) {
+        jdbcTemplate.queryForObject("SELECT set_config('lock_timeout', ?, true)", String.class,
+                lockTimeout.toMillis() + "ms");
+    }
+}
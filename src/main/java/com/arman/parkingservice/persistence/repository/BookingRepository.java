@@ -1,16 +1,22 @@
 package com.arman.parkingservice.persistence.repository;
 
+import com.arman.parkingservice.dto.booking.BookingResponse;
 import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.index.BookingInterval;
+import com.arman.parkingservice.metrics.OpenBookingCount;
 import com.arman.parkingservice.persistence.entity.Booking;
 import com.arman.parkingservice.persistence.entity.ParkingSpot;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking,Long> {
@@ -22,21 +28,172 @@ public interface BookingRepository extends JpaRepository<Booking,Long> {
             LocalDateTime endTimeIsGreaterThan
     );
 
-    Page<Booking> findByResident_IdAndEndTimeBeforeAndBookingStatus(Long residentId, LocalDateTime endTimeBefore, BookingStatus bookingStatus, Pageable pageable);
+    /**
+     * Reads bookings straight into {@link BookingResponse}, joining the resident, the spot and
+     * their communities in the same statement instead of loading the entity graph. Shared with
+     * {@link BookingHistoryRepository}, whose entity maps the same columns.
+     */
+    String BOOKING_RESPONSE_COLUMNS = """
+        SELECT new com.arman.parkingservice.dto.booking.BookingResponse(
+            b.id,
+            r.id,
+            r.firstName,
+            r.lastName,
+            rc.id,
+            rc.name,
+            p.id,
+            p.code,
+            pc.id,
+            pc.name,
+            b.startTime,
+            b.endTime,
+            b.bookingStatus,
+            b.actualStartTime,
+            b.actualEndTime
+        )
+""";
 
-    Page<Booking> findByResident_idAndStartTimeAfterAndBookingStatus(Long residentId, LocalDateTime startTimeAfter, BookingStatus bookingStatus, Pageable pageable);
+    String BOOKING_RESPONSE_JOINS = """
+            JOIN b.resident r
+            JOIN r.community rc
+            JOIN b.parkingSpot p
+            JOIN p.community pc
+""";
 
-    Page<Booking> findByResident_IdAndBookingStatus(Long residentId, BookingStatus bookingStatus, Pageable pageable);
+    String SELECT_BOOKING_RESPONSE = BOOKING_RESPONSE_COLUMNS + """
+        FROM Booking b
+""" + BOOKING_RESPONSE_JOINS;
 
-    Page<Booking> findByResident_Id(Long residentId, Pageable pageable);
+    String PAST_BY_RESIDENT = """
+        WHERE r.id = :residentId
+            AND b.endTime < :now
+            AND b.bookingStatus = :bookingStatus
+""";
 
-    @Query("""
-        SELECT b
-        FROM Booking b
-        WHERE b.resident.id = :residentId
+    String CURRENT_BY_RESIDENT = """
+        WHERE r.id = :residentId
             AND b.startTime <= :now
             AND b.endTime >= :now
             AND b.bookingStatus IN :statuses
+""";
+
+    String FUTURE_BY_RESIDENT = """
+        WHERE r.id = :residentId
+            AND b.startTime > :now
+            AND b.bookingStatus = :bookingStatus
+""";
+
+    String STATUS_BY_RESIDENT = """
+        WHERE r.id = :residentId
+            AND b.bookingStatus = :bookingStatus
+""";
+
+    String ALL_BY_RESIDENT = """
+        WHERE r.id = :residentId
+""";
+
+    String AFTER_ID = """
+            AND b.id > :afterId
+        ORDER BY b.id
+""";
+
+    @Query(SELECT_BOOKING_RESPONSE + """
+        WHERE b.id = :id
+""")
+    Optional<BookingResponse> findResponseById(Long id);
+
+    @Query(SELECT_BOOKING_RESPONSE + CURRENT_BY_RESIDENT)
+    Page<BookingResponse> findCurrentByResident(Long residentId, LocalDateTime now, List<BookingStatus> statuses, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + CURRENT_BY_RESIDENT)
+    Slice<BookingResponse> findCurrentSliceByResident(Long residentId, LocalDateTime now, List<BookingStatus> statuses, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + CURRENT_BY_RESIDENT + AFTER_ID)
+    Slice<BookingResponse> findCurrentByResidentAfter(Long residentId, LocalDateTime now, List<BookingStatus> statuses, Long afterId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + FUTURE_BY_RESIDENT)
+    Page<BookingResponse> findFutureByResident(Long residentId, LocalDateTime now, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + FUTURE_BY_RESIDENT)
+    Slice<BookingResponse> findFutureSliceByResident(Long residentId, LocalDateTime now, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + FUTURE_BY_RESIDENT + AFTER_ID)
+    Slice<BookingResponse> findFutureByResidentAfter(Long residentId, LocalDateTime now, BookingStatus bookingStatus, Long afterId, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + STATUS_BY_RESIDENT)
+    Page<BookingResponse> findByResidentAndStatus(Long residentId, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + STATUS_BY_RESIDENT)
+    Slice<BookingResponse> findSliceByResidentAndStatus(Long residentId, BookingStatus bookingStatus, Pageable pageable);
+
+    @Query(SELECT_BOOKING_RESPONSE + STATUS_BY_RESIDENT + AFTER_ID)
+    Slice<BookingResponse> findByResidentAndStatusAfter(Long residentId, BookingStatus bookingStatus, Long afterId, Pageable pageable);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.index.BookingInterval(
+            o.bookingId,
+            o.spotId,
+            o.startTime,
+            o.endTime
+        )
+        FROM OpenBooking o
+        WHERE o.endTime > :from
+""")
+    List<BookingInterval> findOpenIntervals(LocalDateTime from);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.index.BookingInterval(
+            o.bookingId,
+            o.spotId,
+            o.startTime,
+            o.endTime
+        )
+        FROM OpenBooking o
+        WHERE o.spotId = :spotId
+            AND o.endTime > :from
+""")
+    List<BookingInterval> findOpenIntervalsBySpot(Long spotId, LocalDateTime from);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.index.BookingInterval(
+            o.bookingId,
+            o.spotId,
+            o.startTime,
+            o.endTime
+        )
+        FROM OpenBooking o
+            JOIN ParkingSpot p ON p.id = o.spotId
+        WHERE p.community.id = :communityId
+            AND o.startTime < :to
+            AND o.endTime > :from
+""")
+    List<BookingInterval> findOpenIntervalsByCommunity(Long communityId, LocalDateTime from, LocalDateTime to);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.metrics.OpenBookingCount(
+            p.community.id,
+            o.bookingStatus,
+            count(o)
+        )
+        FROM OpenBooking o
+            JOIN ParkingSpot p ON p.id = o.spotId
+        GROUP BY p.community.id, o.bookingStatus
+""")
+    List<OpenBookingCount> countOpenByCommunity();
+
+    /**
+     * Cancels, in one statement, every booking of the series that is still RESERVED and
+     * has not started yet.
+     *
+     * @return the number of cancelled bookings
+     */
+    @Modifying
+    @Query("""
+        UPDATE Booking b
+        SET b.bookingStatus = :cancelled
+        WHERE b.series.id = :seriesId
+            AND b.bookingStatus = :reserved
+            AND b.startTime > :now
 """)
-    Page<Booking> findCurrentByResident(Long residentId, LocalDateTime now, List<BookingStatus> statuses, Pageable pageable);
+    int cancelUpcomingBySeries(Long seriesId, LocalDateTime now, BookingStatus reserved, BookingStatus cancelled);
 }
@@ -0,0 +1,15 @@
+package com.arman.parkingservice.persistence.repository;
+
+import com.arman.parkingservice.persistence.entity.BookingSeries;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BookingSeriesRepository extends JpaRepository<BookingSeries, Long> {
+
+    @EntityGraph(attributePaths = {"resident.community", "parkingSpot.community"})
+    Optional<BookingSeries> findWithGraphById(Long id);
+}
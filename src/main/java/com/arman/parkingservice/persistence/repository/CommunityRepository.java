@@ -2,23 +2,92 @@ package com.arman.parkingservice.persistence.repository;
 
 import com.arman.parkingservice.criteria.CommunitySearchCriteria;
 import com.arman.parkingservice.dto.community.CommunityResponse;
+import com.arman.parkingservice.index.IndexedName;
 import com.arman.parkingservice.persistence.entity.Community;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommunityRepository extends JpaRepository<Community, Long> {
 
-    @Query("""
+    @Query("SELECT c.id FROM Community c")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.arman.parkingservice.index.IndexedName(c.id, c.id, c.name) FROM Community c WHERE c.id > :afterId")
+    List<IndexedName> findIndexedNamesAfter(long afterId);
+
+    String FIND_ALL_CRITERIA = """
         SELECT new com.arman.parkingservice.dto.community.CommunityResponse(
             c.id,
             c.name
         )
         FROM Community c
         WHERE :#{#criteria.name} IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%',:#{#criteria.name},'%'))
-""")
+""";
+
+    @Query(FIND_ALL_CRITERIA)
     Page<CommunityResponse> findAllCriteria(CommunitySearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findAllCriteria} without the count query
+     */
+    @Query(FIND_ALL_CRITERIA)
+    Slice<CommunityResponse> findSliceCriteria(CommunitySearchCriteria criteria, Pageable pageable);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.dto.community.CommunityResponse(
+            c.id,
+            c.name
+        )
+        FROM Community c
+        WHERE (:#{#criteria.name} IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%',:#{#criteria.name},'%')))
+            AND c.name >= :afterName
+            AND (c.name > :afterName OR c.id > :afterId)
+        ORDER BY c.name, c.id
+""")
+    Slice<CommunityResponse> findAllCriteriaAfter(CommunitySearchCriteria criteria, String afterName, Long afterId,
+                                                  Pageable pageable);
+
+    String FIND_ALL_BY_ID_IN = """
+        SELECT new com.arman.parkingservice.dto.community.CommunityResponse(
+            c.id,
+            c.name
+        )
+        FROM Community c
+        WHERE c.id IN :ids
+""";
+
+    /**
+     * Same rows as {@link #findAllCriteria} for the ids matching the name filter in
+     * {@link com.arman.parkingservice.index.NameSearchIndex}
+     */
+    @Query(FIND_ALL_BY_ID_IN)
+    Page<CommunityResponse> findAllByIdIn(Collection<Long> ids, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findAllByIdIn} without the count query
+     */
+    @Query(FIND_ALL_BY_ID_IN)
+    Slice<CommunityResponse> findSliceByIdIn(Collection<Long> ids, Pageable pageable);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.dto.community.CommunityResponse(
+            c.id,
+            c.name
+        )
+        FROM Community c
+        WHERE c.id IN :ids
+            AND c.name >= :afterName
+            AND (c.name > :afterName OR c.id > :afterId)
+        ORDER BY c.name, c.id
+""")
+    Slice<CommunityResponse> findAllByIdInAfter(Collection<Long> ids, String afterName, Long afterId,
+                                                Pageable pageable);
 }
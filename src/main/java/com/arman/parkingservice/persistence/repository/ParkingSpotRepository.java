@@ -2,22 +2,53 @@ package com.arman.parkingservice.persistence.repository;
 
 import com.arman.parkingservice.criteria.ParkingSpotSearchCriteria;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.index.IndexedName;
 import com.arman.parkingservice.persistence.entity.Community;
 import com.arman.parkingservice.persistence.entity.ParkingSpot;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long> {
     Optional<ParkingSpot> findByCommunityAndCode(Community community, String code);
 
+    @EntityGraph(attributePaths = "community")
+    Optional<ParkingSpot> findWithCommunityById(Long id);
+
+    @EntityGraph(attributePaths = "community")
+    List<ParkingSpot> findAllWithCommunityByIdIn(Collection<Long> ids);
+
+    @Query("SELECT p.id FROM ParkingSpot p")
+    List<Long> findAllIds();
+
+    @Query("SELECT new com.arman.parkingservice.index.IndexedName(p.id, p.community.id, p.code) FROM ParkingSpot p WHERE p.id > :afterId")
+    List<IndexedName> findIndexedCodesAfter(long afterId);
+
+    long countByCommunityId(Long communityId);
+
     @Query("""
+        SELECT new com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse(
+            p.id,
+            p.code,
+            p.community
+        )
+        FROM ParkingSpot p
+        WHERE p.community.id = :communityId
+        ORDER BY p.code
+""")
+    List<ParkingSpotResponse> findAllByCommunityIdOrderByCode(Long communityId);
+
+    String FIND_ALL_AVAILABLE_BY_COMMUNITY_AND_CRITERIA = """
         SELECT new com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse(
             p.id,
             p.code,
@@ -27,13 +58,25 @@ public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long>
         WHERE p.community.id = :communityId
             AND (:#{#criteria.code} IS NULL OR LOWER(p.code) LIKE LOWER(CONCAT('%',:#{#criteria.code},'%')))
             AND p.id NOT IN (
-                SELECT b.parkingSpot.id
-                FROM Booking b
-                WHERE b.bookingStatus IN ('RESERVED','ACTIVE')
-                    AND b.startTime < :endTime
-                    AND b.endTime > :startTime
+                SELECT o.spotId
+                FROM OpenBooking o
+                WHERE o.startTime < :endTime
+                    AND o.endTime > :startTime
         )
-""")
+""";
+
+    String FIND_ALL_BY_COMMUNITY_ID_AND_CRITERIA = """
+        SELECT new com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse(
+            p.id,
+            p.code,
+            p.community
+        )
+        FROM ParkingSpot p
+        WHERE p.community.id = :communityId
+            AND (:#{#criteria.code} IS NULL OR LOWER(p.code) LIKE LOWER(CONCAT('%',:#{#criteria.code},'%')))
+""";
+
+    @Query(FIND_ALL_AVAILABLE_BY_COMMUNITY_AND_CRITERIA)
     Page<ParkingSpotResponse> findAllAvailableByCommunityAndCriteria(
             Long communityId,
             LocalDateTime startTime,
@@ -41,6 +84,27 @@ public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long>
             ParkingSpotSearchCriteria criteria,
             Pageable pageable);
 
+    /**
+     * Same rows as {@link #findAllAvailableByCommunityAndCriteria} without the count query,
+     * which would re-run the whole {@code NOT IN} subquery
+     */
+    @Query(FIND_ALL_AVAILABLE_BY_COMMUNITY_AND_CRITERIA)
+    Slice<ParkingSpotResponse> findSliceAvailableByCommunityAndCriteria(
+            Long communityId,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            ParkingSpotSearchCriteria criteria,
+            Pageable pageable);
+
+    @Query(FIND_ALL_BY_COMMUNITY_ID_AND_CRITERIA)
+    Page<ParkingSpotResponse> findAllByCommunityIdAndCriteria(Long communityId, ParkingSpotSearchCriteria criteria, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findAllByCommunityIdAndCriteria} without the count query
+     */
+    @Query(FIND_ALL_BY_COMMUNITY_ID_AND_CRITERIA)
+    Slice<ParkingSpotResponse> findSliceByCommunityIdAndCriteria(Long communityId, ParkingSpotSearchCriteria criteria, Pageable pageable);
+
     @Query("""
         SELECT new com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse(
             p.id,
@@ -50,6 +114,48 @@ public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long>
         FROM ParkingSpot p
         WHERE p.community.id = :communityId
             AND (:#{#criteria.code} IS NULL OR LOWER(p.code) LIKE LOWER(CONCAT('%',:#{#criteria.code},'%')))
+            AND p.code >= :afterCode
+            AND (p.code > :afterCode OR p.id > :afterId)
+        ORDER BY p.code, p.id
 """)
-    Page<ParkingSpotResponse> findAllByCommunityIdAndCriteria(Long communityId, ParkingSpotSearchCriteria criteria, Pageable pageable);
+    Slice<ParkingSpotResponse> findAllByCommunityIdAndCriteriaAfter(Long communityId, ParkingSpotSearchCriteria criteria,
+                                                                    String afterCode, Long afterId, Pageable pageable);
+
+    String FIND_ALL_BY_ID_IN = """
+        SELECT new com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse(
+            p.id,
+            p.code,
+            p.community
+        )
+        FROM ParkingSpot p
+        WHERE p.id IN :ids
+""";
+
+    /**
+     * Same rows as {@link #findAllByCommunityIdAndCriteria} for the ids matching the code
+     * filter in {@link com.arman.parkingservice.index.NameSearchIndex}
+     */
+    @Query(FIND_ALL_BY_ID_IN)
+    Page<ParkingSpotResponse> findAllByIdIn(Collection<Long> ids, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findAllByIdIn} without the count query
+     */
+    @Query(FIND_ALL_BY_ID_IN)
+    Slice<ParkingSpotResponse> findSliceByIdIn(Collection<Long> ids, Pageable pageable);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse(
+            p.id,
+            p.code,
+            p.community
+        )
+        FROM ParkingSpot p
+        WHERE p.id IN :ids
+            AND p.code >= :afterCode
+            AND (p.code > :afterCode OR p.id > :afterId)
+        ORDER BY p.code, p.id
+""")
+    Slice<ParkingSpotResponse> findAllByIdInAfter(Collection<Long> ids, String afterCode, Long afterId,
+                                                  Pageable pageable);
 }
@@ -0,0 +1,91 @@
+package com.arman.parkingservice.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC bulk inserts of residents and parking spots for imports.
+ * <p>
+ * Each chunk is written by one {@code INSERT ... SELECT FROM unnest(...)} statement: the rows
+ * travel as arrays, the ids are drawn from the identity sequences by the database, and rows
+ * clashing with the unique constraint of their community are skipped by
+ * {@code ON CONFLICT DO NOTHING}. The statement returns the keys and ids it inserted, so callers
+ * can tell which rows already existed.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReferenceDataJdbcRepository {
+    private static final String INSERT_RESIDENTS = """
+            INSERT INTO resident (first_name, last_name, email, community_id)
+            SELECT r.first_name, r.last_name, r.email, ?
+            FROM unnest(?::text[], ?::text[], ?::text[]) AS r(first_name, last_name, email)
+            ON CONFLICT (email, community_id) DO NOTHING
+            RETURNING id, email
+            """;
+
+    private static final String INSERT_PARKING_SPOTS = """
+            INSERT INTO parking_spot (code, community_id)
+            SELECT s.code, ?
+            FROM unnest(?::text[]) AS s(code)
+            ON CONFLICT (code, community_id) DO NOTHING
+            RETURNING id, code
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the residents into the community, skipping emails already used there.
+     * The emails must be distinct.
+     *
+     * @return the ids of the inserted residents by email
+     */
+    public Map<String, Long> insertResidents(Long communityId, List<String> firstNames, List<String> lastNames,
+                                             List<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_RESIDENTS);
+            ps.setLong(1, communityId);
+            ps.setArray(2, connection.createArrayOf("text", firstNames.toArray()));
+            ps.setArray(3, connection.createArrayOf("text", lastNames.toArray()));
+            ps.setArray(4, connection.createArrayOf("text", emails.toArray()));
+            return ps;
+        }, rs -> {
+            ids.put(rs.getString("email"), rs.getLong("id"));
+        });
+        return ids;
+    }
+
+    /**
+     * Inserts the parking spots into the community, skipping codes already used there.
+     * The codes must be distinct.
+     *
+     * @return the ids of the inserted spots by code
+     */
+    public Map<String, Long> insertParkingSpots(Long communityId, List<String> codes) {
+        if (codes.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(INSERT_PARKING_SPOTS);
+            ps.setLong(1, communityId);
+            ps.setArray(2, connection.createArrayOf("text", codes.toArray()));
+            return ps;
+        }, rs -> {
+            ids.put(rs.getString("code"), rs.getLong("id"));
+        });
+        return ids;
+    }
+}
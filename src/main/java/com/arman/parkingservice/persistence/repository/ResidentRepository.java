@@ -2,14 +2,19 @@ package com.arman.parkingservice.persistence.repository;
 
 import com.arman.parkingservice.criteria.ResidentSearchCriteria;
 import com.arman.parkingservice.dto.resident.ResidentResponse;
+import com.arman.parkingservice.index.IndexedName;
 import com.arman.parkingservice.persistence.entity.Community;
 import com.arman.parkingservice.persistence.entity.Resident;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,7 +22,19 @@ public interface ResidentRepository extends JpaRepository<Resident, Long> {
 
     Optional<Resident> findByCommunityAndEmail(Community community, String email);
 
-    @Query("""
+    @EntityGraph(attributePaths = "community")
+    Optional<Resident> findWithCommunityById(Long id);
+
+    @EntityGraph(attributePaths = "community")
+    List<Resident> findAllWithCommunityByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new com.arman.parkingservice.index.IndexedName(r.id, r.community.id, r.firstName) FROM Resident r WHERE r.id > :afterId")
+    List<IndexedName> findIndexedFirstNamesAfter(long afterId);
+
+    @Query("SELECT new com.arman.parkingservice.index.IndexedName(r.id, r.community.id, r.lastName) FROM Resident r WHERE r.id > :afterId")
+    List<IndexedName> findIndexedLastNamesAfter(long afterId);
+
+    String FIND_ALL_BY_COMMUNITY_ID_AND_CRITERIA = """
         SELECT new com.arman.parkingservice.dto.resident.ResidentResponse(
             r.id,
             r.firstName,
@@ -28,7 +45,75 @@ public interface ResidentRepository extends JpaRepository<Resident, Long> {
         WHERE r.community.id = :communityId
         AND (:#{#criteria.firstName} IS NULL OR LOWER(r.firstName) LIKE LOWER(CONCAT('%',:#{#criteria.firstName},'%')))
         AND (:#{#criteria.lastName} IS NULL OR LOWER(r.lastName) LIKE LOWER(CONCAT('%',:#{#criteria.lastName},'%')))
-""")
+""";
+
+    @Query(FIND_ALL_BY_COMMUNITY_ID_AND_CRITERIA)
     Page<ResidentResponse> findAllByCommunityIdAndCriteria(Long communityId, ResidentSearchCriteria criteria,
                                                            Pageable pageable);
+
+    /**
+     * Same rows as {@link #findAllByCommunityIdAndCriteria} without the count query
+     */
+    @Query(FIND_ALL_BY_COMMUNITY_ID_AND_CRITERIA)
+    Slice<ResidentResponse> findSliceByCommunityIdAndCriteria(Long communityId, ResidentSearchCriteria criteria,
+                                                              Pageable pageable);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.dto.resident.ResidentResponse(
+            r.id,
+            r.firstName,
+            r.lastName,
+            r.community
+        )
+        FROM Resident r
+        WHERE r.community.id = :communityId
+        AND (:#{#criteria.firstName} IS NULL OR LOWER(r.firstName) LIKE LOWER(CONCAT('%',:#{#criteria.firstName},'%')))
+        AND (:#{#criteria.lastName} IS NULL OR LOWER(r.lastName) LIKE LOWER(CONCAT('%',:#{#criteria.lastName},'%')))
+        AND r.firstName >= :afterFirstName
+        AND (r.firstName > :afterFirstName OR r.id > :afterId)
+        ORDER BY r.firstName, r.id
+""")
+    Slice<ResidentResponse> findAllByCommunityIdAndCriteriaAfter(Long communityId, ResidentSearchCriteria criteria,
+                                                                 String afterFirstName, Long afterId,
+                                                                 Pageable pageable);
+
+    String FIND_ALL_BY_ID_IN = """
+        SELECT new com.arman.parkingservice.dto.resident.ResidentResponse(
+            r.id,
+            r.firstName,
+            r.lastName,
+            r.community
+        )
+        FROM Resident r
+        WHERE r.id IN :ids
+""";
+
+    /**
+     * Same rows as {@link #findAllByCommunityIdAndCriteria} for the ids matching the name
+     * filters in {@link com.arman.parkingservice.index.NameSearchIndex}
+     */
+    @Query(FIND_ALL_BY_ID_IN)
+    Page<ResidentResponse> findAllByIdIn(Collection<Long> ids, Pageable pageable);
+
+    /**
+     * Same rows as {@link #findAllByIdIn} without the count query
+     */
+    @Query(FIND_ALL_BY_ID_IN)
+    Slice<ResidentResponse> findSliceByIdIn(Collection<Long> ids, Pageable pageable);
+
+    @Query("""
+        SELECT new com.arman.parkingservice.dto.resident.ResidentResponse(
+            r.id,
+            r.firstName,
+            r.lastName,
+            r.community
+        )
+        FROM Resident r
+        WHERE r.id IN :ids
+        AND r.firstName >= :afterFirstName
+        AND (r.firstName > :afterFirstName OR r.id > :afterId)
+        ORDER BY r.firstName, r.id
+""")
+    Slice<ResidentResponse> findAllByIdInAfter(Collection<Long> ids, String afterFirstName, Long afterId,
+                                               Pageable pageable);
 }
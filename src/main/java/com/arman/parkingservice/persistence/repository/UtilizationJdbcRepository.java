@@ -0,0 +1,226 @@
+package com.arman.parkingservice.persistence.repository;
+
+import com.arman.parkingservice.dto.utilization.UtilizationBucketResponse;
+import com.arman.parkingservice.enums.ReportGranularity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain JDBC access to the hourly utilization rollups of spots and communities.
+ * <p>
+ * Deltas of a booking transition are applied to both tables by one statement: the spot rows
+ * are upserted, and the community rows are upserted from the spot rows it returned, which also
+ * tells whether a spot started or stopped having booked time within an hour. A rebuild replaces
+ * the rows of a bucket range with ones aggregated from {@code booking_history}, so archived
+ * months can be rebuilt as well.
+ * </p>
+ * <p>
+ * Both take a transaction-scoped advisory lock of the community first. A rebuild would
+ * otherwise miss a spot row that a concurrent delta inserted but has not committed yet, and
+ * then fail on it with a unique violation.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class UtilizationJdbcRepository {
+    private static final String ADD_DELTAS = """
+            WITH delta AS (
+                SELECT d.bucket, d.booked_seconds, d.parked_seconds, d.bookings, d.no_shows
+                FROM unnest(?::timestamp[], ?::bigint[], ?::bigint[], ?::int[], ?::int[])
+                    AS d(bucket, booked_seconds, parked_seconds, bookings, no_shows)
+            ), spot AS (
+                INSERT INTO spot_utilization_hourly AS s
+                    (spot_id, bucket, community_id, booked_seconds, parked_seconds, bookings, no_shows)
+                SELECT ?, bucket, ?, booked_seconds, parked_seconds, bookings, no_shows
+                FROM delta
+                ON CONFLICT (spot_id, bucket) DO UPDATE SET
+                    booked_seconds = s.booked_seconds + EXCLUDED.booked_seconds,
+                    parked_seconds = s.parked_seconds + EXCLUDED.parked_seconds,
+                    bookings = s.bookings + EXCLUDED.bookings,
+                    no_shows = s.no_shows + EXCLUDED.no_shows
+                RETURNING s.bucket, s.booked_seconds
+            )
+            INSERT INTO community_utilization_hourly AS c
+                (community_id, bucket, booked_seconds, parked_seconds, bookings, no_shows, booked_spots)
+            SELECT ?, d.bucket, d.booked_seconds, d.parked_seconds, d.bookings, d.no_shows,
+                   (s.booked_seconds > 0)::int - (s.booked_seconds - d.booked_seconds > 0)::int
+            FROM delta d
+            JOIN spot s ON s.bucket = d.bucket
+            ON CONFLICT (community_id, bucket) DO UPDATE SET
+                booked_seconds = c.booked_seconds + EXCLUDED.booked_seconds,
+                parked_seconds = c.parked_seconds + EXCLUDED.parked_seconds,
+                bookings = c.bookings + EXCLUDED.bookings,
+                no_shows = c.no_shows + EXCLUDED.no_shows,
+                booked_spots = c.booked_spots + EXCLUDED.booked_spots
+            """;
+
+    private static final String LOCK_COMMUNITY = """
+            SELECT pg_advisory_xact_lock(hashtext('utilization_rollup'), hashtext(?::text))
+            """;
+
+    private static final String DELETE_SPOT_ROWS = """
+            DELETE FROM spot_utilization_hourly
+            WHERE community_id = ? AND (?::bigint IS NULL OR spot_id = ?) AND bucket >= ? AND bucket < ?
+            """;
+
+    private static final String INSERT_SPOT_ROWS = """
+            INSERT INTO spot_utilization_hourly
+                (spot_id, bucket, community_id, booked_seconds, parked_seconds, bookings, no_shows)
+            SELECT b.spot_id, h.bucket, p.community_id,
+                   SUM(CASE WHEN b.booking_status <> 'CANCELLED' OR b.no_show
+                       THEN GREATEST(0, FLOOR(EXTRACT(EPOCH FROM
+                           LEAST(b.end_date, h.bucket + interval '1 hour') - GREATEST(b.start_date, h.bucket))))
+                       ELSE 0 END)::bigint,
+                   SUM(CASE WHEN b.booking_status = 'COMPLETED' AND b.actual_start_date IS NOT NULL
+                       THEN GREATEST(0, FLOOR(EXTRACT(EPOCH FROM
+                           LEAST(COALESCE(b.actual_end_date, b.end_date), h.bucket + interval '1 hour')
+                           - GREATEST(b.actual_start_date, h.bucket))))
+                       ELSE 0 END)::bigint,
+                   COUNT(*) FILTER (WHERE (b.booking_status <> 'CANCELLED' OR b.no_show)
+                       AND b.start_date >= h.bucket AND b.start_date < h.bucket + interval '1 hour'),
+                   COUNT(*) FILTER (WHERE b.no_show
+                       AND b.start_date >= h.bucket AND b.start_date < h.bucket + interval '1 hour')
+            FROM booking_history b
+            JOIN parking_spot p ON p.id = b.spot_id
+            CROSS JOIN LATERAL generate_series(
+                date_trunc('hour', GREATEST(b.start_date, ?)),
+                LEAST(b.end_date, ?) - interval '1 microsecond',
+                interval '1 hour'
+            ) AS h(bucket)
+            WHERE p.community_id = ? AND (?::bigint IS NULL OR b.spot_id = ?)
+                AND b.start_date < ? AND b.end_date > ?
+            GROUP BY b.spot_id, h.bucket, p.community_id
+            """;
+
+    private static final String DELETE_COMMUNITY_ROWS = """
+            DELETE FROM community_utilization_hourly
+            WHERE community_id = ? AND bucket >= ? AND bucket < ?
+            """;
+
+    private static final String INSERT_COMMUNITY_ROWS = """
+            INSERT INTO community_utilization_hourly
+                (community_id, bucket, booked_seconds, parked_seconds, bookings, no_shows, booked_spots)
+            SELECT community_id, bucket, SUM(booked_seconds), SUM(parked_seconds), SUM(bookings), SUM(no_shows),
+                   COUNT(*) FILTER (WHERE booked_seconds > 0)
+            FROM spot_utilization_hourly
+            WHERE community_id = ? AND bucket >= ? AND bucket < ?
+            GROUP BY community_id, bucket
+            """;
+
+    private static final String FIND_COMMUNITY_BUCKETS = """
+            SELECT date_trunc(?, bucket) AS period,
+                   SUM(booked_seconds) AS booked_seconds,
+                   SUM(parked_seconds) AS parked_seconds,
+                   SUM(bookings) AS bookings,
+                   SUM(no_shows) AS no_shows,
+                   MAX(booked_spots) AS peak_booked_spots
+            FROM community_utilization_hourly
+            WHERE community_id = ? AND bucket >= ? AND bucket < ?
+            GROUP BY period
+            ORDER BY period
+            """;
+
+    private static final String FIND_SPOT_BUCKETS = """
+            SELECT date_trunc(?, bucket) AS period,
+                   SUM(booked_seconds) AS booked_seconds,
+                   SUM(parked_seconds) AS parked_seconds,
+                   SUM(bookings) AS bookings,
+                   SUM(no_shows) AS no_shows,
+                   MAX(CASE WHEN booked_seconds > 0 THEN 1 ELSE 0 END) AS peak_booked_spots
+            FROM spot_utilization_hourly
+            WHERE spot_id = ? AND bucket >= ? AND bucket < ?
+            GROUP BY period
+            ORDER BY period
+            """;
+
+    private static final String FIND_LAST_SPOT_BUCKET = """
+            SELECT max(bucket) FROM spot_utilization_hourly WHERE spot_id = ?
+            """;
+
+    private static final RowMapper<UtilizationBucketResponse> BUCKET_ROW = (rs, rowNum) -> new UtilizationBucketResponse(
+            rs.getObject("period", LocalDateTime.class),
+            rs.getLong("booked_seconds"),
+            rs.getLong("parked_seconds"),
+            rs.getLong("bookings"),
+            rs.getLong("no_shows"),
+            rs.getInt("peak_booked_spots")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Adds the deltas, one per hour bucket, to the rows of the spot and of its community.
+     * The buckets must be distinct; must run inside a transaction.
+     */
+    public void addDeltas(Long spotId, Long communityId, List<LocalDateTime> buckets, List<Long> bookedSeconds,
+                          List<Long> parkedSeconds, List<Integer> bookings, List<Integer> noShows) {
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        lockCommunity(communityId);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(ADD_DELTAS);
+            ps.setArray(1, connection.createArrayOf("timestamp",
+                    buckets.stream().map(Timestamp::valueOf).toArray()));
+            ps.setArray(2, connection.createArrayOf("bigint", bookedSeconds.toArray()));
+            ps.setArray(3, connection.createArrayOf("bigint", parkedSeconds.toArray()));
+            ps.setArray(4, connection.createArrayOf("integer", bookings.toArray()));
+            ps.setArray(5, connection.createArrayOf("integer", noShows.toArray()));
+            ps.setLong(6, spotId);
+            ps.setLong(7, communityId);
+            ps.setLong(8, communityId);
+            return ps;
+        });
+    }
+
+    /**
+     * Replaces the rows of the community, or of one of its spots, for the hour buckets in
+     * [from, to) with ones aggregated from the booking table, then recomputes the community
+     * rows of those buckets. Both bounds must be whole hours; must run inside a transaction.
+     *
+     * @param spotId the spot to rebuild, {@code null} for all spots of the community
+     */
+    public void rebuild(Long communityId, Long spotId, LocalDateTime from, LocalDateTime to) {
+        lockCommunity(communityId);
+        jdbcTemplate.update(DELETE_SPOT_ROWS, communityId, spotId, spotId, from, to);
+        jdbcTemplate.update(INSERT_SPOT_ROWS, from, to, communityId, spotId, spotId, to, from);
+        jdbcTemplate.update(DELETE_COMMUNITY_ROWS, communityId, from, to);
+        jdbcTemplate.update(INSERT_COMMUNITY_ROWS, communityId, from, to);
+    }
+
+    private void lockCommunity(Long communityId) {
+        jdbcTemplate.queryForList(LOCK_COMMUNITY, communityId);
+    }
+
+    /**
+     * @return the latest hour bucket of the spot, if it has any
+     */
+    public Optional<LocalDateTime> findLastSpotBucket(Long spotId) {
+        return Optional.ofNullable(jdbcTemplate.queryForObject(FIND_LAST_SPOT_BUCKET, LocalDateTime.class, spotId));
+    }
+
+    /**
+     * Sums the community's rows for [from, to) per hour, day or month.
+     */
+    public List<UtilizationBucketResponse> findCommunityBuckets(Long communityId, ReportGranularity granularity,
+                                                                LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(FIND_COMMUNITY_BUCKETS, BUCKET_ROW, granularity.getField(), communityId, from, to);
+    }
+
+    /**
+     * Sums the spot's rows for [from, to) per hour, day or month.
+     */
+    public List<UtilizationBucketResponse> findSpotBuckets(Long spotId, ReportGranularity granularity,
+                                                           LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(FIND_SPOT_BUCKETS, BUCKET_ROW, granularity.getField(), spotId, from, to);
+    }
+}
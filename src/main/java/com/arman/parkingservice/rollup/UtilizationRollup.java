@@ -0,0 +1,237 @@
+package com.arman.parkingservice.rollup;
+
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.event.SpotBookingsChangedEvent;
+import com.arman.parkingservice.persistence.repository.CommunityRepository;
+import com.arman.parkingservice.persistence.repository.UtilizationJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the hourly utilization rollups of spots and communities up to date.
+ * <p>
+ * Every committed booking transition is turned into per-hour deltas: a new booking adds its
+ * booked time and counts as a booking, a cancellation by the resident takes both back, an
+ * expired reservation counts as a no-show, and a completed booking adds the time between its
+ * actual start and end, or the end of its window if the spot was never released. Parking
+ * itself changes nothing until the booking completes. Set-based changes of unknown bookings
+ * rebuild the spot from the current hour on.
+ * </p>
+ * <p>
+ * The deltas are written by a single background writer, off the booking threads; when its
+ * queue of {@code writer-queue-size} is full, the booking thread writes them itself. Rebuilds
+ * go through the same queue, so the deltas queued before a rebuild are written before it
+ * instead of being counted again on top of it. Every write also holds an advisory lock of the
+ * community, against writes running beside it on booking threads or other instances. Deltas
+ * lost in a crash are corrected by the reconciliation job, which rebuilds every community from
+ * {@code reconcile-past} ago to {@code reconcile-future} ahead; a community that fails to
+ * rebuild is counted and the job moves on.
+ * </p>
+ */
+@Component
+public class UtilizationRollup {
+    private static final int BOOKED = 0;
+    private static final int PARKED = 1;
+    private static final int BOOKINGS = 2;
+    private static final int NO_SHOWS = 3;
+
+    private final UtilizationJdbcRepository utilizationJdbcRepository;
+    private final CommunityRepository communityRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService writer;
+    private final Counter failedWrites;
+    private final Counter failedReconciles;
+    private final Duration reconcilePast;
+    private final Duration reconcileFuture;
+
+    public UtilizationRollup(UtilizationJdbcRepository utilizationJdbcRepository,
+                             CommunityRepository communityRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${parking.rollup.writer-queue-size:10000}") int writerQueueSize,
+                             @Value("${parking.rollup.reconcile-past:P2D}") Duration reconcilePast,
+                             @Value("${parking.rollup.reconcile-future:P14D}") Duration reconcileFuture) {
+        this.utilizationJdbcRepository = utilizationJdbcRepository;
+        this.communityRepository = communityRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reconcilePast = reconcilePast;
+        this.reconcileFuture = reconcileFuture;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("utilization-rollup-");
+        threadFactory.setDaemon(true);
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(writerQueueSize), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        this.failedWrites = Counter.builder("utilization.rollup.failures")
+                .description("Rollup updates that failed and are left to the reconciliation")
+                .register(meterRegistry);
+        this.failedReconciles = Counter.builder("utilization.rollup.reconcile.failures")
+                .description("Communities the reconciliation failed to rebuild")
+                .register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        Map<LocalDateTime, long[]> deltas = deltasOf(event);
+        if (!deltas.isEmpty()) {
+            write(() -> addDeltas(event.spotId(), event.communityId(), deltas));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSpotBookingsChanged(SpotBookingsChangedEvent event) {
+        write(() -> rebuildSpot(event.communityId(), event.spotId()));
+    }
+
+    /**
+     * Rebuilds the rows of the community for the hour buckets touching [from, to) from the
+     * booking table. Runs on the writer after the deltas queued so far, and waits for it.
+     */
+    public void rebuild(Long communityId, LocalDateTime from, LocalDateTime to) {
+        await(writer.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                utilizationJdbcRepository.rebuild(communityId, null, from.truncatedTo(ChronoUnit.HOURS), ceilHour(to)))));
+    }
+
+    /**
+     * Waits until the deltas queued so far are written.
+     */
+    public void awaitWrites() {
+        await(writer.submit(() -> {
+        }));
+    }
+
+    @Scheduled(cron = "${parking.rollup.reconcile-cron:0 15 3 * * *}")
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+
+        for (Long communityId : communityRepository.findAllIds()) {
+            try {
+                rebuild(communityId, now.minus(reconcilePast), now.plus(reconcileFuture));
+            } catch (RuntimeException e) {
+                failedReconciles.increment();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        writer.shutdown();
+    }
+
+    private void write(Runnable update) {
+        writer.execute(() -> {
+            try {
+                update.run();
+            } catch (RuntimeException e) {
+                failedWrites.increment();
+            }
+        });
+    }
+
+    private static void await(Future<?> write) {
+        try {
+            write.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the rollup writer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void rebuildSpot(Long communityId, Long spotId) {
+        LocalDateTime from = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+        utilizationJdbcRepository.findLastSpotBucket(spotId)
+                .filter(last -> !last.isBefore(from))
+                .ifPresent(last -> transactionTemplate.executeWithoutResult(status ->
+                        utilizationJdbcRepository.rebuild(communityId, spotId, from, last.plusHours(1))));
+    }
+
+    private void addDeltas(Long spotId, Long communityId, Map<LocalDateTime, long[]> deltas) {
+        List<LocalDateTime> buckets = new ArrayList<>(deltas.size());
+        List<Long> booked = new ArrayList<>(deltas.size());
+        List<Long> parked = new ArrayList<>(deltas.size());
+        List<Integer> bookings = new ArrayList<>(deltas.size());
+        List<Integer> noShows = new ArrayList<>(deltas.size());
+        deltas.forEach((bucket, delta) -> {
+            buckets.add(bucket);
+            booked.add(delta[BOOKED]);
+            parked.add(delta[PARKED]);
+            bookings.add((int) delta[BOOKINGS]);
+            noShows.add((int) delta[NO_SHOWS]);
+        });
+
+        transactionTemplate.executeWithoutResult(status -> utilizationJdbcRepository
+                .addDeltas(spotId, communityId, buckets, booked, parked, bookings, noShows));
+    }
+
+    private static Map<LocalDateTime, long[]> deltasOf(BookingChangedEvent event) {
+        Map<LocalDateTime, long[]> deltas = new TreeMap<>();
+        LocalDateTime startBucket = event.startTime().truncatedTo(ChronoUnit.HOURS);
+
+        if (event.isCreated()) {
+            addTime(deltas, BOOKED, event.startTime(), event.endTime(), 1);
+            add(deltas, startBucket, BOOKINGS, 1);
+        } else if (event.previousStatus() == BookingStatus.RESERVED && event.status() == BookingStatus.CANCELLED) {
+            if (event.noShow()) {
+                add(deltas, startBucket, NO_SHOWS, 1);
+            } else {
+                addTime(deltas, BOOKED, event.startTime(), event.endTime(), -1);
+                add(deltas, startBucket, BOOKINGS, -1);
+            }
+        } else if (event.previousStatus() == BookingStatus.ACTIVE && event.status() == BookingStatus.COMPLETED
+                && event.actualStartTime() != null) {
+            LocalDateTime parkedUntil = event.actualEndTime() != null ? event.actualEndTime() : event.endTime();
+            addTime(deltas, PARKED, event.actualStartTime(), parkedUntil, 1);
+        }
+        return deltas;
+    }
+
+    /**
+     * Adds the seconds of [start, end) falling into each hour bucket, times {@code sign}.
+     */
+    private static void addTime(Map<LocalDateTime, long[]> deltas, int field, LocalDateTime start,
+                                LocalDateTime end, int sign) {
+        for (LocalDateTime bucket = start.truncatedTo(ChronoUnit.HOURS); bucket.isBefore(end); bucket = bucket.plusHours(1)) {
+            LocalDateTime from = start.isAfter(bucket) ? start : bucket;
+            LocalDateTime to = end.isBefore(bucket.plusHours(1)) ? end : bucket.plusHours(1);
+            add(deltas, bucket, field, sign * Duration.between(from, to).toSeconds());
+        }
+    }
+
+    private static void add(Map<LocalDateTime, long[]> deltas, LocalDateTime bucket, int field, long value) {
+        deltas.computeIfAbsent(bucket, b -> new long[4])[field] += value;
+    }
+
+    private static LocalDateTime ceilHour(LocalDateTime time) {
+        LocalDateTime hour = time.truncatedTo(ChronoUnit.HOURS);
+        return hour.isEqual(time) ? hour : hour.plusHours(1);
+    }
+}
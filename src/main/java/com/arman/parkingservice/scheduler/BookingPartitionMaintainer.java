@@ -0,0 +1,91 @@
+package com.arman.parkingservice.scheduler;
+
+import com.arman.parkingservice.persistence.repository.BookingPartitionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps the monthly partitions of the booking table: creates those of the current month and
+ * the next {@code months-ahead} months before bookings arrive for them, and archives those
+ * older than {@code retain-months} once none of their bookings is RESERVED or ACTIVE anymore.
+ * <p>
+ * Runs at start-up and then every {@code interval}; every partition is handled in its own
+ * transaction, and one that cannot get its locks within {@code lock-timeout} is left for the
+ * next run. Exposes {@code booking.partitions.created}, {@code booking.partitions.archived} and
+ * {@code booking.partitions.failures}.
+ * </p>
+ */
+@Component
+public class BookingPartitionMaintainer {
+    private final BookingPartitionRepository bookingPartitionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final int retainMonths;
+    private final Duration lockTimeout;
+    private final Counter created;
+    private final Counter archived;
+    private final Counter failures;
+
+    public BookingPartitionMaintainer(BookingPartitionRepository bookingPartitionRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${parking.booking-partitions.months-ahead:3}") int monthsAhead,
+                                      @Value("${parking.booking-partitions.retain-months:12}") int retainMonths,
+                                      @Value("${parking.booking-partitions.lock-timeout:PT5S}") Duration lockTimeout) {
+        this.bookingPartitionRepository = bookingPartitionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.monthsAhead = monthsAhead;
+        this.retainMonths = retainMonths;
+        this.lockTimeout = lockTimeout;
+        this.created = Counter.builder("booking.partitions.created")
+                .description("Monthly booking partitions created")
+                .register(meterRegistry);
+        this.archived = Counter.builder("booking.partitions.archived")
+                .description("Monthly booking partitions moved to the archive")
+                .register(meterRegistry);
+        this.failures = Counter.builder("booking.partitions.failures")
+                .description("Partition changes that failed and are retried on the next run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${parking.booking-partitions.interval:PT6H}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (apply(() -> bookingPartitionRepository.createPartition(month, lockTimeout))) {
+                created.increment();
+            }
+        }
+
+        YearMonth oldestLive = current.minusMonths(retainMonths);
+        for (YearMonth month : bookingPartitionRepository.findLiveMonths()) {
+            if (!month.isBefore(oldestLive)) {
+                break;
+            }
+            if (apply(() -> bookingPartitionRepository.archivePartition(month, lockTimeout))) {
+                archived.increment();
+            }
+        }
+    }
+
+    private boolean apply(BooleanSupplier change) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> change.getAsBoolean()));
+        } catch (DataAccessException e) {
+            failures.increment();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.arman.parkingservice.scheduler;
+
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.index.BookingInterval;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.persistence.entity.Booking;
+import com.arman.parkingservice.persistence.repository.BookingJdbcRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically closes bookings whose window has ended: RESERVED bookings become CANCELLED
+ * and ACTIVE bookings become COMPLETED.
+ * <p>
+ * Each transition is applied with set-based updates of at most {@code chunk-size} rows, each
+ * in its own short transaction, so a large backlog never holds long locks. Every moved
+ * booking is removed from the {@link BookingIntervalIndex} and a {@link BookingChangedEvent}
+ * is published for it. Exposes
+ * {@code booking.sweeper.rows} (rows moved per sweep and transition), {@code booking.sweeper.duration}
+ * and {@code booking.sweeper.lag}, the age of the cut-off used by the last completed sweep.
+ * </p>
+ */
+@Component
+public class BookingStatusSweeper {
+    private static final List<BookingStatus> EXPIRING_STATUSES = List.of(BookingStatus.RESERVED, BookingStatus.ACTIVE);
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final Timer sweepTimer;
+    private final Map<BookingStatus, DistributionSummary> rowsPerSweep = new EnumMap<>(BookingStatus.class);
+
+    private volatile LocalDateTime lastCutoff = LocalDateTime.now();
+
+    public BookingStatusSweeper(BookingJdbcRepository bookingJdbcRepository,
+                                BookingIntervalIndex bookingIntervalIndex,
+                                ReferenceDataCache referenceDataCache,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry,
+                                @Value("${parking.booking-sweeper.chunk-size:1000}") int chunkSize) {
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.sweepTimer = Timer.builder("booking.sweeper.duration")
+                .description("Time spent per booking status sweep")
+                .register(meterRegistry);
+
+        for (BookingStatus status : EXPIRING_STATUSES) {
+            rowsPerSweep.put(status, DistributionSummary.builder("booking.sweeper.rows")
+                    .description("Bookings moved per sweep")
+                    .tag("from", status.name())
+                    .tag("to", status.expired().name())
+                    .register(meterRegistry));
+        }
+
+        Gauge.builder("booking.sweeper.lag", this,
+                        sweeper -> Duration.between(sweeper.lastCutoff, LocalDateTime.now()).toMillis() / 1000.0)
+                .description("Age of the cut-off of the last completed sweep")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            initialDelayString = "${parking.booking-sweeper.interval:PT1M}",
+            fixedDelayString = "${parking.booking-sweeper.interval:PT1M}"
+    )
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now();
+
+        sweepTimer.record(() -> {
+            for (BookingStatus status : EXPIRING_STATUSES) {
+                rowsPerSweep.get(status).record(expire(status, cutoff));
+            }
+        });
+        lastCutoff = cutoff;
+    }
+
+    private int expire(BookingStatus status, LocalDateTime cutoff) {
+        int total = 0;
+        int updated;
+        do {
+            List<Booking> expired = bookingJdbcRepository.expireChunk(status, cutoff, chunkSize);
+            expired.forEach(booking -> {
+                bookingIntervalIndex.remove(BookingInterval.of(booking));
+                publish(booking, status);
+            });
+            updated = expired.size();
+            total += updated;
+        } while (updated == chunkSize);
+
+        return total;
+    }
+
+    private void publish(Booking booking, BookingStatus previousStatus) {
+        referenceDataCache.findParkingSpot(booking.getParkingSpot().getId())
+                .map(ParkingSpotSnapshot::communityId)
+                .ifPresent(communityId ->
+                        eventPublisher.publishEvent(BookingChangedEvent.of(booking, communityId, previousStatus)));
+    }
+}
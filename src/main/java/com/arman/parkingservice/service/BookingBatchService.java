@@ -0,0 +1,209 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.dto.booking.BookingBatchItemResponse;
+import com.arman.parkingservice.dto.booking.BookingBatchRequestDto;
+import com.arman.parkingservice.dto.booking.BookingBatchResponse;
+import com.arman.parkingservice.dto.booking.BookingRequestDto;
+import com.arman.parkingservice.enums.BatchMode;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.event.SpotBookingsChangedEvent;
+import com.arman.parkingservice.exception.ResourceAlreadyUsedException;
+import com.arman.parkingservice.index.BookingInterval;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.lock.SpotLockStripes;
+import com.arman.parkingservice.mapper.BookingMapper;
+import com.arman.parkingservice.persistence.BookingConstraints;
+import com.arman.parkingservice.persistence.entity.Booking;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.entity.Resident;
+import com.arman.parkingservice.persistence.repository.BookingJdbcRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.persistence.repository.ResidentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookingBatchService {
+    private final ResidentRepository residentRepository;
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final SpotLockStripes spotLockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates many bookings at once, reporting the outcome of every item.
+     * <p>
+     * All residents and all parking spots of the batch are resolved with one query each.
+     * Every item is then checked against the open bookings of its spot and against the items
+     * of the batch that precede it, while the lock stripes of all involved spots are held.
+     * Accepted items are inserted with a single JDBC batch in one transaction.
+     * </p>
+     * <p>
+     * In {@link BatchMode#ALL_OR_NOTHING} mode nothing is created if any item fails, in
+     * {@link BatchMode#BEST_EFFORT} mode every valid item is created.
+     * </p>
+     *
+     * @param batchRequestDto the bookings to create and the batch mode
+     * @return {@link BookingBatchResponse} with the result of every item, in request order
+     * @throws ResourceAlreadyUsedException if a spot of the batch was booked concurrently by
+     *                                      another instance; nothing is created in that case
+     */
+    public BookingBatchResponse addBookings(BookingBatchRequestDto batchRequestDto) {
+        List<BookingRequestDto> requests = batchRequestDto.getBookings();
+        String[] errors = new String[requests.size()];
+
+        Map<Long, Resident> residents = residentRepository
+                .findAllWithCommunityByIdIn(requests.stream().map(BookingRequestDto::getResidentId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Resident::getId, Function.identity()));
+        Map<Long, ParkingSpot> spots = parkingSpotRepository
+                .findAllWithCommunityByIdIn(requests.stream().map(BookingRequestDto::getParkingSpotId).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(ParkingSpot::getId, Function.identity()));
+
+        Map<Integer, Booking> candidates = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequestDto request = requests.get(i);
+            Resident resident = residents.get(request.getResidentId());
+            ParkingSpot spot = spots.get(request.getParkingSpotId());
+
+            if (!request.getStartTime().isBefore(request.getEndTime())) {
+                errors[i] = "Start time cannot equal or come after end time";
+            } else if (resident == null) {
+                errors[i] = "Resident with the following id not found: " + request.getResidentId();
+            } else if (spot == null) {
+                errors[i] = "Parking spot with the following id not found: " + request.getParkingSpotId();
+            } else if (!resident.getCommunity().getId().equals(spot.getCommunity().getId())) {
+                errors[i] = "Resident " + resident.getId() + " is not part of community " + spot.getCommunity().getId();
+            } else {
+                candidates.put(i, bookingMapper.mapRequestToBooking(request, resident, spot));
+            }
+        }
+
+        Set<Long> spotIds = candidates.values().stream()
+                .map(booking -> booking.getParkingSpot().getId())
+                .collect(Collectors.toSet());
+
+        List<Booking> created = spotLockStripes.withLocks(spotIds, () -> {
+            checkOverlaps(candidates, errors);
+            if (batchRequestDto.getMode() == BatchMode.ALL_OR_NOTHING && Arrays.stream(errors).anyMatch(Objects::nonNull)) {
+                return List.of();
+            }
+
+            List<Booking> accepted = new ArrayList<>();
+            candidates.forEach((i, booking) -> {
+                if (errors[i] == null) {
+                    accepted.add(booking);
+                }
+            });
+            insertAll(accepted);
+            accepted.forEach(booking -> bookingIntervalIndex.add(BookingInterval.of(booking)));
+
+            return accepted;
+        });
+        created.forEach(booking -> eventPublisher.publishEvent(BookingChangedEvent.of(booking, null)));
+
+        return buildResponse(batchRequestDto.getMode(), requests.size(), candidates, errors, created.isEmpty());
+    }
+
+    /**
+     * Marks every candidate that overlaps an open booking of its spot, or an earlier
+     * candidate of the batch on the same spot.
+     */
+    private void checkOverlaps(Map<Integer, Booking> candidates, String[] errors) {
+        Map<Long, NavigableMap<LocalDateTime, Booking>> acceptedBySpot = new HashMap<>();
+
+        candidates.forEach((i, booking) -> {
+            Long spotId = booking.getParkingSpot().getId();
+            LocalDateTime start = booking.getStartTime();
+            LocalDateTime end = booking.getEndTime();
+
+            if (bookingIntervalIndex.findOverlap(spotId, start, end).isPresent()) {
+                errors[i] = "This parking spot is already booked between " + start + " and " + end;
+                return;
+            }
+
+            NavigableMap<LocalDateTime, Booking> accepted = acceptedBySpot.computeIfAbsent(spotId, id -> new TreeMap<>());
+            Map.Entry<LocalDateTime, Booking> previous = accepted.lowerEntry(end);
+            if (previous != null && previous.getValue().getEndTime().isAfter(start)) {
+                errors[i] = "This parking spot is already booked between " + start + " and " + end
+                        + " by another booking of the batch";
+                return;
+            }
+            accepted.put(start, booking);
+        });
+    }
+
+    private void insertAll(List<Booking> bookings) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookingJdbcRepository.insertAll(bookings));
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingConstraints.isOverlapViolation(ex)) {
+                bookings.stream()
+                        .map(Booking::getParkingSpot)
+                        .distinct()
+                        .forEach(spot -> {
+                            bookingIntervalIndex.invalidate(spot.getId());
+                            eventPublisher.publishEvent(new SpotBookingsChangedEvent(spot.getId(), spot.getCommunity().getId()));
+                        });
+                throw new ResourceAlreadyUsedException(
+                        "Some of the parking spots were booked concurrently, no booking of the batch was created");
+            }
+            throw ex;
+        }
+    }
+
+    private BookingBatchResponse buildResponse(BatchMode mode,
+                                               int size,
+                                               Map<Integer, Booking> candidates,
+                                               String[] errors,
+                                               boolean nothingCreated) {
+        List<BookingBatchItemResponse> items = new ArrayList<>(size);
+        int createdCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            BookingBatchItemResponse item = new BookingBatchItemResponse();
+            item.setIndex(i);
+
+            if (errors[i] != null) {
+                item.setError(errors[i]);
+            } else if (nothingCreated) {
+                item.setError("Not created, because other bookings of the batch failed");
+            } else {
+                item.setCreated(true);
+                item.setBooking(bookingMapper.mapToResponse(candidates.get(i)));
+                createdCount++;
+            }
+            items.add(item);
+        }
+
+        BookingBatchResponse response = new BookingBatchResponse();
+        response.setMode(mode);
+        response.setCreated(createdCount);
+        response.setFailed(size - createdCount);
+        response.setItems(items);
+
+        return response;
+    }
+}
@@ -0,0 +1,152 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.dto.booking.BookingExportRow;
+import com.arman.parkingservice.enums.DataFormat;
+import com.arman.parkingservice.exception.InvalidBookingPeriodException;
+import com.arman.parkingservice.exception.ResourceNotFoundException;
+import com.arman.parkingservice.persistence.repository.BookingJdbcRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+@Service
+public class BookingExportService {
+    private static final String CSV_HEADER = "bookingId,residentId,firstName,lastName,spotId,code,"
+            + "startTime,endTime,status,actualStartTime,actualEndTime";
+
+    private final ReferenceDataCache referenceDataCache;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final ObjectWriter jsonWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public BookingExportService(ReferenceDataCache referenceDataCache,
+                                BookingJdbcRepository bookingJdbcRepository,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${parking.export.fetch-size:1000}") int fetchSize) {
+        this.referenceDataCache = referenceDataCache;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Exports the bookings of a community overlapping the window [from, to) as NDJSON or CSV.
+     * <p>
+     * The community and the window are checked up front; the returned body then streams the
+     * bookings straight from a forward-only JDBC cursor of {@code fetch-size} rows to the
+     * response, in one read-only transaction and without a persistence context, so memory use
+     * does not depend on the number of bookings. Statuses are reported as the sweeper will
+     * leave them, like in the resident's booking list.
+     * </p>
+     *
+     * @param communityId the community's ID
+     * @param from        the window's start
+     * @param to          the window's end
+     * @param format      the format of the export
+     * @return the response body writing the export
+     * @throws ResourceNotFoundException     if no community exists with the given ID
+     * @throws InvalidBookingPeriodException if the window is empty
+     */
+    public StreamingResponseBody exportBookings(Long communityId, LocalDateTime from, LocalDateTime to,
+                                                DataFormat format) {
+        referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + communityId));
+        if (!from.isBefore(to)) {
+            throw new InvalidBookingPeriodException("Start time cannot equal or come after end time");
+        }
+
+        return out -> {
+            try {
+                if (format == DataFormat.CSV) {
+                    writeCsv(communityId, from, to, out);
+                } else {
+                    writeNdjson(communityId, from, to, out);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private void writeNdjson(Long communityId, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            stream(communityId, from, to, row -> {
+                try {
+                    jsonWriter.writeValue(generator, row);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(Long communityId, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException {
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+            stream(communityId, from, to, row -> {
+                try {
+                    writer.write(String.join(",",
+                            String.valueOf(row.bookingId()),
+                            String.valueOf(row.residentId()),
+                            csvField(row.firstName()),
+                            csvField(row.lastName()),
+                            String.valueOf(row.spotId()),
+                            csvField(row.code()),
+                            row.startTime().toString(),
+                            row.endTime().toString(),
+                            row.status().name(),
+                            row.actualStartTime() == null ? "" : row.actualStartTime().toString(),
+                            row.actualEndTime() == null ? "" : row.actualEndTime().toString()
+                    ));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void stream(Long communityId, LocalDateTime from, LocalDateTime to, Consumer<BookingExportRow> consumer) {
+        LocalDateTime now = LocalDateTime.now();
+
+        readOnlyTransaction.executeWithoutResult(status -> bookingJdbcRepository.streamByCommunity(
+                communityId, from, to, fetchSize, row -> consumer.accept(row.asOf(now))));
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,221 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.dto.bookingseries.BookingSeriesCreateDto;
+import com.arman.parkingservice.dto.bookingseries.BookingSeriesResponse;
+import com.arman.parkingservice.enums.BookingSeriesStatus;
+import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.event.SpotBookingsChangedEvent;
+import com.arman.parkingservice.exception.*;
+import com.arman.parkingservice.index.BookingInterval;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.lock.SpotLockStripes;
+import com.arman.parkingservice.mapper.BookingSeriesMapper;
+import com.arman.parkingservice.persistence.BookingConstraints;
+import com.arman.parkingservice.persistence.entity.Booking;
+import com.arman.parkingservice.persistence.entity.BookingSeries;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.entity.Resident;
+import com.arman.parkingservice.persistence.repository.BookingJdbcRepository;
+import com.arman.parkingservice.persistence.repository.BookingRepository;
+import com.arman.parkingservice.persistence.repository.BookingSeriesRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.persistence.repository.ResidentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BookingSeriesService {
+    private static final int MAX_OCCURRENCES = 500;
+    private static final Period MAX_RANGE = Period.ofYears(2);
+
+    private final BookingSeriesRepository bookingSeriesRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final ResidentRepository residentRepository;
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final BookingSeriesMapper bookingSeriesMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final SpotLockStripes spotLockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a recurring booking series and books all of its upcoming occurrences
+     * <p>
+     * The recurrence rule is expanded server-side into occurrences ordered by start time, which
+     * are merge-joined against the spot's open bookings, themselves ordered by start time, in a
+     * single pass. The series and all free occurrences are then inserted in one transaction,
+     * the occurrences with one JDBC batch.
+     * </p>
+     *
+     * @param bookingSeriesCreateDto DTO containing the series' pattern, range and daily window
+     * @return {@link BookingSeriesResponse} with the series and the number of booked occurrences
+     * @throws InvalidRecurrenceRuleException    if the recurrence rule cannot be parsed
+     * @throws InvalidBookingPeriodException     if the date range or daily window is incorrect,
+     *                                           the range is longer than two years, or it yields
+     *                                           no or too many occurrences
+     * @throws ResourceNotFoundException         if given incorrect IDs
+     * @throws BookingCommunityMismatchException if resident is not from the spot's community
+     * @throws ResourceAlreadyUsedException      if an occurrence is already booked and conflicts
+     *                                           are not skipped, or if all occurrences are booked
+     */
+    public BookingSeriesResponse addSeries(BookingSeriesCreateDto bookingSeriesCreateDto) {
+        if (bookingSeriesCreateDto.getEndDate().isBefore(bookingSeriesCreateDto.getStartDate())) {
+            throw new InvalidBookingPeriodException("Series end date cannot come before its start date");
+        }
+        if (bookingSeriesCreateDto.getEndDate().isAfter(bookingSeriesCreateDto.getStartDate().plus(MAX_RANGE))) {
+            throw new InvalidBookingPeriodException("A series can span at most " + MAX_RANGE.getYears() + " years");
+        }
+        if (bookingSeriesCreateDto.getStartTime().equals(bookingSeriesCreateDto.getEndTime())) {
+            throw new InvalidBookingPeriodException("Start time cannot equal end time");
+        }
+        RecurrenceRule rule = RecurrenceRule.parse(bookingSeriesCreateDto.getRecurrence());
+
+        Resident resident = residentRepository.findWithCommunityById(bookingSeriesCreateDto.getResidentId())
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Resident with the following id not found: "
+                                + bookingSeriesCreateDto.getResidentId())
+                );
+
+        ParkingSpot spot = parkingSpotRepository.findWithCommunityById(bookingSeriesCreateDto.getParkingSpotId())
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Parking spot with the following id not found: "
+                                + bookingSeriesCreateDto.getParkingSpotId()));
+
+        if (!resident.getCommunity().getId().equals(spot.getCommunity().getId())) {
+            throw new BookingCommunityMismatchException(
+                    "Resident " + resident.getId() +
+                            " is not part of community " +
+                            spot.getCommunity().getId()
+            );
+        }
+
+        BookingSeries series = bookingSeriesMapper.mapCreateToSeries(bookingSeriesCreateDto, resident, spot);
+        List<Booking> occurrences = expand(series, rule);
+
+        return spotLockStripes.withLock(spot.getId(), () -> {
+            List<Booking> free = new ArrayList<>(occurrences.size());
+            List<LocalDateTime> skipped = new ArrayList<>();
+            mergeWithOpenBookings(spot.getId(), occurrences, free, skipped);
+
+            if (!skipped.isEmpty() && !bookingSeriesCreateDto.isSkipConflicts()) {
+                throw new ResourceAlreadyUsedException(
+                        "This parking spot is already booked for " + skipped.size() +
+                                " occurrences of the series, the first one starting at " + skipped.get(0));
+            }
+            if (free.isEmpty()) {
+                throw new ResourceAlreadyUsedException("This parking spot is already booked for every occurrence of the series");
+            }
+
+            BookingSeries savedSeries = insertSeries(series, free);
+            free.forEach(booking -> bookingIntervalIndex.add(BookingInterval.of(booking)));
+
+            free.forEach(booking -> eventPublisher.publishEvent(BookingChangedEvent.of(booking, null)));
+
+            return bookingSeriesMapper.mapToResponse(savedSeries, free.size(), skipped);
+        });
+    }
+
+    /**
+     * Cancels a booking series together with all of its upcoming RESERVED bookings
+     * <p>
+     * The bookings are cancelled with a single set-based update. Bookings that already
+     * started stay untouched.
+     * </p>
+     *
+     * @param id the series' ID
+     * @return The cancelled {@link BookingSeriesResponse}, with the number of cancelled bookings
+     * @throws ResourceNotFoundException if no series is found with the given ID
+     * @throws BookingEndedException     if the series is already cancelled
+     */
+    public BookingSeriesResponse cancelSeries(Long id) {
+        BookingSeries series = bookingSeriesRepository.findWithGraphById(id)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Booking series with the following id not found: " + id)
+                );
+        if (series.getSeriesStatus().equals(BookingSeriesStatus.CANCELLED)) {
+            throw new BookingEndedException("Booking series " + id + " is already cancelled");
+        }
+
+        Integer cancelled = transactionTemplate.execute(status -> {
+            series.setSeriesStatus(BookingSeriesStatus.CANCELLED);
+            bookingSeriesRepository.save(series);
+
+            return bookingRepository.cancelUpcomingBySeries(
+                    id, LocalDateTime.now(), BookingStatus.RESERVED, BookingStatus.CANCELLED);
+        });
+        bookingIntervalIndex.invalidate(series.getParkingSpot().getId());
+        eventPublisher.publishEvent(new SpotBookingsChangedEvent(
+                series.getParkingSpot().getId(), series.getParkingSpot().getCommunity().getId()));
+
+        return bookingSeriesMapper.mapToResponse(series, cancelled == null ? 0 : cancelled, List.of());
+    }
+
+    private List<Booking> expand(BookingSeries series, RecurrenceRule rule) {
+        // one more than allowed, to tell a full series from one that is too long
+        List<RecurrenceRule.Window> windows = rule.windows(series.getStartDate(), series.getEndDate(),
+                series.getStartTime(), series.getEndTime(), LocalDateTime.now(), MAX_OCCURRENCES + 1);
+
+        if (windows.isEmpty()) {
+            throw new InvalidBookingPeriodException("The series has no upcoming occurrences in the given date range");
+        }
+        if (windows.size() > MAX_OCCURRENCES) {
+            throw new InvalidBookingPeriodException(
+                    "The series has more than " + MAX_OCCURRENCES + " occurrences");
+        }
+        return windows.stream()
+                .map(window -> bookingSeriesMapper.mapOccurrenceToBooking(series, window.start(), window.end()))
+                .toList();
+    }
+
+    /**
+     * Splits the occurrences into free and booked ones. Both the occurrences and the spot's
+     * open bookings are ordered by start time and never overlap among themselves, so one
+     * forward pass over both lists finds every conflict.
+     */
+    private void mergeWithOpenBookings(Long spotId, List<Booking> occurrences, List<Booking> free, List<LocalDateTime> skipped) {
+        List<BookingInterval> open = bookingIntervalIndex.getIntervals(spotId);
+        int next = 0;
+
+        for (Booking occurrence : occurrences) {
+            while (next < open.size() && !open.get(next).endTime().isAfter(occurrence.getStartTime())) {
+                next++;
+            }
+            if (next < open.size() && open.get(next).startTime().isBefore(occurrence.getEndTime())) {
+                skipped.add(occurrence.getStartTime());
+            } else {
+                free.add(occurrence);
+            }
+        }
+    }
+
+    private BookingSeries insertSeries(BookingSeries series, List<Booking> occurrences) {
+        try {
+            return transactionTemplate.execute(status -> {
+                BookingSeries savedSeries = bookingSeriesRepository.save(series);
+                occurrences.forEach(booking -> booking.setSeries(savedSeries));
+                bookingJdbcRepository.insertAll(occurrences);
+
+                return savedSeries;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingConstraints.isOverlapViolation(ex)) {
+                bookingIntervalIndex.invalidate(series.getParkingSpot().getId());
+                eventPublisher.publishEvent(new SpotBookingsChangedEvent(
+                        series.getParkingSpot().getId(), series.getParkingSpot().getCommunity().getId()));
+                throw new ResourceAlreadyUsedException("This parking spot was booked concurrently for an occurrence of the series");
+            }
+            throw ex;
+        }
+    }
+}
@@ -1,36 +1,71 @@
 package com.arman.parkingservice.service;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.cache.ResidentSnapshot;
+import com.arman.parkingservice.criteria.Cursor;
 import com.arman.parkingservice.criteria.SearchCriteria;
 import com.arman.parkingservice.dto.PageResponseDto;
+import com.arman.parkingservice.dto.booking.AutoBookingRequestDto;
 import com.arman.parkingservice.dto.booking.BookingRequestDto;
 import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
 import com.arman.parkingservice.enums.BookingPeriod;
 import com.arman.parkingservice.enums.BookingStatus;
+import com.arman.parkingservice.event.BookingChangedEvent;
+import com.arman.parkingservice.event.SpotBookingsChangedEvent;
 import com.arman.parkingservice.exception.*;
+import com.arman.parkingservice.index.BookingInterval;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.index.CommunityOccupancyIndex;
+import com.arman.parkingservice.lock.SpotLockStripes;
 import com.arman.parkingservice.mapper.BookingMapper;
+import com.arman.parkingservice.metrics.BookingMetrics;
+import com.arman.parkingservice.persistence.BookingConstraints;
 import com.arman.parkingservice.persistence.entity.Booking;
-import com.arman.parkingservice.persistence.entity.ParkingSpot;
-import com.arman.parkingservice.persistence.entity.Resident;
+import com.arman.parkingservice.persistence.repository.BookingJdbcRepository;
+import com.arman.parkingservice.persistence.repository.BookingHistoryRepository;
 import com.arman.parkingservice.persistence.repository.BookingRepository;
 import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
 import com.arman.parkingservice.persistence.repository.ResidentRepository;
 import com.arman.parkingservice.exception.BookingEndedException;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
     private final BookingRepository bookingRepository;
+    private final BookingHistoryRepository bookingHistoryRepository;
     private final ResidentRepository residentRepository;
     private final ParkingSpotRepository parkingSpotRepository;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final SpotLockStripes spotLockStripes;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReferenceDataCache referenceDataCache;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final BookingMetrics bookingMetrics;
+    private final FreeWindowService freeWindowService;
+    private final CommunityOccupancyIndex communityOccupancyIndex;
 
     /**
      * Creates a new booking for the given resident and parking spot
@@ -38,13 +73,26 @@ public class BookingService {
      * Validates the resident and parking spot, checks for collisions
      * and if successful, creates a booking.
      * </p>
+     * <p>
+     * The collision check and the insert run in one transaction while holding the lock
+     * stripe of the spot, so concurrent writers are serialized per spot only. The
+     * {@code booking_no_overlap} exclusion constraint rejects anything that slips past
+     * the lock, e.g. a booking written by another instance.
+     * </p>
+     * <p>
+     * Resident, spot and community come from {@link ReferenceDataCache}, so validating them
+     * costs no database round-trip once they are cached. The locked part and the overlap check
+     * are timed by {@link BookingMetrics} under the spot's community.
+     * </p>
      *
      * @param bookingRequestDto DTO containing detailed information about the booking
      * @return The saved {@link BookingResponse} with booking details
      * @throws BookingCommunityMismatchException if resident is not from the community
      * @throws InvalidBookingPeriodException     if given incorrect time range or
      * @throws ResourceNotFoundException    if given incorrect IDs'
-     * @throws ResourceAlreadyUsedException if the given time slot has bookings
+     * @throws ResourceAlreadyUsedException if the given time slot has bookings; a
+     * {@link BookingConflictException} with the nearest free windows when the overlap is
+     * found before the insert
      */
     public BookingResponse addBooking(BookingRequestDto bookingRequestDto) {
         if (bookingRequestDto.getStartTime().isAfter(bookingRequestDto.getEndTime())
@@ -52,55 +100,155 @@ public class BookingService {
             throw new InvalidBookingPeriodException("Start time cannot equal or come after end time");
         }
 
-        Resident resident = residentRepository.findById(bookingRequestDto.getResidentId())
+        ResidentSnapshot resident = referenceDataCache.findResident(bookingRequestDto.getResidentId())
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Resident with the following id not found: "
                                 + bookingRequestDto.getResidentId())
                 );
 
-        ParkingSpot spot = parkingSpotRepository.findById(bookingRequestDto.getParkingSpotId())
+        ParkingSpotSnapshot spot = referenceDataCache.findParkingSpot(bookingRequestDto.getParkingSpotId())
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Parking spot with the following id not found: "
                                 + bookingRequestDto.getParkingSpotId()));
 
-        if (resident.getCommunity().getId().equals(spot.getCommunity().getId())) {
-            checkOverlap(spot, bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime());
-
-            Booking booking = bookingMapper.mapRequestToBooking(bookingRequestDto, resident, spot);
-            Booking savedBooking = bookingRepository.save(booking);
-
-
-            return bookingMapper.mapToResponse(savedBooking);
+        if (resident.communityId().equals(spot.communityId())) {
+            CommunitySnapshot community = referenceDataCache.findCommunity(spot.communityId())
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException("Community with the following id not found: "
+                                    + spot.communityId()));
+
+            return bookingMetrics.record("add-booking", community.id(), () -> {
+                Booking savedBooking = spotLockStripes.withLock(spot.id(), () -> {
+                    Booking booking = transactionTemplate.execute(status -> {
+                        bookingMetrics.record("check-overlap", community.id(), () -> checkOverlap(
+                                spot, bookingRequestDto.getStartTime(), bookingRequestDto.getEndTime()));
+
+                        return insertBooking(bookingMapper.mapRequestToBooking(
+                                bookingRequestDto,
+                                residentRepository.getReferenceById(resident.id()),
+                                parkingSpotRepository.getReferenceById(spot.id())
+                        ), community.id());
+                    });
+                    bookingIntervalIndex.add(BookingInterval.of(booking));
+
+                    return booking;
+                });
+                eventPublisher.publishEvent(BookingChangedEvent.of(savedBooking, community.id(), null));
+
+                return bookingMapper.mapToResponse(savedBooking, resident, spot, community);
+            });
         }
         throw new BookingCommunityMismatchException(
-                "Resident " + resident.getId() +
+                "Resident " + resident.id() +
                         " is not part of community " +
-                        spot.getCommunity().getId()
+                        spot.communityId()
         );
     }
 
     /**
-     * Fetches a book by its unique identifier
+     * Books any free parking spot of the community for the requested window.
+     * <p>
+     * Candidates are the spots free during the window according to
+     * {@link CommunityOccupancyIndex}, or all spots of the community checked against
+     * {@link BookingIntervalIndex} outside its horizon. They are tried best fit first: spots
+     * whose free gap around the window is closed by bookings on both sides come first, then
+     * those closed on one side, each with the smallest leftover first, so that long free
+     * stretches stay available for long bookings. Ties keep the code order.
+     * </p>
+     * <p>
+     * Each candidate is checked and booked like in {@link #addBooking}, in one transaction under
+     * the spot's lock stripe. A stripe held by a concurrent writer is skipped instead of waited
+     * for; the skipped spots are only tried again, waiting, once every other candidate failed.
+     * </p>
+     *
+     * @param communityId the community to book in
+     * @param request     the resident and the window
+     * @return The saved {@link BookingResponse} with the assigned spot
+     * @throws BookingCommunityMismatchException if resident is not from the community
+     * @throws InvalidBookingPeriodException     if given incorrect time range
+     * @throws ResourceNotFoundException         if given incorrect IDs
+     * @throws ResourceAlreadyUsedException      if no spot of the community is free during the window
+     */
+    public BookingResponse autoBook(Long communityId, AutoBookingRequestDto request) {
+        LocalDateTime start = request.getStartTime();
+        LocalDateTime end = request.getEndTime();
+        if (!start.isBefore(end)) {
+            throw new InvalidBookingPeriodException("Start time cannot equal or come after end time");
+        }
+
+        CommunitySnapshot community = referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Community with the following id not found: " + communityId));
+        ResidentSnapshot resident = referenceDataCache.findResident(request.getResidentId())
+                .orElseThrow(() ->
+                        new ResourceNotFoundException("Resident with the following id not found: "
+                                + request.getResidentId()));
+        if (!resident.communityId().equals(community.id())) {
+            throw new BookingCommunityMismatchException(
+                    "Resident " + resident.id() + " is not part of community " + community.id());
+        }
+
+        return bookingMetrics.record("auto-book", community.id(), () -> {
+            List<Long> candidates = rankCandidates(community.id(), start, end);
+            List<Long> locked = new ArrayList<>();
+
+            Booking booking = null;
+            for (int i = 0; i < candidates.size() && booking == null; i++) {
+                Long spotId = candidates.get(i);
+                booking = spotLockStripes.tryWithLock(spotId,
+                        () -> bookIfFree(spotId, resident.id(), community.id(), start, end),
+                        () -> {
+                            locked.add(spotId);
+                            return null;
+                        });
+            }
+            for (int i = 0; i < locked.size() && booking == null; i++) {
+                Long spotId = locked.get(i);
+                booking = spotLockStripes.withLock(spotId,
+                        () -> bookIfFree(spotId, resident.id(), community.id(), start, end));
+            }
+            if (booking == null) {
+                throw new ResourceAlreadyUsedException(
+                        "No parking spot of community " + community.id() + " is free between " + start + " and " + end);
+            }
+            eventPublisher.publishEvent(BookingChangedEvent.of(booking, community.id(), null));
+
+            Long spotId = booking.getParkingSpot().getId();
+            ParkingSpotSnapshot spot = referenceDataCache.findParkingSpot(spotId)
+                    .orElseThrow(() ->
+                            new ResourceNotFoundException("Parking spot with the following id not found: " + spotId));
+            return bookingMapper.mapToResponse(booking, resident, spot, community);
+        });
+    }
+
+    /**
+     * Fetches a book by its unique identifier, from the archived partitions if it is not live
      *
      * @param id the booking's ID
      * @return {@link BookingResponse} with booking details
      * @throws ResourceNotFoundException if no {@link Booking} found with the given ID
      */
     public BookingResponse getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        BookingResponse bookingResponse = bookingRepository.findResponseById(id)
+                .or(() -> bookingHistoryRepository.findResponseById(id))
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Booking with the following id not found: " + id)
                 );
 
-        return bookingMapper.mapToResponse(booking);
+        return bookingResponse;
     }
 
     /**
      * Retrieves a paginated list of bookings by the resident, given the period
      * <p>
      * Depending on {@code period}, returns past(COMPLETED), current(RESERVED or ACTIVE),
-     * future(RESERVED), cancelled or all bookings. Automatically updates every booking's status
-     * if needed.
+     * future(RESERVED), cancelled or all bookings. The read never writes: bookings whose window
+     * has ended but which {@link com.arman.parkingservice.scheduler.BookingStatusSweeper} has not
+     * reached yet are reported with the status the sweeper will give them. Rows are read straight
+     * into {@link BookingResponse} with one statement per page. Bookings are ordered
+     * by id, so when the criteria carry a cursor the page following it is fetched by id instead,
+     * without totals. With {@code withTotal=false} the count query is skipped. PAST and ALL
+     * also read the archived partitions through {@link BookingHistoryRepository}.
      * </p>
      *
      * @param residentId the resident's ID
@@ -109,6 +257,7 @@ public class BookingService {
      * @return {@link PageResponseDto}&lt;{@link BookingResponse}&gt; containing the
      * requested page of bookings and pagination metadata
      */
+    @Transactional(readOnly = true)
     public PageResponseDto<BookingResponse> getAllBookingsByResident(
             Long residentId,
             BookingPeriod period,
@@ -116,9 +265,22 @@ public class BookingService {
     ) {
         LocalDateTime now = LocalDateTime.now();
 
-        Page<Booking> pageBooking = switch (period) {
-            case PAST -> bookingRepository
-                    .findByResident_IdAndEndTimeBeforeAndBookingStatus(
+        if (criteria.getAfter() != null) {
+            Long afterId = criteria.cursor().id();
+            Slice<BookingResponse> slice = findBookingsAfter(residentId, period, now, afterId, criteria.buildSeekRequest());
+
+            return PageResponseDto.from(slice.map(booking -> asOf(booking, now)), BookingService::cursorOf);
+        }
+
+        if (!criteria.isWithTotal()) {
+            Slice<BookingResponse> slice = findBookingsSlice(residentId, period, now, criteria.buildPageRequest());
+
+            return PageResponseDto.from(slice.map(booking -> asOf(booking, now)), BookingService::cursorOf);
+        }
+
+        Page<BookingResponse> page = switch (period) {
+            case PAST -> bookingHistoryRepository
+                    .findPastByResident(
                             residentId,
                             now,
                             BookingStatus.COMPLETED,
@@ -133,158 +295,330 @@ public class BookingService {
                             criteria.buildPageRequest()
                     );
             case FUTURE -> bookingRepository
-                    .findByResident_idAndStartTimeAfterAndBookingStatus(
+                    .findFutureByResident(
                             residentId,
                             now,
                             BookingStatus.RESERVED,
                             criteria.buildPageRequest()
                     );
             case CANCELLED -> bookingRepository
-                    .findByResident_IdAndBookingStatus(
+                    .findByResidentAndStatus(
                             residentId,
                             BookingStatus.CANCELLED,
                             criteria.buildPageRequest()
                     );
-            case ALL -> bookingRepository
-                    .findByResident_Id(residentId, criteria.buildPageRequest());
+            case ALL -> bookingHistoryRepository
+                    .findAllByResident(residentId, criteria.buildPageRequest());
         };
 
-        return PageResponseDto.from(pageBooking.map(booking -> {
-            if (booking.getBookingStatus().equals(BookingStatus.CANCELLED)) return booking;
-            else if (now.isAfter(booking.getEndTime())) {
-                if (booking.getBookingStatus().equals(BookingStatus.RESERVED)) {
-                    booking.setBookingStatus(BookingStatus.CANCELLED);
-                    bookingRepository.save(booking);
-                } else if (booking.getBookingStatus().equals(BookingStatus.ACTIVE)) {
-                    booking.setBookingStatus(BookingStatus.COMPLETED);
-                    bookingRepository.save(booking);
-                }
-            }
-            return booking;
-        }).map(bookingMapper::mapToResponse));
+        return PageResponseDto.from(page.map(booking -> asOf(booking, now)), BookingService::cursorOf);
+    }
+
+    private Slice<BookingResponse> findBookingsSlice(Long residentId, BookingPeriod period, LocalDateTime now,
+                                                     Pageable pageable) {
+        return switch (period) {
+            case PAST -> bookingHistoryRepository
+                    .findPastSliceByResident(
+                            residentId,
+                            now,
+                            BookingStatus.COMPLETED,
+                            pageable
+                    );
+            case CURRENT -> bookingRepository
+                    .findCurrentSliceByResident(
+                            residentId,
+                            now,
+                            List.of(BookingStatus.RESERVED, BookingStatus.ACTIVE),
+                            pageable
+                    );
+            case FUTURE -> bookingRepository
+                    .findFutureSliceByResident(
+                            residentId,
+                            now,
+                            BookingStatus.RESERVED,
+                            pageable
+                    );
+            case CANCELLED -> bookingRepository
+                    .findSliceByResidentAndStatus(
+                            residentId,
+                            BookingStatus.CANCELLED,
+                            pageable
+                    );
+            case ALL -> bookingHistoryRepository
+                    .findAllSliceByResident(residentId, pageable);
+        };
+    }
+
+    private Slice<BookingResponse> findBookingsAfter(Long residentId, BookingPeriod period, LocalDateTime now,
+                                                     Long afterId, Pageable pageable) {
+        return switch (period) {
+            case PAST -> bookingHistoryRepository
+                    .findPastByResidentAfter(
+                            residentId,
+                            now,
+                            BookingStatus.COMPLETED,
+                            afterId,
+                            pageable
+                    );
+            case CURRENT -> bookingRepository
+                    .findCurrentByResidentAfter(
+                            residentId,
+                            now,
+                            List.of(BookingStatus.RESERVED, BookingStatus.ACTIVE),
+                            afterId,
+                            pageable
+                    );
+            case FUTURE -> bookingRepository
+                    .findFutureByResidentAfter(
+                            residentId,
+                            now,
+                            BookingStatus.RESERVED,
+                            afterId,
+                            pageable
+                    );
+            case CANCELLED -> bookingRepository
+                    .findByResidentAndStatusAfter(
+                            residentId,
+                            BookingStatus.CANCELLED,
+                            afterId,
+                            pageable
+                    );
+            case ALL -> bookingHistoryRepository
+                    .findAllByResidentAfter(residentId, afterId, pageable);
+        };
+    }
+
+    private static BookingResponse asOf(BookingResponse booking, LocalDateTime now) {
+        if (now.isAfter(booking.getEndTime())) {
+            booking.setBookingStatus(booking.getBookingStatus().expired());
+        }
+        return booking;
+    }
+
+    private static Cursor cursorOf(BookingResponse booking) {
+        return Cursor.of(null, booking.getBookingId());
     }
 
 
     /**
      * Marks a RESERVED booking as ACTIVE (parked), if called during its window
      * <p>
-     * Validates booking's existence and it being in state RESERVED, also checking the current time
-     * being between startTime and endTime. Updates status to ACTIVE and records actualStartTime
+     * Checks and changes the booking with one conditional update, recording actualStartTime.
+     * Only if nothing was updated is the booking read again to tell why.
      * </p>
      *
      * @param id the booking's ID
      * @return The updated {@link BookingResponse}
      * @throws ResourceNotFoundException    if no Booking is found with the given ID
-     * @throws ResourceAlreadyUsedException if the booking is not in RESERVED state
+     * @throws BookingNotReservedException  if the booking is not in RESERVED state
      * @throws BookingNotStartedException        if called before startTime
      * @throws BookingExpiredException  if called after endTime
      */
-    @Transactional
     public BookingResponse park(Long id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Booking with the following id not found: " + id)
-                );
-        if (!booking.getBookingStatus().equals(BookingStatus.RESERVED)) {
-            throw new BookingNotReservedException("Booking " + id + " cannot be parked because its status is "
-                    + booking.getBookingStatus());
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-        validateWithinBookingWindow(now, booking);
-
-        booking.setBookingStatus(BookingStatus.ACTIVE);
-        booking.setActualStartTime(now);
-        Booking savedBook = bookingRepository.save(booking);
-
-        return bookingMapper.mapToResponse(savedBook);
+        return bookingMetrics.record("park", () -> {
+            LocalDateTime now = LocalDateTime.now();
+            Booking booking = bookingJdbcRepository.park(id, now)
+                    .orElseThrow(() -> rejectTransition(id, BookingStatus.RESERVED, now, status ->
+                            new BookingNotReservedException("Booking " + id + " cannot be parked because its status is "
+                                    + status)));
+
+            return completeTransition(booking, BookingStatus.RESERVED);
+        }, BookingService::communityOf);
     }
 
     /**
      * Completes an ACTIVE booking if called during it's time window
      * <p>
-     * Validates booking's existence and current time being in given timeframe.
-     * Updates status to COMPLETED and records actualEndTime.
+     * Checks and changes the booking with one conditional update, recording actualEndTime.
+     * Only if nothing was updated is the booking read again to tell why.
      * </p>
      *
      * @param id the booking's ID
      * @return Updated {@link BookingResponse}
      * @throws ResourceNotFoundException if no Booking is found with the given ID
-     * @throws BookingNotActiveException     if booking is not ACTIVE, or called
-     *                                   before startTime or after endTime
+     * @throws BookingNotActiveException     if booking is not ACTIVE
+     * @throws BookingNotStartedException    if called before startTime
+     * @throws BookingExpiredException       if called after endTime
      */
-    @Transactional
     public BookingResponse release(Long id) {
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() ->
-                        new ResourceNotFoundException("Booking with the following id not found: " + id)
-                );
-        if (!booking.getBookingStatus().equals(BookingStatus.ACTIVE)) {
-            throw new BookingNotActiveException("Booking " + id + " cannot be released because its status is "
-                    + booking.getBookingStatus());
-        }
-
-        LocalDateTime now = LocalDateTime.now();
-        validateWithinBookingWindow(now, booking);
-
-        booking.setBookingStatus(BookingStatus.COMPLETED);
-        booking.setActualEndTime(now);
-        Booking savedBook = bookingRepository.save(booking);
-
-        return bookingMapper.mapToResponse(savedBook);
+        return bookingMetrics.record("release", () -> {
+            LocalDateTime now = LocalDateTime.now();
+            Booking booking = bookingJdbcRepository.release(id, now)
+                    .orElseThrow(() -> rejectTransition(id, BookingStatus.ACTIVE, now, status ->
+                            new BookingNotActiveException("Booking " + id + " cannot be released because its status is "
+                                    + status)));
+
+            return completeTransition(booking, BookingStatus.ACTIVE);
+        }, BookingService::communityOf);
     }
 
     /**
      * Cancels a RESERVED booking.
      * <p>
-     * Validates that the booking exists and is in state RESERVED. Updates status to CANCELLED.
+     * Checks and changes the booking with one conditional update. Only if nothing was updated
+     * is the booking read again to tell why.
      *
      * @param id the booking’s ID
      * @return The updated {@link BookingResponse}
      * @throws ResourceNotFoundException if no Booking is found with the given ID
-     * @throws BookingEndedException     if booking is already CANCELLED or not in RESERVED state
+     * @throws BookingEndedException     if booking is already CANCELLED
+     * @throws BookingNotReservedException if booking is not in RESERVED state
      */
     public BookingResponse cancel(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        return bookingMetrics.record("cancel", () -> {
+            Booking booking = bookingJdbcRepository.cancel(id)
+                    .orElseThrow(() -> {
+                        BookingStatus status = findBooking(id).getBookingStatus();
+                        if (status == BookingStatus.CANCELLED) {
+                            return new BookingEndedException("Booking " + id + " is already cancelled");
+                        }
+                        return new BookingNotReservedException("Booking " + id + " cannot be cancelled because its status is "
+                                + status);
+                    });
+
+            return completeTransition(booking, BookingStatus.RESERVED);
+        }, BookingService::communityOf);
+    }
+
+    private static Long communityOf(BookingResponse booking) {
+        return booking.getParkingSpot().getCommunity().getId();
+    }
+
+    /**
+     * Tells why a transition from {@code expectedStatus} did not update the booking. A booking
+     * found in the expected status after its window has ended is expired on the way.
+     */
+    private RuntimeException rejectTransition(Long id,
+                                              BookingStatus expectedStatus,
+                                              LocalDateTime now,
+                                              Function<BookingStatus, RuntimeException> wrongStatus) {
+        Booking booking = findBooking(id);
+        if (booking.getBookingStatus() != expectedStatus) {
+            return wrongStatus.apply(booking.getBookingStatus());
+        }
+        if (now.isBefore(booking.getStartTime())) {
+            return new BookingNotStartedException("The booking cannot be accessed, as the period did not start yet");
+        }
+        if (now.isAfter(booking.getEndTime())) {
+            bookingJdbcRepository.expire(id, expectedStatus, now)
+                    .ifPresent(expired -> completeTransition(expired, expectedStatus));
+            return new BookingExpiredException("The booking cannot be accessed, as the period has ended");
+        }
+        return wrongStatus.apply(booking.getBookingStatus());
+    }
+
+    private Booking findBooking(Long id) {
+        return bookingRepository.findById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Booking with the following id not found: " + id)
                 );
-        if (booking.getBookingStatus().equals(BookingStatus.CANCELLED)) {
-            throw new BookingEndedException("Booking " + id + " is already cancelled");
+    }
+
+    /**
+     * Updates the in-memory indexes after a committed transition and maps the booking,
+     * with resident, spot and community taken from {@link ReferenceDataCache}.
+     */
+    private BookingResponse completeTransition(Booking booking, BookingStatus previousStatus) {
+        ResidentSnapshot resident = referenceDataCache.findResident(booking.getResident().getId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Resident with the following id not found: " + booking.getResident().getId()));
+        ParkingSpotSnapshot spot = referenceDataCache.findParkingSpot(booking.getParkingSpot().getId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Parking spot with the following id not found: " + booking.getParkingSpot().getId()));
+        CommunitySnapshot community = referenceDataCache.findCommunity(spot.communityId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + spot.communityId()));
+
+        BookingChangedEvent event = BookingChangedEvent.of(booking, community.id(), previousStatus);
+        if (event.isFreed()) {
+            bookingIntervalIndex.remove(BookingInterval.of(booking));
         }
+        eventPublisher.publishEvent(event);
 
-        if (!booking.getBookingStatus().equals(BookingStatus.RESERVED)) {
-            throw new BookingNotReservedException("Booking " + id + " cannot be cancelled because its status is "
-                    + booking.getBookingStatus());
+        return bookingMapper.mapToResponse(booking, resident, spot, community);
+    }
+
+    /**
+     * Orders the spots of the community that are free during the window best fit first.
+     */
+    private List<Long> rankCandidates(Long communityId, LocalDateTime start, LocalDateTime end) {
+        record Candidate(Long spotId, int openSides, Duration leftover) {
+        }
+
+        List<ParkingSpotResponse> spots = communityOccupancyIndex.findFreeSpots(communityId, start, end)
+                .orElseGet(() -> parkingSpotRepository.findAllByCommunityIdOrderByCode(communityId));
+
+        return spots.stream()
+                .flatMap(spot -> bookingIntervalIndex.findEnclosingGap(spot.getId(), start, end).stream())
+                .map(gap -> new Candidate(
+                        gap.spotId(),
+                        (gap.startTime() == null ? 1 : 0) + (gap.freeUntil() == null ? 1 : 0),
+                        (gap.startTime() == null ? Duration.ZERO : Duration.between(gap.startTime(), start))
+                                .plus(gap.freeUntil() == null ? Duration.ZERO : Duration.between(end, gap.freeUntil()))
+                ))
+                .sorted(Comparator.comparingInt(Candidate::openSides).thenComparing(Candidate::leftover))
+                .map(Candidate::spotId)
+                .toList();
+    }
+
+    /**
+     * Books the spot unless it was booked during the window in the meantime. Must be called
+     * while holding the spot's lock stripe.
+     *
+     * @return the saved booking, or {@code null} if the spot is taken
+     */
+    private Booking bookIfFree(Long spotId, Long residentId, Long communityId, LocalDateTime start, LocalDateTime end) {
+        if (bookingIntervalIndex.findOverlap(spotId, start, end).isPresent()) {
+            return null;
         }
 
-        booking.setBookingStatus(BookingStatus.CANCELLED);
-        Booking savedBook = bookingRepository.save(booking);
+        BookingRequestDto bookingRequestDto = new BookingRequestDto();
+        bookingRequestDto.setResidentId(residentId);
+        bookingRequestDto.setParkingSpotId(spotId);
+        bookingRequestDto.setStartTime(start);
+        bookingRequestDto.setEndTime(end);
+
+        Booking booking;
+        try {
+            booking = transactionTemplate.execute(status -> insertBooking(bookingMapper.mapRequestToBooking(
+                    bookingRequestDto,
+                    residentRepository.getReferenceById(residentId),
+                    parkingSpotRepository.getReferenceById(spotId)
+            ), communityId));
+        } catch (ResourceAlreadyUsedException ex) {
+            // booked past the lock, e.g. by another instance
+            return null;
+        }
+        bookingIntervalIndex.add(BookingInterval.of(booking));
 
-        return bookingMapper.mapToResponse(savedBook);
+        return booking;
     }
 
-    private void validateWithinBookingWindow(LocalDateTime now, Booking booking) {
-        if (now.isBefore(booking.getStartTime())) {
-            throw new BookingNotStartedException("The booking cannot be accessed, as the period did not start yet");
-        } else if (now.isAfter(booking.getEndTime())) {
-            booking.setBookingStatus(BookingStatus.CANCELLED);
-            bookingRepository.save(booking);
-            throw new BookingExpiredException("The booking cannot be accessed, as the period has ended");
+    private Booking insertBooking(Booking booking, Long communityId) {
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            if (BookingConstraints.isOverlapViolation(ex)) {
+                bookingIntervalIndex.invalidate(booking.getParkingSpot().getId());
+                eventPublisher.publishEvent(new SpotBookingsChangedEvent(booking.getParkingSpot().getId(), communityId));
+                throw new ResourceAlreadyUsedException(
+                        "This parking spot is already booked between " +
+                                booking.getStartTime() + " and " + booking.getEndTime()
+                );
+            }
+            throw ex;
         }
     }
 
-    private void checkOverlap(ParkingSpot spot, LocalDateTime start, LocalDateTime end) {
-        boolean clash = bookingRepository.existsByParkingSpotAndBookingStatusInAndStartTimeLessThanAndEndTimeGreaterThan(
-                spot,
-                List.of(BookingStatus.RESERVED, BookingStatus.ACTIVE),
-                end,
-                start
-        );
-        if (clash) {
-            throw new ResourceAlreadyUsedException(
+    private void checkOverlap(ParkingSpotSnapshot spot, LocalDateTime start, LocalDateTime end) {
+        Optional<BookingInterval> clash = bookingIntervalIndex.findOverlap(spot.id(), start, end);
+        if (clash.isPresent()) {
+            throw new BookingConflictException(
                     "This parking spot is already booked between " +
-                            start + " and " + end
+                            start + " and " + end,
+                    clash.get().startTime(),
+                    clash.get().endTime(),
+                    freeWindowService.findAlternatives(spot, start, end)
             );
         }
     }
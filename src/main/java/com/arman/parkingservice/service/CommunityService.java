@@ -1,16 +1,25 @@
 package com.arman.parkingservice.service;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
 import com.arman.parkingservice.criteria.CommunitySearchCriteria;
+import com.arman.parkingservice.criteria.Cursor;
 import com.arman.parkingservice.dto.PageResponseDto;
 import com.arman.parkingservice.dto.community.CommunityCreateDto;
 import com.arman.parkingservice.dto.community.CommunityResponse;
+import com.arman.parkingservice.index.NameSearchIndex;
 import com.arman.parkingservice.persistence.entity.Community;
 import com.arman.parkingservice.persistence.repository.CommunityRepository;
 import com.arman.parkingservice.exception.ResourceNotFoundException;
 import com.arman.parkingservice.mapper.CommunityMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 
 @Service
@@ -18,6 +27,8 @@ import org.springframework.stereotype.Service;
 public class CommunityService {
     private final CommunityRepository communityRepository;
     private final CommunityMapper communityMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final NameSearchIndex nameSearchIndex;
 
     /**
      * Creates and persists a new Community.
@@ -32,6 +43,8 @@ public class CommunityService {
         Community community = communityMapper.mapCreateToCommunity(communityCreateDto);
 
         Community savedCommunity = communityRepository.save(community);
+        referenceDataCache.put(CommunitySnapshot.of(savedCommunity));
+        nameSearchIndex.addCommunity(savedCommunity.getId(), savedCommunity.getName());
 
         return communityMapper.mapToResponse(savedCommunity);
     }
@@ -63,14 +76,46 @@ public class CommunityService {
      * Uses {@link CommunitySearchCriteria} to filter and sort, then executes
      * a paged query via the repository. Wraps the resulting {@link Page}
      * of {@link CommunityResponse} DTOs into a {@link PageResponseDto}.
+     * When the criteria carry a cursor, the page following it is fetched by name and id
+     * instead, without totals. With {@code withTotal=false} the count query is skipped. A name
+     * filter is looked up in {@link NameSearchIndex} and only the matching ids are fetched,
+     * unless it matches too many.
      *
      * @param criteria the search and pagination parameters
      * @return a {@link PageResponseDto} containing the page of matching
      *         {@link CommunityResponse} objects and pagination metadata
      */
+    @Transactional(readOnly = true)
     public PageResponseDto<CommunityResponse> getCommunities(CommunitySearchCriteria criteria) {
-        Page<CommunityResponse> page = communityRepository.findAllCriteria(criteria, criteria.buildPageRequest());
+        Optional<List<Long>> ids = nameSearchIndex.findCommunities(criteria.getName());
+
+        if (criteria.getAfter() != null) {
+            Cursor cursor = criteria.cursor();
+            Slice<CommunityResponse> slice = ids.isPresent()
+                    ? communityRepository.findAllByIdInAfter(
+                            ids.get(), cursor.key(), cursor.id(), criteria.buildSeekRequest())
+                    : communityRepository.findAllCriteriaAfter(
+                            criteria, cursor.key(), cursor.id(), criteria.buildSeekRequest());
+
+            return PageResponseDto.from(slice, CommunityService::cursorOf);
+        }
+
+        if (!criteria.isWithTotal()) {
+            Slice<CommunityResponse> slice = ids.isPresent()
+                    ? communityRepository.findSliceByIdIn(ids.get(), criteria.buildPageRequest())
+                    : communityRepository.findSliceCriteria(criteria, criteria.buildPageRequest());
+
+            return PageResponseDto.from(slice, criteria.isSeekable() ? CommunityService::cursorOf : null);
+        }
+
+        Page<CommunityResponse> page = ids.isPresent()
+                ? communityRepository.findAllByIdIn(ids.get(), criteria.buildPageRequest())
+                : communityRepository.findAllCriteria(criteria, criteria.buildPageRequest());
+
+        return PageResponseDto.from(page, criteria.isSeekable() ? CommunityService::cursorOf : null);
+    }
 
-        return PageResponseDto.from(page);
+    private static Cursor cursorOf(CommunityResponse community) {
+        return Cursor.of(community.getName(), community.getId());
     }
 }
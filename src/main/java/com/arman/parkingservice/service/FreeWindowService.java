@@ -0,0 +1,132 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.dto.booking.FreeWindowResponse;
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.exception.InvalidBookingPeriodException;
+import com.arman.parkingservice.exception.ResourceNotFoundException;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.index.FreeWindow;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class FreeWindowService {
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ReferenceDataCache referenceDataCache;
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final int alternatives;
+
+    public FreeWindowService(BookingIntervalIndex bookingIntervalIndex,
+                             ReferenceDataCache referenceDataCache,
+                             ParkingSpotRepository parkingSpotRepository,
+                             @Value("${parking.free-windows.conflict-alternatives:3}") int alternatives) {
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.referenceDataCache = referenceDataCache;
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.alternatives = alternatives;
+    }
+
+    /**
+     * Finds the next free windows of the given duration on a parking spot.
+     * <p>
+     * The windows are found by one sweep over the spot's RESERVED and ACTIVE bookings in
+     * {@link BookingIntervalIndex}, ordered by start time: every gap between them at least
+     * {@code duration} long yields the window starting where the gap starts. Starts in the
+     * past are moved to now.
+     * </p>
+     *
+     * @param spotId   the parking spot's ID
+     * @param from     the earliest start
+     * @param duration the length of the windows
+     * @param limit    the maximum number of windows
+     * @return the windows ordered by start time
+     * @throws ResourceNotFoundException     if no parking spot exists with the given ID
+     * @throws InvalidBookingPeriodException if the duration is not positive
+     */
+    public List<FreeWindowResponse> findForSpot(Long spotId, LocalDateTime from, Duration duration, int limit) {
+        ParkingSpotSnapshot spot = referenceDataCache.findParkingSpot(spotId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Parking spot with the following id not found: " + spotId));
+        checkDuration(duration);
+
+        return bookingIntervalIndex.findFreeWindows(spot.id(), notBeforeNow(from), duration, limit)
+                .stream()
+                .map(window -> toResponse(window, spot.code(), duration))
+                .toList();
+    }
+
+    /**
+     * Finds the next free windows of the given duration across the spots of a community,
+     * swept per spot like {@link #findForSpot}.
+     *
+     * @param communityId the community's ID
+     * @param from        the earliest start
+     * @param duration    the length of the windows
+     * @param limit       the maximum number of windows
+     * @return the windows ordered by start time, then by spot code
+     * @throws ResourceNotFoundException     if no community exists with the given ID
+     * @throws InvalidBookingPeriodException if the duration is not positive
+     */
+    public List<FreeWindowResponse> findForCommunity(Long communityId, LocalDateTime from, Duration duration,
+                                                     int limit) {
+        referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + communityId));
+        checkDuration(duration);
+
+        LocalDateTime start = notBeforeNow(from);
+        List<FreeWindowResponse> windows = new ArrayList<>();
+        for (ParkingSpotResponse spot : parkingSpotRepository.findAllByCommunityIdOrderByCode(communityId)) {
+            bookingIntervalIndex.findFreeWindows(spot.getId(), start, duration, limit)
+                    .forEach(window -> windows.add(toResponse(window, spot.getCode(), duration)));
+        }
+
+        return windows.stream()
+                .sorted(Comparator.comparing(FreeWindowResponse::getStartTime)
+                        .thenComparing(FreeWindowResponse::getCode))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Finds the free windows nearest to a rejected booking of the spot, reported with the conflict.
+     */
+    List<FreeWindowResponse> findAlternatives(ParkingSpotSnapshot spot, LocalDateTime start, LocalDateTime end) {
+        Duration duration = Duration.between(start, end);
+
+        return bookingIntervalIndex.findFreeWindows(spot.id(), notBeforeNow(start), duration, alternatives)
+                .stream()
+                .map(window -> toResponse(window, spot.code(), duration))
+                .toList();
+    }
+
+    private static void checkDuration(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new InvalidBookingPeriodException("Duration must be positive");
+        }
+    }
+
+    private static LocalDateTime notBeforeNow(LocalDateTime from) {
+        LocalDateTime now = LocalDateTime.now();
+        return from.isBefore(now) ? now : from;
+    }
+
+    private static FreeWindowResponse toResponse(FreeWindow window, String code, Duration duration) {
+        return new FreeWindowResponse(
+                window.spotId(),
+                code,
+                window.startTime(),
+                window.startTime().plus(duration),
+                window.freeUntil()
+        );
+    }
+}
@@ -0,0 +1,168 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.enums.DataFormat;
+import com.arman.parkingservice.exception.InvalidImportFileException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file one line at a time, so only the current line is held in memory.
+ * <p>
+ * CSV files must start with a header naming at least the required columns; fields may be
+ * quoted with {@code "}, but not span lines. NDJSON files hold one JSON object per line.
+ * Blank lines are skipped. A line that cannot be parsed becomes a row with an error
+ * instead of failing the whole file.
+ * </p>
+ */
+final class ImportRowReader implements Closeable {
+    private final DataFormat format;
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private final List<String> header;
+    private long line;
+
+    record Row(long line, Map<String, String> fields, String error) {
+    }
+
+    private ImportRowReader(DataFormat format, BufferedReader reader, ObjectMapper objectMapper,
+                            List<String> requiredColumns) throws IOException {
+        this.format = format;
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.header = format == DataFormat.CSV ? readHeader(requiredColumns) : null;
+    }
+
+    static ImportRowReader open(DataFormat format, InputStream body, ObjectMapper objectMapper,
+                                List<String> requiredColumns) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        return new ImportRowReader(format, reader, objectMapper, requiredColumns);
+    }
+
+    /**
+     * @return the next non-blank row, or {@code null} at the end of the file
+     */
+    Row next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        return format == DataFormat.CSV ? csvRow(text) : jsonRow(text);
+    }
+
+    private List<String> readHeader(List<String> requiredColumns) throws IOException {
+        String text = reader.readLine();
+        line++;
+        if (text == null) {
+            throw new InvalidImportFileException("The CSV file is empty");
+        }
+
+        List<String> columns = splitCsv(text);
+        if (columns == null) {
+            throw new InvalidImportFileException("The CSV header is malformed");
+        }
+        columns.replaceAll(String::trim);
+        for (String required : requiredColumns) {
+            if (!columns.contains(required)) {
+                throw new InvalidImportFileException("The CSV header must contain the column " + required);
+            }
+        }
+        return columns;
+    }
+
+    private Row csvRow(String text) {
+        List<String> values = splitCsv(text);
+        if (values == null) {
+            return new Row(line, Map.of(), "Unterminated quoted field");
+        }
+        if (values.size() != header.size()) {
+            return new Row(line, Map.of(), "Expected " + header.size() + " fields but found " + values.size());
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            fields.put(header.get(i), values.get(i));
+        }
+        return new Row(line, fields, null);
+    }
+
+    private Row jsonRow(String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            return new Row(line, Map.of(), "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return new Row(line, Map.of(), "Expected a JSON object");
+        }
+
+        Map<String, String> fields = new HashMap<>();
+        node.fields().forEachRemaining(field -> {
+            if (!field.getValue().isNull()) {
+                fields.put(field.getKey(), field.getValue().asText());
+            }
+        });
+        return new Row(line, fields, null);
+    }
+
+    /**
+     * Splits a CSV line into its fields, unquoting quoted ones.
+     *
+     * @return the fields, or {@code null} if a quoted field is not terminated
+     */
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,256 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.dto.community.ImportResponse;
+import com.arman.parkingservice.dto.community.ImportRowError;
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotCreateDto;
+import com.arman.parkingservice.dto.resident.ResidentCreateDto;
+import com.arman.parkingservice.enums.DataFormat;
+import com.arman.parkingservice.exception.InvalidImportFileException;
+import com.arman.parkingservice.exception.ResourceNotFoundException;
+import com.arman.parkingservice.feed.AvailabilityFeed;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.index.CommunityOccupancyIndex;
+import com.arman.parkingservice.index.NameSearchIndex;
+import com.arman.parkingservice.persistence.repository.ReferenceDataJdbcRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ImportService {
+    private static final List<String> RESIDENT_COLUMNS = List.of("firstName", "lastName", "email");
+    private static final List<String> PARKING_SPOT_COLUMNS = List.of("code");
+
+    private final ReferenceDataCache referenceDataCache;
+    private final ReferenceDataJdbcRepository referenceDataJdbcRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final CommunityOccupancyIndex communityOccupancyIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final AvailabilityFeed availabilityFeed;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public ImportService(ReferenceDataCache referenceDataCache,
+                         ReferenceDataJdbcRepository referenceDataJdbcRepository,
+                         BookingIntervalIndex bookingIntervalIndex,
+                         CommunityOccupancyIndex communityOccupancyIndex,
+                         NameSearchIndex nameSearchIndex,
+                         AvailabilityFeed availabilityFeed,
+                         Validator validator,
+                         ObjectMapper objectMapper,
+                         @Value("${parking.import.chunk-size:1000}") int chunkSize,
+                         @Value("${parking.import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.referenceDataCache = referenceDataCache;
+        this.referenceDataJdbcRepository = referenceDataJdbcRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.communityOccupancyIndex = communityOccupancyIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.availabilityFeed = availabilityFeed;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Imports residents into a community from a streamed CSV or NDJSON file with the fields
+     * {@code firstName}, {@code lastName} and {@code email}.
+     * <p>
+     * Rows are validated like {@link ResidentCreateDto} and written in chunks of
+     * {@code chunk-size}, each with one set-based insert that skips emails already used in
+     * the community. Only the current chunk is held in memory. Every chunk is committed on
+     * its own, so rows before a failure stay imported, and its rows are added to
+     * {@link NameSearchIndex} once written.
+     * </p>
+     *
+     * @param communityId the community to import into
+     * @param format      the format of the file
+     * @param body        the file
+     * @return {@link ImportResponse} with the number of imported and failed rows and the
+     * errors of the failed rows, by line number
+     * @throws ResourceNotFoundException   if no community exists with the given ID
+     * @throws InvalidImportFileException  if the file cannot be read, or the CSV header lacks a column
+     */
+    public ImportResponse importResidents(Long communityId, DataFormat format, InputStream body) {
+        CommunitySnapshot community = findCommunity(communityId);
+
+        return importRows(format, body, RESIDENT_COLUMNS,
+                fields -> {
+                    ResidentCreateDto resident = new ResidentCreateDto();
+                    resident.setFirstName(field(fields, "firstName"));
+                    resident.setLastName(field(fields, "lastName"));
+                    resident.setEmail(field(fields, "email"));
+                    resident.setCommunityId(community.id());
+                    return resident;
+                },
+                ResidentCreateDto::getEmail,
+                residents -> {
+                    Map<String, Long> ids = referenceDataJdbcRepository.insertResidents(
+                            community.id(),
+                            residents.stream().map(ResidentCreateDto::getFirstName).toList(),
+                            residents.stream().map(ResidentCreateDto::getLastName).toList(),
+                            residents.stream().map(ResidentCreateDto::getEmail).toList()
+                    );
+                    residents.stream()
+                            .filter(resident -> ids.containsKey(resident.getEmail()))
+                            .forEach(resident -> nameSearchIndex.addResident(community.id(),
+                                    ids.get(resident.getEmail()), resident.getFirstName(), resident.getLastName()));
+                    return ids.keySet();
+                },
+                email -> "A resident with email " + email + " already exists in community " + community.id());
+    }
+
+    /**
+     * Imports parking spots into a community from a streamed CSV or NDJSON file with the
+     * field {@code code}.
+     * <p>
+     * Works like {@link #importResidents}, skipping codes already used in the community.
+     * </p>
+     *
+     * @param communityId the community to import into
+     * @param format      the format of the file
+     * @param body        the file
+     * @return {@link ImportResponse} with the number of imported and failed rows and the
+     * errors of the failed rows, by line number
+     * @throws ResourceNotFoundException   if no community exists with the given ID
+     * @throws InvalidImportFileException  if the file cannot be read, or the CSV header lacks a column
+     */
+    public ImportResponse importParkingSpots(Long communityId, DataFormat format, InputStream body) {
+        CommunitySnapshot community = findCommunity(communityId);
+
+        ImportResponse response = importRows(format, body, PARKING_SPOT_COLUMNS,
+                fields -> {
+                    ParkingSpotCreateDto parkingSpot = new ParkingSpotCreateDto();
+                    parkingSpot.setCode(field(fields, "code"));
+                    parkingSpot.setCommunityId(community.id());
+                    return parkingSpot;
+                },
+                ParkingSpotCreateDto::getCode,
+                parkingSpots -> {
+                    Map<String, Long> ids = referenceDataJdbcRepository.insertParkingSpots(
+                            community.id(),
+                            parkingSpots.stream().map(ParkingSpotCreateDto::getCode).toList()
+                    );
+                    ids.forEach((code, id) -> {
+                        bookingIntervalIndex.addSpot(id);
+                        nameSearchIndex.addParkingSpot(community.id(), id, code);
+                    });
+                    return ids.keySet();
+                },
+                code -> "A parking spot with code " + code + " already exists in community " + community.id());
+
+        if (response.getImported() > 0) {
+            communityOccupancyIndex.invalidate(community.id());
+            availabilityFeed.invalidate(community.id());
+        }
+        return response;
+    }
+
+    private CommunitySnapshot findCommunity(Long communityId) {
+        return referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + communityId
+                ));
+    }
+
+    private <T> ImportResponse importRows(DataFormat format,
+                                          InputStream body,
+                                          List<String> columns,
+                                          Function<Map<String, String>, T> toDto,
+                                          Function<T, String> keyOf,
+                                          Function<List<T>, Set<String>> insert,
+                                          Function<String, String> alreadyExists) {
+        ImportResponse response = new ImportResponse();
+        Map<String, PendingRow<T>> chunk = new LinkedHashMap<>();
+
+        try (ImportRowReader reader = ImportRowReader.open(format, body, objectMapper, columns)) {
+            for (ImportRowReader.Row row = reader.next(); row != null; row = reader.next()) {
+                if (row.error() != null) {
+                    fail(response, row.line(), row.error());
+                    continue;
+                }
+
+                T dto = toDto.apply(row.fields());
+                String violations = validate(dto);
+                if (violations != null) {
+                    fail(response, row.line(), violations);
+                    continue;
+                }
+
+                String key = keyOf.apply(dto);
+                PendingRow<T> earlier = chunk.putIfAbsent(key, new PendingRow<>(row.line(), dto));
+                if (earlier != null) {
+                    fail(response, row.line(), "Duplicate of line " + earlier.line());
+                } else if (chunk.size() == chunkSize) {
+                    flush(chunk, insert, alreadyExists, response);
+                }
+            }
+            flush(chunk, insert, alreadyExists, response);
+        } catch (IOException e) {
+            throw new InvalidImportFileException("The file could not be read: " + e.getMessage());
+        }
+
+        return response;
+    }
+
+    private <T> void flush(Map<String, PendingRow<T>> chunk,
+                           Function<List<T>, Set<String>> insert,
+                           Function<String, String> alreadyExists,
+                           ImportResponse response) {
+        Set<String> inserted = insert.apply(chunk.values().stream().map(PendingRow::dto).toList());
+
+        chunk.forEach((key, row) -> {
+            if (inserted.contains(key)) {
+                response.setImported(response.getImported() + 1);
+            } else {
+                fail(response, row.line(), alreadyExists.apply(key));
+            }
+        });
+        chunk.clear();
+    }
+
+    private void fail(ImportResponse response, long line, String error) {
+        response.setFailed(response.getFailed() + 1);
+        if (response.getErrors().size() < maxReportedErrors) {
+            response.getErrors().add(new ImportRowError(line, error));
+        } else {
+            response.setErrorsTruncated(true);
+        }
+    }
+
+    private <T> String validate(T dto) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String field(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null ? null : value.trim();
+    }
+
+    private record PendingRow<T>(long line, T dto) {
+    }
+}
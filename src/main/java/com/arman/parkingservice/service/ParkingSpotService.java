@@ -1,5 +1,9 @@
 package com.arman.parkingservice.service;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ParkingSpotSnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.criteria.Cursor;
 import com.arman.parkingservice.criteria.ParkingSpotSearchCriteria;
 import com.arman.parkingservice.dto.PageResponseDto;
 import com.arman.parkingservice.dto.community.CommunityResponse;
@@ -7,24 +11,68 @@ import com.arman.parkingservice.dto.parkingspot.ParkingSpotCreateDto;
 import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
 import com.arman.parkingservice.exception.ResourceAlreadyUsedException;
 import com.arman.parkingservice.exception.ResourceNotFoundException;
+import com.arman.parkingservice.feed.AvailabilityFeed;
+import com.arman.parkingservice.index.BookingIntervalIndex;
+import com.arman.parkingservice.index.CommunityOccupancyIndex;
+import com.arman.parkingservice.index.NameSearchIndex;
 import com.arman.parkingservice.mapper.ParkingSpotMapper;
+import com.arman.parkingservice.metrics.BookingMetrics;
 import com.arman.parkingservice.persistence.entity.Community;
 import com.arman.parkingservice.persistence.entity.ParkingSpot;
 import com.arman.parkingservice.persistence.repository.CommunityRepository;
 import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
 
 
 @Service
-@RequiredArgsConstructor
 public class ParkingSpotService {
     private final ParkingSpotRepository parkingSpotRepository;
     private final ParkingSpotMapper parkingSpotMapper;
     private final CommunityRepository communityRepository;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final CommunityOccupancyIndex communityOccupancyIndex;
+    private final NameSearchIndex nameSearchIndex;
+    private final AvailabilityFeed availabilityFeed;
+    private final ReferenceDataCache referenceDataCache;
+    private final BookingMetrics bookingMetrics;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ParkingSpotService(ParkingSpotRepository parkingSpotRepository,
+                              ParkingSpotMapper parkingSpotMapper,
+                              CommunityRepository communityRepository,
+                              BookingIntervalIndex bookingIntervalIndex,
+                              CommunityOccupancyIndex communityOccupancyIndex,
+                              NameSearchIndex nameSearchIndex,
+                              AvailabilityFeed availabilityFeed,
+                              ReferenceDataCache referenceDataCache,
+                              BookingMetrics bookingMetrics,
+                              PlatformTransactionManager transactionManager) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.parkingSpotMapper = parkingSpotMapper;
+        this.communityRepository = communityRepository;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.communityOccupancyIndex = communityOccupancyIndex;
+        this.nameSearchIndex = nameSearchIndex;
+        this.availabilityFeed = availabilityFeed;
+        this.referenceDataCache = referenceDataCache;
+        this.bookingMetrics = bookingMetrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
      * Creates and persists a new ParkingSpot in the specified Community.
@@ -41,10 +89,11 @@ public class ParkingSpotService {
      *                                      exists in that Community
      */
     public ParkingSpotResponse addParkingSpot(ParkingSpotCreateDto parkingSpotCreateDto) {
-        Community community = communityRepository.findById(parkingSpotCreateDto.getCommunityId())
+        CommunitySnapshot communitySnapshot = referenceDataCache.findCommunity(parkingSpotCreateDto.getCommunityId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Community with the following id not found: " + parkingSpotCreateDto.getCommunityId()
                 ));
+        Community community = communityRepository.getReferenceById(communitySnapshot.id());
 
         parkingSpotRepository.findByCommunityAndCode(community, parkingSpotCreateDto.getCode())
                 .ifPresent(r -> {
@@ -55,8 +104,14 @@ public class ParkingSpotService {
 
         ParkingSpot parkingSpot = parkingSpotMapper.mapCreateToParkingSpot(parkingSpotCreateDto, community);
         ParkingSpot savedSpot = parkingSpotRepository.save(parkingSpot);
+        ParkingSpotSnapshot spotSnapshot = ParkingSpotSnapshot.of(savedSpot);
+        referenceDataCache.put(spotSnapshot);
+        bookingIntervalIndex.addSpot(savedSpot.getId());
+        nameSearchIndex.addParkingSpot(communitySnapshot.id(), savedSpot.getId(), savedSpot.getCode());
+        communityOccupancyIndex.invalidate(communitySnapshot.id());
+        availabilityFeed.invalidate(communitySnapshot.id());
 
-        return parkingSpotMapper.mapToResponse(savedSpot);
+        return parkingSpotMapper.mapToResponse(spotSnapshot, communitySnapshot);
     }
 
     /**
@@ -72,7 +127,7 @@ public class ParkingSpotService {
      * @throws ResourceNotFoundException if no ParkingSpot exists with the given ID
      */
     public ParkingSpotResponse getParkingSpotById(Long id) {
-        ParkingSpot parkingSpot = parkingSpotRepository.findById(id)
+        ParkingSpot parkingSpot = parkingSpotRepository.findWithCommunityById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Parking spot with the following id not found: " + id)
                 );
@@ -82,7 +137,10 @@ public class ParkingSpotService {
 
     /**
      * Retrieves a paginated list of parking spots for a given community, applying
-     * optional search and sorting criteria.
+     * optional search and sorting criteria. When the criteria carry a cursor, the page
+     * following it is fetched by code and id instead, without totals. With
+     * {@code withTotal=false} the count query is skipped. A code filter is looked up in
+     * {@link NameSearchIndex} and only the matching ids are fetched, unless it matches too many.
      *
      * @param communityId the ID of the community parking spots of which should be fetched
      * @param criteria    the search criteria containing pagination,
@@ -90,16 +148,51 @@ public class ParkingSpotService {
      * @return A {@link PageResponseDto} containing the requested page of
      * {@link ParkingSpotResponse} objects and pagination metadata
      */
+    @Transactional(readOnly = true)
     public PageResponseDto<ParkingSpotResponse> getAllParkingSpotsByCommunity(Long communityId, ParkingSpotSearchCriteria criteria) {
-        Page<ParkingSpotResponse> page = parkingSpotRepository
-                .findAllByCommunityIdAndCriteria(communityId, criteria, criteria.buildPageRequest());
+        Optional<List<Long>> ids = nameSearchIndex.findParkingSpots(communityId, criteria.getCode());
+
+        if (criteria.getAfter() != null) {
+            Cursor cursor = criteria.cursor();
+            Slice<ParkingSpotResponse> slice = ids.isPresent()
+                    ? parkingSpotRepository.findAllByIdInAfter(
+                            ids.get(), cursor.key(), cursor.id(), criteria.buildSeekRequest())
+                    : parkingSpotRepository.findAllByCommunityIdAndCriteriaAfter(
+                            communityId, criteria, cursor.key(), cursor.id(), criteria.buildSeekRequest());
+
+            return PageResponseDto.from(slice, ParkingSpotService::cursorOf);
+        }
+
+        if (!criteria.isWithTotal()) {
+            Slice<ParkingSpotResponse> slice = ids.isPresent()
+                    ? parkingSpotRepository.findSliceByIdIn(ids.get(), criteria.buildPageRequest())
+                    : parkingSpotRepository.findSliceByCommunityIdAndCriteria(
+                            communityId, criteria, criteria.buildPageRequest());
+
+            return PageResponseDto.from(slice, criteria.isSeekable() ? ParkingSpotService::cursorOf : null);
+        }
+
+        Page<ParkingSpotResponse> page = ids.isPresent()
+                ? parkingSpotRepository.findAllByIdIn(ids.get(), criteria.buildPageRequest())
+                : parkingSpotRepository.findAllByCommunityIdAndCriteria(communityId, criteria, criteria.buildPageRequest());
 
-        return PageResponseDto.from(page);
+        return PageResponseDto.from(page, criteria.isSeekable() ? ParkingSpotService::cursorOf : null);
+    }
+
+    private static Cursor cursorOf(ParkingSpotResponse parkingSpot) {
+        return Cursor.of(parkingSpot.getCode(), parkingSpot.getId());
     }
 
     /**
      * Retrieves a paginated list of available parking spots for a given community in a specified
      * time slot, applying optional search and sorting criteria.
+     * <p>
+     * Windows inside the occupancy horizon sorted by code or id are answered from
+     * {@link CommunityOccupancyIndex}; everything else is queried from the database, skipping
+     * the count when {@code withTotal=false}. Timed by {@link BookingMetrics} under the community.
+     * The database query runs in its own read-only transaction, which may be served by the
+     * replica; the index itself is always loaded outside of it, from the primary.
+     * </p>
      *
      * @param communityId the ID of the community parking spots of which should be fetched
      * @param startTime the given start time of time slot
@@ -114,11 +207,76 @@ public class ParkingSpotService {
             LocalDateTime startTime,
             LocalDateTime endTime,
             ParkingSpotSearchCriteria criteria) {
-        Page<ParkingSpotResponse> page = parkingSpotRepository
-                .findAllAvailableByCommunityAndCriteria(communityId, startTime, endTime, criteria, criteria.buildPageRequest());
+        return bookingMetrics.record("available-spots", communityId,
+                () -> findAvailableSpots(communityId, startTime, endTime, criteria));
+    }
+
+    private PageResponseDto<ParkingSpotResponse> findAvailableSpots(
+            Long communityId,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            ParkingSpotSearchCriteria criteria) {
+        PageRequest pageRequest = criteria.buildPageRequest();
+        Comparator<ParkingSpotResponse> comparator = inMemoryComparator(pageRequest.getSort());
+
+        Optional<List<ParkingSpotResponse>> freeSpots = comparator == null
+                ? Optional.empty()
+                : communityOccupancyIndex.findFreeSpots(communityId, startTime, endTime);
+
+        if (freeSpots.isPresent()) {
+            Page<ParkingSpotResponse> page = pageOf(freeSpots.get(), criteria.getCode(), comparator, pageRequest);
+
+            return criteria.isWithTotal()
+                    ? PageResponseDto.from(page)
+                    : PageResponseDto.from(new SliceImpl<>(page.getContent(), pageRequest, page.hasNext()), null);
+        }
+
+        return readOnlyTransaction.execute(status -> {
+            if (!criteria.isWithTotal()) {
+                Slice<ParkingSpotResponse> slice = parkingSpotRepository
+                        .findSliceAvailableByCommunityAndCriteria(communityId, startTime, endTime, criteria, pageRequest);
+
+                return PageResponseDto.from(slice, null);
+            }
+
+            Page<ParkingSpotResponse> page = parkingSpotRepository
+                    .findAllAvailableByCommunityAndCriteria(communityId, startTime, endTime, criteria, pageRequest);
+
+            return PageResponseDto.from(page);
+        });
+    }
+
+    private static Comparator<ParkingSpotResponse> inMemoryComparator(Sort sort) {
+        Comparator<ParkingSpotResponse> comparator = null;
+
+        for (Sort.Order order : sort) {
+            Comparator<ParkingSpotResponse> next = switch (order.getProperty()) {
+                case "code" -> Comparator.comparing(ParkingSpotResponse::getCode);
+                case "id" -> Comparator.comparing(ParkingSpotResponse::getId);
+                default -> null;
+            };
+            if (next == null) {
+                return null;
+            }
+            next = order.isDescending() ? next.reversed() : next;
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    private static Page<ParkingSpotResponse> pageOf(List<ParkingSpotResponse> spots,
+                                                    String code,
+                                                    Comparator<ParkingSpotResponse> comparator,
+                                                    PageRequest pageRequest) {
+        List<ParkingSpotResponse> matching = spots.stream()
+                .filter(spot -> code == null || spot.getCode().toLowerCase().contains(code.toLowerCase()))
+                .sorted(comparator)
+                .toList();
 
-        return PageResponseDto.from(page);
+        int from = (int) Math.min(pageRequest.getOffset(), matching.size());
+        int to = Math.min(from + pageRequest.getPageSize(), matching.size());
 
+        return new PageImpl<>(matching.subList(from, to), pageRequest, matching.size());
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.exception.InvalidRecurrenceRuleException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Subset of the iCalendar RRULE syntax used by booking series, e.g.
+ * {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR} or {@code FREQ=DAILY;INTERVAL=2}.
+ * <p>
+ * Supports {@code FREQ} (DAILY or WEEKLY), {@code INTERVAL} and {@code BYDAY}; the range of
+ * the series is given separately by its start and end date.
+ * </p>
+ */
+public final class RecurrenceRule {
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY,
+            "TU", DayOfWeek.TUESDAY,
+            "WE", DayOfWeek.WEDNESDAY,
+            "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY,
+            "SA", DayOfWeek.SATURDAY,
+            "SU", DayOfWeek.SUNDAY
+    );
+
+    private final ChronoUnit frequency;
+    private final int interval;
+    private final Set<DayOfWeek> days;
+
+    private RecurrenceRule(ChronoUnit frequency, int interval, Set<DayOfWeek> days) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = days;
+    }
+
+    /**
+     * Parses the rule.
+     *
+     * @throws InvalidRecurrenceRuleException if the rule is malformed or uses unsupported parts
+     */
+    public static RecurrenceRule parse(String rule) {
+        ChronoUnit frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+
+        for (String part : rule.toUpperCase().split(";")) {
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new InvalidRecurrenceRuleException("Malformed recurrence rule part: " + part);
+            }
+            switch (keyValue[0].trim()) {
+                case "FREQ" -> frequency = switch (keyValue[1].trim()) {
+                    case "DAILY" -> ChronoUnit.DAYS;
+                    case "WEEKLY" -> ChronoUnit.WEEKS;
+                    default -> throw new InvalidRecurrenceRuleException(
+                            "Unsupported recurrence frequency: " + keyValue[1]);
+                };
+                case "INTERVAL" -> interval = parseInterval(keyValue[1].trim());
+                case "BYDAY" -> {
+                    for (String day : keyValue[1].split(",")) {
+                        DayOfWeek dayOfWeek = DAYS.get(day.trim());
+                        if (dayOfWeek == null) {
+                            throw new InvalidRecurrenceRuleException("Unknown recurrence day: " + day);
+                        }
+                        days.add(dayOfWeek);
+                    }
+                }
+                default -> throw new InvalidRecurrenceRuleException(
+                        "Unsupported recurrence rule part: " + keyValue[0]);
+            }
+        }
+
+        if (frequency == null) {
+            throw new InvalidRecurrenceRuleException("Recurrence rule must define FREQ");
+        }
+        return new RecurrenceRule(frequency, interval, days);
+    }
+
+    /**
+     * Expands the rule into one window per matching date between {@code from} and
+     * {@code until}, both inclusive, in ascending order. Each window runs from
+     * {@code startTime} to {@code endTime} on its date; an end time not after the start time
+     * ends it on the next day. Windows starting at or before {@code notBefore} are left out, and
+     * the expansion stops once {@code limit} windows were found.
+     */
+    public List<Window> windows(LocalDate from, LocalDate until, LocalTime startTime, LocalTime endTime,
+                                LocalDateTime notBefore, int limit) {
+        List<Window> windows = new ArrayList<>();
+        LocalDate firstWeek = from.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+
+        for (LocalDate date = from; !date.isAfter(until) && windows.size() < limit; date = date.plusDays(1)) {
+            if (!matches(date, from, firstWeek)) {
+                continue;
+            }
+            LocalDateTime start = date.atTime(startTime);
+            LocalDateTime end = endTime.isAfter(startTime)
+                    ? date.atTime(endTime)
+                    : date.plusDays(1).atTime(endTime);
+            if (start.isAfter(notBefore)) {
+                windows.add(new Window(start, end));
+            }
+        }
+        return windows;
+    }
+
+    private boolean matches(LocalDate date, LocalDate from, LocalDate firstWeek) {
+        if (frequency == ChronoUnit.DAYS) {
+            return ChronoUnit.DAYS.between(from, date) % interval == 0
+                    && (days.isEmpty() || days.contains(date.getDayOfWeek()));
+        }
+
+        LocalDate week = date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        boolean weekMatches = ChronoUnit.WEEKS.between(firstWeek, week) % interval == 0;
+        boolean dayMatches = days.isEmpty()
+                ? date.getDayOfWeek() == from.getDayOfWeek()
+                : days.contains(date.getDayOfWeek());
+
+        return weekMatches && dayMatches;
+    }
+
+    private static int parseInterval(String value) {
+        try {
+            int interval = Integer.parseInt(value);
+            if (interval < 1) {
+                throw new InvalidRecurrenceRuleException("Recurrence interval must be positive");
+            }
+            return interval;
+        } catch (NumberFormatException ex) {
+            throw new InvalidRecurrenceRuleException("Malformed recurrence interval: " + value);
+        }
+    }
+
+    /**
+     * A single occurrence of the rule, [start, end).
+     */
+    public record Window(LocalDateTime start, LocalDateTime end) {
+    }
+}
@@ -1,9 +1,14 @@
 package com.arman.parkingservice.service;
 
+import com.arman.parkingservice.cache.CommunitySnapshot;
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.cache.ResidentSnapshot;
+import com.arman.parkingservice.criteria.Cursor;
 import com.arman.parkingservice.criteria.ResidentSearchCriteria;
 import com.arman.parkingservice.dto.PageResponseDto;
 import com.arman.parkingservice.dto.resident.ResidentCreateDto;
 import com.arman.parkingservice.dto.resident.ResidentResponse;
+import com.arman.parkingservice.index.NameSearchIndex;
 import com.arman.parkingservice.persistence.entity.Community;
 import com.arman.parkingservice.persistence.entity.Resident;
 import com.arman.parkingservice.persistence.repository.CommunityRepository;
@@ -13,7 +18,12 @@ import com.arman.parkingservice.exception.ResourceNotFoundException;
 import com.arman.parkingservice.mapper.ResidentMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +31,8 @@ public class ResidentService {
     private final CommunityRepository communityRepository;
     private final ResidentMapper residentMapper;
     private final ResidentRepository residentRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final NameSearchIndex nameSearchIndex;
 
     /**
      * Creates and persists a new Resident in the specified Community.
@@ -37,10 +49,11 @@ public class ResidentService {
      *                                      exists in that Community
      */
     public ResidentResponse addResident(ResidentCreateDto residentCreateDto) {
-        Community community = communityRepository.findById(residentCreateDto.getCommunityId())
+        CommunitySnapshot communitySnapshot = referenceDataCache.findCommunity(residentCreateDto.getCommunityId())
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Community with the following id not found: " + residentCreateDto.getCommunityId()
                 ));
+        Community community = communityRepository.getReferenceById(communitySnapshot.id());
 
         residentRepository
                 .findByCommunityAndEmail(community, residentCreateDto.getEmail())
@@ -52,8 +65,12 @@ public class ResidentService {
 
         Resident resident = residentMapper.mapCreateToResident(residentCreateDto, community);
         Resident savedResident = residentRepository.save(resident);
+        ResidentSnapshot residentSnapshot = ResidentSnapshot.of(savedResident);
+        referenceDataCache.put(residentSnapshot);
+        nameSearchIndex.addResident(communitySnapshot.id(), savedResident.getId(),
+                savedResident.getFirstName(), savedResident.getLastName());
 
-        return residentMapper.mapToResponse(savedResident);
+        return residentMapper.mapToResponse(residentSnapshot, communitySnapshot);
     }
 
 
@@ -69,7 +86,7 @@ public class ResidentService {
      * @throws ResourceNotFoundException if no resident exists with the given ID
      */
     public ResidentResponse getResidentById(Long id) {
-        Resident resident = residentRepository.findById(id)
+        Resident resident = residentRepository.findWithCommunityById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Resident with the following id not found: " + id)
                 );
@@ -79,7 +96,11 @@ public class ResidentService {
 
     /**
      * Retrieves a paginated list of residents for a given community, applying
-     * optional search and sorting criteria.
+     * optional search and sorting criteria. When the criteria carry a cursor, the page
+     * following it is fetched by first name and id instead, without totals. With
+     * {@code withTotal=false} the count query is skipped. Name filters are looked up in
+     * {@link NameSearchIndex} and only the matching ids are fetched, unless they match too
+     * many.
      *
      * @param communityId the ID of the community whose residents should be fetched
      * @param criteria    the search criteria containing pagination,
@@ -87,10 +108,39 @@ public class ResidentService {
      * @return a {@link PageResponseDto} containing the requested page of
      * {@link ResidentResponse} objects and pagination metadata
      */
+    @Transactional(readOnly = true)
     public PageResponseDto<ResidentResponse> getResidentsByCommunity(Long communityId, ResidentSearchCriteria criteria) {
-        Page<ResidentResponse> page = residentRepository
-                .findAllByCommunityIdAndCriteria(communityId, criteria, criteria.buildPageRequest());
+        Optional<List<Long>> ids = nameSearchIndex
+                .findResidents(communityId, criteria.getFirstName(), criteria.getLastName());
+
+        if (criteria.getAfter() != null) {
+            Cursor cursor = criteria.cursor();
+            Slice<ResidentResponse> slice = ids.isPresent()
+                    ? residentRepository.findAllByIdInAfter(
+                            ids.get(), cursor.key(), cursor.id(), criteria.buildSeekRequest())
+                    : residentRepository.findAllByCommunityIdAndCriteriaAfter(
+                            communityId, criteria, cursor.key(), cursor.id(), criteria.buildSeekRequest());
+
+            return PageResponseDto.from(slice, ResidentService::cursorOf);
+        }
+
+        if (!criteria.isWithTotal()) {
+            Slice<ResidentResponse> slice = ids.isPresent()
+                    ? residentRepository.findSliceByIdIn(ids.get(), criteria.buildPageRequest())
+                    : residentRepository.findSliceByCommunityIdAndCriteria(
+                            communityId, criteria, criteria.buildPageRequest());
+
+            return PageResponseDto.from(slice, criteria.isSeekable() ? ResidentService::cursorOf : null);
+        }
+
+        Page<ResidentResponse> page = ids.isPresent()
+                ? residentRepository.findAllByIdIn(ids.get(), criteria.buildPageRequest())
+                : residentRepository.findAllByCommunityIdAndCriteria(communityId, criteria, criteria.buildPageRequest());
+
+        return PageResponseDto.from(page, criteria.isSeekable() ? ResidentService::cursorOf : null);
+    }
 
-        return PageResponseDto.from(page);
+    private static Cursor cursorOf(ResidentResponse resident) {
+        return Cursor.of(resident.getFirstName(), resident.getId());
     }
 }
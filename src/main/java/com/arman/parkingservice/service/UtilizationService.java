@@ -0,0 +1,122 @@
+package com.arman.parkingservice.service;
+
+import com.arman.parkingservice.cache.ReferenceDataCache;
+import com.arman.parkingservice.dto.utilization.UtilizationBucketResponse;
+import com.arman.parkingservice.dto.utilization.UtilizationReportResponse;
+import com.arman.parkingservice.enums.ReportGranularity;
+import com.arman.parkingservice.exception.InvalidBookingPeriodException;
+import com.arman.parkingservice.exception.ResourceNotFoundException;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.persistence.repository.UtilizationJdbcRepository;
+import com.arman.parkingservice.rollup.UtilizationRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class UtilizationService {
+    private final ReferenceDataCache referenceDataCache;
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final UtilizationJdbcRepository utilizationJdbcRepository;
+    private final UtilizationRollup utilizationRollup;
+
+    /**
+     * Reports the utilization of a community over [from, to), read from the hourly rollups of
+     * the community only, so the cost depends on the number of hours, not of bookings or spots.
+     * Both bounds are rounded down to whole hours.
+     *
+     * @param communityId the community's ID
+     * @param from        the report's start
+     * @param to          the report's end
+     * @param granularity the periods the report is broken down into
+     * @return {@link UtilizationReportResponse} with the totals and one entry per period with data
+     * @throws ResourceNotFoundException     if no community exists with the given ID
+     * @throws InvalidBookingPeriodException if the range is empty
+     */
+    public UtilizationReportResponse getCommunityReport(Long communityId, LocalDateTime from, LocalDateTime to,
+                                                        ReportGranularity granularity) {
+        referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + communityId));
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        checkRange(start, end);
+
+        return report(start, end, parkingSpotRepository.countByCommunityId(communityId),
+                utilizationJdbcRepository.findCommunityBuckets(communityId, granularity, start, end));
+    }
+
+    /**
+     * Reports the utilization of a single parking spot over [from, to), like
+     * {@link #getCommunityReport}.
+     *
+     * @throws ResourceNotFoundException     if no parking spot exists with the given ID
+     * @throws InvalidBookingPeriodException if the range is empty
+     */
+    public UtilizationReportResponse getSpotReport(Long spotId, LocalDateTime from, LocalDateTime to,
+                                                   ReportGranularity granularity) {
+        referenceDataCache.findParkingSpot(spotId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Parking spot with the following id not found: " + spotId));
+        LocalDateTime start = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to.truncatedTo(ChronoUnit.HOURS);
+        checkRange(start, end);
+
+        return report(start, end, 1, utilizationJdbcRepository.findSpotBuckets(spotId, granularity, start, end));
+    }
+
+    /**
+     * Rebuilds the hourly rollups of a community for the hours touching [from, to) from the
+     * booking table, e.g. to backfill history or after a suspected drift.
+     *
+     * @throws ResourceNotFoundException     if no community exists with the given ID
+     * @throws InvalidBookingPeriodException if the range is empty
+     */
+    public void rebuild(Long communityId, LocalDateTime from, LocalDateTime to) {
+        referenceDataCache.findCommunity(communityId)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Community with the following id not found: " + communityId));
+        checkRange(from, to);
+
+        utilizationRollup.rebuild(communityId, from, to);
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidBookingPeriodException("Start time cannot equal or come after end time");
+        }
+    }
+
+    private static UtilizationReportResponse report(LocalDateTime from, LocalDateTime to, long spots,
+                                                    List<UtilizationBucketResponse> buckets) {
+        UtilizationReportResponse report = new UtilizationReportResponse();
+        report.setFrom(from);
+        report.setTo(to);
+        report.setSpots(spots);
+        report.setBuckets(buckets);
+
+        for (UtilizationBucketResponse bucket : buckets) {
+            report.setBookedSeconds(report.getBookedSeconds() + bucket.getBookedSeconds());
+            report.setParkedSeconds(report.getParkedSeconds() + bucket.getParkedSeconds());
+            report.setBookings(report.getBookings() + bucket.getBookings());
+            report.setNoShows(report.getNoShows() + bucket.getNoShows());
+            report.setPeakBookedSpots(Math.max(report.getPeakBookedSpots(), bucket.getPeakBookedSpots()));
+        }
+
+        long availableSeconds = spots * Duration.between(from, to).toSeconds();
+        report.setUtilization(ratio(report.getParkedSeconds(), report.getBookedSeconds()));
+        report.setOccupancy(ratio(report.getBookedSeconds(), availableSeconds));
+        report.setNoShowRate(ratio(report.getNoShows(), report.getBookings()));
+
+        return report;
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0 : (double) part / whole;
+    }
+}
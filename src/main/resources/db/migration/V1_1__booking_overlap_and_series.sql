@@ -0,0 +1,23 @@
+-- No two RESERVED/ACTIVE bookings of the same spot may overlap in time.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE booking
+    ADD CONSTRAINT booking_no_overlap
+    EXCLUDE USING gist (spot_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (booking_status IN ('RESERVED', 'ACTIVE'));
+
+-- Recurring bookings; each occurrence is a booking referring to its series.
+CREATE TABLE booking_series (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    resident_id   BIGINT       NOT NULL REFERENCES resident (id),
+    spot_id       BIGINT       NOT NULL REFERENCES parking_spot (id),
+    recurrence    VARCHAR(255) NOT NULL,
+    start_date    DATE         NOT NULL,
+    end_date      DATE         NOT NULL,
+    start_time    TIME(6)      NOT NULL,
+    end_time      TIME(6)      NOT NULL,
+    series_status VARCHAR(255) NOT NULL CHECK (series_status IN ('ACTIVE', 'CANCELLED'))
+);
+
+ALTER TABLE booking
+    ADD COLUMN series_id BIGINT REFERENCES booking_series (id);
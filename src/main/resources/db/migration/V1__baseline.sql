@@ -0,0 +1,36 @@
+-- Schema of the baseline release, as created there by Hibernate (ddl-auto=update). Databases of
+-- that release are baselined at this version (spring.flyway.baseline-on-migrate) and get
+-- everything added since from the following migrations.
+
+CREATE TABLE community (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE resident (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name   VARCHAR(255) NOT NULL,
+    last_name    VARCHAR(255) NOT NULL,
+    email        VARCHAR(255) NOT NULL,
+    community_id BIGINT       NOT NULL REFERENCES community (id),
+    UNIQUE (email, community_id)
+);
+
+CREATE TABLE parking_spot (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    code         VARCHAR(255) NOT NULL,
+    community_id BIGINT       NOT NULL REFERENCES community (id),
+    UNIQUE (code, community_id)
+);
+
+CREATE TABLE booking (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    resident_id       BIGINT       NOT NULL REFERENCES resident (id),
+    spot_id           BIGINT       NOT NULL REFERENCES parking_spot (id),
+    start_date        TIMESTAMP(6) NOT NULL,
+    end_date          TIMESTAMP(6) NOT NULL,
+    booking_status    VARCHAR(255) NOT NULL
+        CHECK (booking_status IN ('RESERVED', 'ACTIVE', 'COMPLETED', 'CANCELLED')),
+    actual_start_date TIMESTAMP(6),
+    actual_end_date   TIMESTAMP(6)
+);
@@ -0,0 +1,39 @@
+-- Indexes matched to the repository queries. Each one is checked against its query plan
+-- in WorkloadIndexTests.
+
+-- Open bookings of a spot ending after a point in time: BookingRepository.findOpenIntervalsBySpot,
+-- and findOpenIntervalsByCommunity when probed per spot of the community.
+CREATE INDEX booking_open_spot_end_idx
+    ON booking (spot_id, end_date) INCLUDE (start_date)
+    WHERE booking_status IN ('RESERVED', 'ACTIVE');
+
+-- Open bookings by end: BookingRepository.findOpenIntervals, expireChunk and the NOT IN subquery
+-- of ParkingSpotRepository.findAllAvailableByCommunityAndCriteria.
+CREATE INDEX booking_open_end_idx
+    ON booking (end_date)
+    WHERE booking_status IN ('RESERVED', 'ACTIVE');
+
+-- A resident's bookings in a status, bounded by end (PAST, CURRENT) or not (CANCELLED).
+CREATE INDEX booking_resident_status_end_idx
+    ON booking (resident_id, booking_status, end_date);
+
+-- All of a resident's bookings in id order, for ALL and for cursor pages.
+CREATE INDEX booking_resident_id_idx
+    ON booking (resident_id, id);
+
+-- Upcoming reservations of a series: BookingRepository.cancelUpcomingBySeries.
+CREATE INDEX booking_series_reserved_idx
+    ON booking (series_id, start_date)
+    WHERE booking_status = 'RESERVED';
+
+-- Spots of a community by code; the unique (code, community_id) constraint leads with code.
+CREATE INDEX parking_spot_community_code_idx
+    ON parking_spot (community_id, code, id);
+
+-- Residents of a community by first name; the unique (email, community_id) constraint leads with email.
+CREATE INDEX resident_community_first_name_idx
+    ON resident (community_id, first_name, id);
+
+-- Communities by name, for sorted and cursor pages.
+CREATE INDEX community_name_idx
+    ON community (name, id);
@@ -0,0 +1,38 @@
+-- Reservations that expired without the car being parked. Set when the sweeper or an expired
+-- access cancels a RESERVED booking; bookings cancelled before this column existed count as
+-- cancelled by the resident.
+ALTER TABLE booking
+    ADD COLUMN no_show BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Utilization per spot and hour, maintained incrementally from booking transitions by
+-- UtilizationRollup and rebuilt from the booking table for a bucket range on reconciliation.
+--   booked_seconds: time within the hour held by bookings that were not cancelled by the resident
+--   parked_seconds: time within the hour between the actual start and end of completed bookings
+--   bookings:       bookings held in that sense starting within the hour
+--   no_shows:       no-show bookings starting within the hour
+CREATE TABLE spot_utilization_hourly (
+    spot_id        BIGINT    NOT NULL REFERENCES parking_spot (id),
+    bucket         TIMESTAMP NOT NULL,
+    community_id   BIGINT    NOT NULL REFERENCES community (id),
+    booked_seconds BIGINT    NOT NULL,
+    parked_seconds BIGINT    NOT NULL,
+    bookings       INTEGER   NOT NULL,
+    no_shows       INTEGER   NOT NULL,
+    PRIMARY KEY (spot_id, bucket)
+);
+
+CREATE INDEX spot_utilization_hourly_community_idx
+    ON spot_utilization_hourly (community_id, bucket);
+
+-- The same per community and hour, plus booked_spots: the spots with booked time within the
+-- hour, so that community reports never read the per-spot rows.
+CREATE TABLE community_utilization_hourly (
+    community_id   BIGINT    NOT NULL REFERENCES community (id),
+    bucket         TIMESTAMP NOT NULL,
+    booked_seconds BIGINT    NOT NULL,
+    parked_seconds BIGINT    NOT NULL,
+    bookings       INTEGER   NOT NULL,
+    no_shows       INTEGER   NOT NULL,
+    booked_spots   INTEGER   NOT NULL,
+    PRIMARY KEY (community_id, bucket)
+);
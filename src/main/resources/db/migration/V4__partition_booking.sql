@@ -0,0 +1,222 @@
+-- Range-partitions booking by month of start_date. Monthly partitions are created ahead of time
+-- by BookingPartitionMaintainer through booking_create_partition; bookings outside of them land
+-- in booking_default until their month is created. Old months are moved to booking_archive by
+-- booking_archive_partition, and booking_history reads both.
+--
+-- An exclusion constraint on a partitioned table only holds within each partition, so
+-- booking_no_overlap moves to open_booking: one row per RESERVED or ACTIVE booking, maintained by
+-- a trigger on booking. The hot-path reads of open bookings use that table, whose size is bounded
+-- by the open bookings instead of the history.
+
+-- Set the unpartitioned table aside, freeing the names of its sequence, constraints and indexes.
+ALTER TABLE booking RENAME TO booking_unpartitioned;
+ALTER TABLE booking_unpartitioned RENAME CONSTRAINT booking_pkey TO booking_unpartitioned_pkey;
+ALTER TABLE booking_unpartitioned DROP CONSTRAINT booking_no_overlap;
+ALTER TABLE booking_unpartitioned ALTER COLUMN id DROP IDENTITY;
+DROP INDEX booking_open_spot_end_idx, booking_open_end_idx, booking_resident_status_end_idx,
+    booking_resident_id_idx, booking_series_reserved_idx;
+
+-- Partitioned tables cannot have identity columns before PostgreSQL 17; ids come from a sequence.
+-- They stay unique, but the primary key has to include the partition key.
+CREATE SEQUENCE booking_id_seq;
+SELECT setval('booking_id_seq', COALESCE(max(id), 0) + 1, false) FROM booking_unpartitioned;
+
+CREATE TABLE booking (
+    id                BIGINT       NOT NULL DEFAULT nextval('booking_id_seq'),
+    resident_id       BIGINT       NOT NULL REFERENCES resident (id),
+    spot_id           BIGINT       NOT NULL REFERENCES parking_spot (id),
+    start_date        TIMESTAMP(6) NOT NULL,
+    end_date          TIMESTAMP(6) NOT NULL,
+    booking_status    VARCHAR(255) NOT NULL
+        CHECK (booking_status IN ('RESERVED', 'ACTIVE', 'COMPLETED', 'CANCELLED')),
+    actual_start_date TIMESTAMP(6),
+    actual_end_date   TIMESTAMP(6),
+    series_id         BIGINT REFERENCES booking_series (id),
+    no_show           BOOLEAN      NOT NULL DEFAULT FALSE,
+    PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+ALTER SEQUENCE booking_id_seq OWNED BY booking.id;
+
+-- The indexes of V2, now per partition. booking_open_spot_end_idx is replaced by open_booking.
+CREATE INDEX booking_open_end_idx
+    ON booking (end_date)
+    WHERE booking_status IN ('RESERVED', 'ACTIVE');
+
+CREATE INDEX booking_resident_status_end_idx
+    ON booking (resident_id, booking_status, end_date);
+
+CREATE INDEX booking_resident_id_idx
+    ON booking (resident_id, id);
+
+CREATE INDEX booking_series_reserved_idx
+    ON booking (series_id, start_date)
+    WHERE booking_status = 'RESERVED';
+
+-- Archived months, read through booking_history by the PAST and ALL booking lists.
+CREATE TABLE booking_archive (
+    LIKE booking,
+    PRIMARY KEY (id, start_date)
+) PARTITION BY RANGE (start_date);
+
+CREATE INDEX booking_archive_resident_status_end_idx
+    ON booking_archive (resident_id, booking_status, end_date);
+
+CREATE INDEX booking_archive_resident_id_idx
+    ON booking_archive (resident_id, id);
+
+CREATE VIEW booking_history AS
+    SELECT id, resident_id, spot_id, start_date, end_date, booking_status,
+           actual_start_date, actual_end_date, series_id, no_show
+    FROM booking
+    UNION ALL
+    SELECT id, resident_id, spot_id, start_date, end_date, booking_status,
+           actual_start_date, actual_end_date, series_id, no_show
+    FROM booking_archive;
+
+-- Open bookings. No two of the same spot may overlap in time.
+CREATE TABLE open_booking (
+    booking_id BIGINT       PRIMARY KEY,
+    spot_id    BIGINT       NOT NULL,
+    start_date TIMESTAMP(6) NOT NULL,
+    end_date   TIMESTAMP(6) NOT NULL,
+    CONSTRAINT booking_no_overlap
+        EXCLUDE USING gist (spot_id WITH =, tsrange(start_date, end_date) WITH &&)
+);
+
+-- Open bookings of a spot ending after a point in time: BookingRepository.findOpenIntervalsBySpot,
+-- and findOpenIntervalsByCommunity when probed per spot of the community.
+CREATE INDEX open_booking_spot_end_idx
+    ON open_booking (spot_id, end_date) INCLUDE (start_date);
+
+-- Open bookings by end: BookingRepository.findOpenIntervals and the NOT IN subquery of
+-- ParkingSpotRepository.findAllAvailableByCommunityAndCriteria.
+CREATE INDEX open_booking_end_idx
+    ON open_booking (end_date);
+
+CREATE FUNCTION open_booking_sync() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.booking_status IN ('RESERVED', 'ACTIVE') THEN
+            INSERT INTO open_booking (booking_id, spot_id, start_date, end_date)
+            VALUES (NEW.id, NEW.spot_id, NEW.start_date, NEW.end_date);
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM open_booking WHERE booking_id = OLD.id;
+    ELSIF NEW.booking_status NOT IN ('RESERVED', 'ACTIVE') THEN
+        IF OLD.booking_status IN ('RESERVED', 'ACTIVE') THEN
+            DELETE FROM open_booking WHERE booking_id = OLD.id;
+        END IF;
+    ELSIF OLD.booking_status NOT IN ('RESERVED', 'ACTIVE') THEN
+        INSERT INTO open_booking (booking_id, spot_id, start_date, end_date)
+        VALUES (NEW.id, NEW.spot_id, NEW.start_date, NEW.end_date);
+    ELSIF (NEW.spot_id, NEW.start_date, NEW.end_date) IS DISTINCT FROM (OLD.spot_id, OLD.start_date, OLD.end_date) THEN
+        UPDATE open_booking
+        SET spot_id = NEW.spot_id, start_date = NEW.start_date, end_date = NEW.end_date
+        WHERE booking_id = OLD.id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER booking_open_sync
+    AFTER INSERT OR UPDATE OR DELETE ON booking
+    FOR EACH ROW EXECUTE FUNCTION open_booking_sync();
+
+-- Creates a standalone table shaped like a booking partition, with indexes named after it so
+-- that query plans show which partition they read. Attaching it to booking adopts the indexes.
+CREATE FUNCTION booking_create_partition_table(table_name TEXT) RETURNS VOID
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    EXECUTE format('CREATE TABLE %I (LIKE booking INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', table_name);
+    EXECUTE format('ALTER TABLE %I ADD CONSTRAINT %I PRIMARY KEY (id, start_date)', table_name, table_name || '_pkey');
+    EXECUTE format('CREATE INDEX %I ON %I (end_date) WHERE booking_status IN (''RESERVED'', ''ACTIVE'')',
+                   table_name || '_open_end_idx', table_name);
+    EXECUTE format('CREATE INDEX %I ON %I (resident_id, booking_status, end_date)',
+                   table_name || '_resident_status_end_idx', table_name);
+    EXECUTE format('CREATE INDEX %I ON %I (resident_id, id)', table_name || '_resident_id_idx', table_name);
+    EXECUTE format('CREATE INDEX %I ON %I (series_id, start_date) WHERE booking_status = ''RESERVED''',
+                   table_name || '_series_reserved_idx', table_name);
+END;
+$$;
+
+SELECT booking_create_partition_table('booking_default');
+ALTER TABLE booking ATTACH PARTITION booking_default DEFAULT;
+
+-- Creates the partition of the month containing the given day, unless it exists already,
+-- moving the month's bookings out of booking_default.
+-- Returns whether the partition was created.
+CREATE FUNCTION booking_create_partition(month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    range_start    DATE := date_trunc('month', month);
+    range_end      DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name TEXT := 'booking_' || to_char(month, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    PERFORM booking_create_partition_table(partition_name);
+    -- the delete trigger of booking_default drops the open rows, they are put back once attached
+    EXECUTE format('WITH moved AS (DELETE FROM booking_default WHERE start_date >= $1 AND start_date < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    EXECUTE format('ALTER TABLE booking ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', partition_name, range_start, range_end);
+    EXECUTE format('INSERT INTO open_booking (booking_id, spot_id, start_date, end_date) '
+                   'SELECT id, spot_id, start_date, end_date FROM %I '
+                   'WHERE booking_status IN (''RESERVED'', ''ACTIVE'')', partition_name);
+    RETURN TRUE;
+END;
+$$;
+
+-- Moves the partition of the month containing the given day from booking to booking_archive,
+-- unless it has open bookings or is not a partition of booking.
+-- Returns whether the partition was archived.
+CREATE FUNCTION booking_archive_partition(month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    range_start    DATE := date_trunc('month', month);
+    range_end      DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name TEXT := 'booking_' || to_char(month, 'YYYY_MM');
+    has_open       BOOLEAN;
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_inherits
+                   WHERE inhrelid = to_regclass(partition_name) AND inhparent = 'booking'::regclass) THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('SELECT EXISTS (SELECT 1 FROM %I WHERE booking_status IN (''RESERVED'', ''ACTIVE''))', partition_name)
+        INTO has_open;
+    IF has_open THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('ALTER TABLE booking DETACH PARTITION %I', partition_name);
+    EXECUTE format('ALTER TABLE booking_archive ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+    RETURN TRUE;
+END;
+$$;
+
+-- Partitions from the first month with bookings up to three months ahead; the maintainer keeps
+-- creating them from then on.
+SELECT booking_create_partition(month::DATE)
+FROM generate_series(
+    date_trunc('month', LEAST(localtimestamp, (SELECT min(start_date) FROM booking_unpartitioned))),
+    date_trunc('month', localtimestamp) + INTERVAL '3 months',
+    INTERVAL '1 month'
+) AS month;
+
+INSERT INTO booking (id, resident_id, spot_id, start_date, end_date, booking_status,
+                     actual_start_date, actual_end_date, series_id, no_show)
+SELECT id, resident_id, spot_id, start_date, end_date, booking_status,
+       actual_start_date, actual_end_date, series_id, no_show
+FROM booking_unpartitioned;
+
+DROP TABLE booking_unpartitioned;
@@ -0,0 +1,70 @@
+-- Keeps the status of each open booking in open_booking, so that the per-community counts of
+-- open bookings (BookingRepository.countOpenByCommunity) read that table instead of every
+-- booking partition.
+
+ALTER TABLE open_booking
+    ADD COLUMN booking_status VARCHAR(255);
+
+UPDATE open_booking o
+SET booking_status = b.booking_status
+FROM booking b
+WHERE b.id = o.booking_id
+    AND b.start_date = o.start_date;
+
+ALTER TABLE open_booking
+    ALTER COLUMN booking_status SET NOT NULL,
+    ADD CONSTRAINT open_booking_status_check CHECK (booking_status IN ('RESERVED', 'ACTIVE'));
+
+CREATE OR REPLACE FUNCTION open_booking_sync() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        IF NEW.booking_status IN ('RESERVED', 'ACTIVE') THEN
+            INSERT INTO open_booking (booking_id, spot_id, start_date, end_date, booking_status)
+            VALUES (NEW.id, NEW.spot_id, NEW.start_date, NEW.end_date, NEW.booking_status);
+        END IF;
+    ELSIF TG_OP = 'DELETE' THEN
+        DELETE FROM open_booking WHERE booking_id = OLD.id;
+    ELSIF NEW.booking_status NOT IN ('RESERVED', 'ACTIVE') THEN
+        IF OLD.booking_status IN ('RESERVED', 'ACTIVE') THEN
+            DELETE FROM open_booking WHERE booking_id = OLD.id;
+        END IF;
+    ELSIF OLD.booking_status NOT IN ('RESERVED', 'ACTIVE') THEN
+        INSERT INTO open_booking (booking_id, spot_id, start_date, end_date, booking_status)
+        VALUES (NEW.id, NEW.spot_id, NEW.start_date, NEW.end_date, NEW.booking_status);
+    ELSIF (NEW.spot_id, NEW.start_date, NEW.end_date, NEW.booking_status)
+              IS DISTINCT FROM (OLD.spot_id, OLD.start_date, OLD.end_date, OLD.booking_status) THEN
+        UPDATE open_booking
+        SET spot_id = NEW.spot_id, start_date = NEW.start_date, end_date = NEW.end_date,
+            booking_status = NEW.booking_status
+        WHERE booking_id = OLD.id;
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE OR REPLACE FUNCTION booking_create_partition(month DATE) RETURNS BOOLEAN
+    LANGUAGE plpgsql AS
+$$
+DECLARE
+    range_start    DATE := date_trunc('month', month);
+    range_end      DATE := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name TEXT := 'booking_' || to_char(month, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    PERFORM booking_create_partition_table(partition_name);
+    -- the delete trigger of booking_default drops the open rows, they are put back once attached
+    EXECUTE format('WITH moved AS (DELETE FROM booking_default WHERE start_date >= $1 AND start_date < $2 RETURNING *) '
+                   'INSERT INTO %I SELECT * FROM moved', partition_name)
+        USING range_start, range_end;
+    EXECUTE format('ALTER TABLE booking ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)', partition_name, range_start, range_end);
+    EXECUTE format('INSERT INTO open_booking (booking_id, spot_id, start_date, end_date, booking_status) '
+                   'SELECT id, spot_id, start_date, end_date, booking_status FROM %I '
+                   'WHERE booking_status IN (''RESERVED'', ''ACTIVE'')', partition_name);
+    RETURN TRUE;
+END;
+$$;
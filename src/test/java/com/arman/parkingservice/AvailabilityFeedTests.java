@@ -0,0 +1,127 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.feed.AvailabilityFeed;
+import com.arman.parkingservice.service.BookingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest(properties = "parking.feed.buffer-size=4")
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class AvailabilityFeedTests {
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private AvailabilityFeed availabilityFeed;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long communityId;
+    private Long residentId;
+
+    @BeforeEach
+    void setUp() {
+        communityId = fixtures.community("feed");
+        residentId = fixtures.resident(communityId);
+    }
+
+    @Test
+    void subscriberReceivesASnapshotOfEverySpot() throws Exception {
+        Long free = addSpot("F-1");
+        Long taken = addSpot("F-2");
+        book(taken);
+
+        MvcResult stream = subscribe();
+
+        awaitContent(stream, "event:snapshot\ndata:[" + spot(free, "F-1", false) + "," + spot(taken, "F-2", true) + "]");
+    }
+
+    @Test
+    void bookingChangesAreSentAsSpotEvents() throws Exception {
+        Long spotId = addSpot("F-1");
+        MvcResult stream = subscribe();
+        awaitContent(stream, "event:snapshot");
+
+        Long bookingId = book(spotId);
+        awaitContent(stream, "event:spot\ndata:" + spot(spotId, "F-1", true));
+
+        bookingService.cancel(bookingId);
+        awaitContent(stream, "event:spot\ndata:" + spot(spotId, "F-1", false));
+    }
+
+    @Test
+    void subscriberThatFallsBehindIsDropped() throws Exception {
+        addSpot("F-1");
+        double dropped = meterRegistry.get("availability.feed.dropped").counter().count();
+        MvcResult stream = subscribe();
+
+        // heartbeats are queued faster than a sender thread can write them
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (!isCompleted(stream) && System.nanoTime() < deadline) {
+            for (int i = 0; i < 100; i++) {
+                availabilityFeed.tick();
+            }
+        }
+
+        assertThat(isCompleted(stream)).isTrue();
+        assertThat(meterRegistry.get("availability.feed.dropped").counter().count()).isGreaterThan(dropped);
+    }
+
+    private MvcResult subscribe() throws Exception {
+        return mockMvc.perform(get("/api/communities/{communityId}/spots/availability/stream", communityId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        String content = stream.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = stream.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+    }
+
+    private static boolean isCompleted(MvcResult stream) {
+        try {
+            stream.getAsyncResult(1);
+            return true;
+        } catch (IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private static String spot(Long id, String code, boolean occupied) {
+        return "{\"id\":" + id + ",\"code\":\"" + code + "\",\"occupied\":" + occupied + "}";
+    }
+
+    private Long addSpot(String code) {
+        return fixtures.spot(communityId, code);
+    }
+
+    private Long book(Long spotId) {
+        LocalDateTime now = LocalDateTime.now();
+        return fixtures.book(residentId, spotId, now.minusMinutes(30), now.plusMinutes(30));
+    }
+}
@@ -0,0 +1,149 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.dto.booking.AutoBookingRequestDto;
+import com.arman.parkingservice.exception.ResourceAlreadyUsedException;
+import com.arman.parkingservice.service.BookingService;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class BookingConcurrencyTests {
+    private static final Logger log = LoggerFactory.getLogger(BookingConcurrencyTests.class);
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 200;
+    private static final int SPOTS = 4;
+    private static final int HOURLY_SLOTS = 48;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentBookingsNeverDoubleBookASpot() throws Exception {
+        Long communityId = fixtures.community("stress");
+        Long residentId = fixtures.resident(communityId);
+        List<Long> spotIds = new ArrayList<>();
+        for (int i = 0; i < SPOTS; i++) {
+            spotIds.add(fixtures.spot(communityId, "S-" + i));
+        }
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    Long spotId = spotIds.get(random.nextInt(SPOTS));
+                    LocalDateTime startTime = base.plusHours(random.nextInt(HOURLY_SLOTS));
+                    try {
+                        fixtures.book(residentId, spotId, startTime, startTime.plusHours(1 + random.nextInt(3)));
+                        created.incrementAndGet();
+                    } catch (ResourceAlreadyUsedException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Integer doubleBookings = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM booking a
+                JOIN booking b ON a.spot_id = b.spot_id AND a.id < b.id
+                WHERE a.spot_id IN (?, ?, ?, ?)
+                    AND a.booking_status IN ('RESERVED', 'ACTIVE')
+                    AND b.booking_status IN ('RESERVED', 'ACTIVE')
+                    AND a.start_date < b.end_date
+                    AND a.end_date > b.start_date
+                """, Integer.class, spotIds.toArray());
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("{} booking attempts ({} created, {} rejected) in {} ms: {} attempts/s",
+                attempts, created.get(), rejected.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", attempts / (elapsedNanos / 1e9)));
+
+        assertThat(doubleBookings).isZero();
+        assertThat(created.get()).isPositive();
+        assertThat(created.get() + rejected.get()).isEqualTo(attempts);
+    }
+
+    @Test
+    void concurrentAutoBookingsTakeEverySpotOnce() throws Exception {
+        Long communityId = fixtures.community("auto");
+        Long residentId = fixtures.resident(communityId);
+        List<Long> spotIds = new ArrayList<>();
+        for (int i = 0; i < SPOTS; i++) {
+            spotIds.add(fixtures.spot(communityId, "A-" + i));
+        }
+
+        AutoBookingRequestDto request = new AutoBookingRequestDto();
+        request.setResidentId(residentId);
+        request.setStartTime(LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS));
+        request.setEndTime(request.getStartTime().plusHours(2));
+
+        AtomicInteger rejected = new AtomicInteger();
+        List<Long> bookedSpots = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    bookedSpots.add(bookingService.autoBook(communityId, request).getParkingSpot().getId());
+                } catch (ResourceAlreadyUsedException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(bookedSpots).containsExactlyInAnyOrderElementsOf(spotIds);
+        assertThat(rejected.get()).isEqualTo(THREADS - SPOTS);
+    }
+}
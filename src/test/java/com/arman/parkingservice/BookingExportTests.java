@@ -0,0 +1,146 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.persistence.repository.BookingPartitionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class BookingExportTests {
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+    // far enough in the past not to hold any other test's bookings, dropped after each test
+    private static final YearMonth ARCHIVED_MONTH = YearMonth.of(1900, 2);
+    private static final String FIRST_NAME = "Smith, \"Jr\"";
+    private static final String LAST_NAME = "Carriage\rReturn";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BookingPartitionRepository bookingPartitionRepository;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long communityId;
+    private Long residentId;
+    private Long spotId;
+    private LocalDateTime archivedStart;
+    private Long archived;
+    private Long live;
+    private LocalDateTime liveStart;
+
+    @BeforeEach
+    void setUp() {
+        communityId = fixtures.community("export");
+        residentId = fixtures.resident(communityId, FIRST_NAME, LAST_NAME);
+        spotId = fixtures.spot(communityId, "E-1");
+
+        archivedStart = ARCHIVED_MONTH.atDay(10).atTime(8, 0);
+        archived = jdbcTemplate.queryForObject("""
+                INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status)
+                VALUES (?, ?, ?, ?, 'COMPLETED')
+                RETURNING id
+                """, Long.class, residentId, spotId, archivedStart, archivedStart.plusHours(1));
+        transactionTemplate.execute(status ->
+                bookingPartitionRepository.createPartition(ARCHIVED_MONTH, LOCK_TIMEOUT));
+        transactionTemplate.execute(status ->
+                bookingPartitionRepository.archivePartition(ARCHIVED_MONTH, LOCK_TIMEOUT));
+
+        liveStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        live = book(liveStart);
+        // after the window
+        book(liveStart.plusDays(1));
+    }
+
+    @AfterEach
+    void dropArchivedPartition() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS booking_"
+                + ARCHIVED_MONTH.format(DateTimeFormatter.ofPattern("yyyy_MM")));
+    }
+
+    @Test
+    void csvExportQuotesNamesAndIncludesArchivedBookingsOfTheWindow() throws Exception {
+        String csv = export("CSV");
+
+        assertThat(csv.split("\n", -1)).containsExactlyInAnyOrder(
+                "bookingId,residentId,firstName,lastName,spotId,code,"
+                        + "startTime,endTime,status,actualStartTime,actualEndTime",
+                line(archived, archivedStart, "COMPLETED"),
+                line(live, liveStart, "RESERVED"),
+                "");
+    }
+
+    @Test
+    void ndjsonExportWritesOneBookingPerLine() throws Exception {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : export("NDJSON").split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+
+        assertThat(rows)
+                .extracting(row -> row.get("bookingId").asLong())
+                .containsExactlyInAnyOrder(archived, live);
+        assertThat(rows)
+                .allSatisfy(row -> {
+                    assertThat(row.get("firstName").asText()).isEqualTo(FIRST_NAME);
+                    assertThat(row.get("lastName").asText()).isEqualTo(LAST_NAME);
+                    assertThat(row.get("code").asText()).isEqualTo("E-1");
+                });
+    }
+
+    private String export(String format) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/communities/{communityId}/bookings/export", communityId)
+                        .param("from", archivedStart.toLocalDate().withDayOfMonth(1).atStartOfDay().toString())
+                        .param("to", liveStart.plusHours(2).toString())
+                        .param("format", format))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private String line(Long bookingId, LocalDateTime start, String status) {
+        return String.join(",", String.valueOf(bookingId), String.valueOf(residentId),
+                "\"Smith, \"\"Jr\"\"\"", "\"Carriage\rReturn\"", String.valueOf(spotId), "E-1",
+                start.toString(), start.plusHours(1).toString(), status, "", "");
+    }
+
+    private Long book(LocalDateTime start) {
+        return fixtures.book(residentId, spotId, start, start.plusHours(1));
+    }
+}
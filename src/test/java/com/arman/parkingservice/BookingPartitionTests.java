@@ -0,0 +1,105 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.criteria.SearchCriteria;
+import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.enums.BookingPeriod;
+import com.arman.parkingservice.persistence.repository.BookingPartitionRepository;
+import com.arman.parkingservice.service.BookingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class BookingPartitionTests {
+    private static final Duration LOCK_TIMEOUT = Duration.ofSeconds(5);
+    // far enough in the past not to hold any other test's bookings, dropped after each test
+    private static final YearMonth ARCHIVED_MONTH = YearMonth.of(1900, 1);
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingPartitionRepository bookingPartitionRepository;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long residentId;
+    private Long spotId;
+
+    @BeforeEach
+    void setUp() {
+        Long communityId = fixtures.community("partitions");
+        residentId = fixtures.resident(communityId);
+        spotId = fixtures.spot(communityId, "P-1");
+    }
+
+    @AfterEach
+    void dropArchivedPartition() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(ARCHIVED_MONTH));
+    }
+
+    @Test
+    void createdPartitionTakesOverItsMonthWithOpenBookings() {
+        LocalDateTime start = LocalDateTime.now().plusYears(3).truncatedTo(ChronoUnit.HOURS);
+        YearMonth month = YearMonth.from(start);
+        Long bookingId = fixtures.book(residentId, spotId, start, start.plusHours(1));
+
+        transactionTemplate.execute(status -> bookingPartitionRepository.createPartition(month, LOCK_TIMEOUT));
+
+        assertThat(partitionOf(bookingId)).isEqualTo(partitionName(month));
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT booking_status FROM open_booking WHERE booking_id = ?", String.class, bookingId))
+                .containsExactly("RESERVED");
+    }
+
+    @Test
+    void archivedBookingsStayInThePastList() {
+        YearMonth month = ARCHIVED_MONTH;
+        LocalDateTime start = month.atDay(10).atTime(8, 0);
+        Long bookingId = jdbcTemplate.queryForObject("""
+                INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status)
+                VALUES (?, ?, ?, ?, 'COMPLETED')
+                RETURNING id
+                """, Long.class, residentId, spotId, start, start.plusHours(1));
+
+        transactionTemplate.execute(status -> bookingPartitionRepository.createPartition(month, LOCK_TIMEOUT));
+        Boolean archived = transactionTemplate.execute(status ->
+                bookingPartitionRepository.archivePartition(month, LOCK_TIMEOUT));
+
+        assertThat(archived).isTrue();
+        assertThat(bookingPartitionRepository.findLiveMonths()).doesNotContain(month);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM booking WHERE id = ?", Integer.class, bookingId))
+                .isZero();
+        assertThat(bookingService.getAllBookingsByResident(residentId, BookingPeriod.PAST, new SearchCriteria())
+                .getContent())
+                .extracting(BookingResponse::getBookingId)
+                .containsExactly(bookingId);
+        assertThat(bookingService.getBookingById(bookingId).getBookingId()).isEqualTo(bookingId);
+    }
+
+    private String partitionOf(Long bookingId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM booking WHERE id = ?", String.class, bookingId);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "booking_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.criteria.SearchCriteria;
+import com.arman.parkingservice.dto.PageResponseDto;
+import com.arman.parkingservice.dto.booking.BookingResponse;
+import com.arman.parkingservice.enums.BookingPeriod;
+import com.arman.parkingservice.service.BookingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TestFixtures.class)
+class BookingReadStatementTests {
+    private static final int BOOKINGS = 10;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long residentId;
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Long communityId = fixtures.community("reads");
+        residentId = fixtures.resident(communityId);
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Long spotId = fixtures.spot(communityId, "R-" + i);
+            bookingIds.add(fixtures.book(residentId, spotId, base.plusHours(i), base.plusHours(i + 1)));
+        }
+        statistics.clear();
+    }
+
+    @Test
+    void bookingByIdIsOneStatement() {
+        BookingResponse booking = bookingService.getBookingById(bookingIds.get(0));
+
+        assertThat(booking.getResident().getCommunity().getName()).startsWith("reads-");
+        assertThat(booking.getParkingSpot().getCode()).isEqualTo("R-0");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void bookingPageIsOneStatementPlusCount() {
+        PageResponseDto<BookingResponse> page =
+                bookingService.getAllBookingsByResident(residentId, BookingPeriod.ALL, new SearchCriteria());
+
+        assertThat(page.getContent()).hasSize(BOOKINGS);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void bookingSliceIsOneStatement() {
+        SearchCriteria criteria = new SearchCriteria();
+        criteria.setWithTotal(false);
+        criteria.setSize(BOOKINGS / 2);
+
+        PageResponseDto<BookingResponse> page =
+                bookingService.getAllBookingsByResident(residentId, BookingPeriod.FUTURE, criteria);
+
+        assertThat(page.getContent()).hasSize(BOOKINGS / 2);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getTotalElements()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
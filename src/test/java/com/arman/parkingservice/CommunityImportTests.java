@@ -0,0 +1,83 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.dto.community.ImportResponse;
+import com.arman.parkingservice.dto.community.ImportRowError;
+import com.arman.parkingservice.enums.DataFormat;
+import com.arman.parkingservice.service.ImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "parking.import.chunk-size=3")
+@Import(TestFixtures.class)
+class CommunityImportTests {
+
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private TestFixtures fixtures;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long communityId;
+
+    @BeforeEach
+    void setUp() {
+        communityId = fixtures.community("import");
+    }
+
+    @Test
+    void residentsCsvReportsFailedRowsByLine() {
+        ImportResponse response = importService.importResidents(communityId, DataFormat.CSV, body("""
+                firstName,lastName,email
+                Ann,Lee,ann@example.com
+                "Smith, Jr",Bob,bob@example.com
+                Ann,Again,ann@example.com
+                Cid,Doe,not-an-email
+                Dan,Roe
+                Eve,Fox,eve@example.com
+                Ann,Later,ann@example.com
+                """));
+
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(4);
+        assertThat(response.getErrors())
+                .extracting(ImportRowError::getLine)
+                .containsExactlyInAnyOrder(4L, 5L, 6L, 8L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM resident WHERE community_id = ?", Long.class, communityId)).isEqualTo(3);
+    }
+
+    @Test
+    void parkingSpotsNdjsonAreInsertedInChunks() {
+        String spots = IntStream.rangeClosed(1, 10)
+                .mapToObj(i -> "{\"code\":\"I-" + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        ImportResponse first = importService.importParkingSpots(communityId, DataFormat.NDJSON, body(spots));
+        ImportResponse second = importService.importParkingSpots(communityId, DataFormat.NDJSON,
+                body(spots + "\n{\"code\":\"I-11\"}\n[1]"));
+
+        assertThat(first.getImported()).isEqualTo(10);
+        assertThat(first.getFailed()).isZero();
+        assertThat(second.getImported()).isEqualTo(1);
+        assertThat(second.getFailed()).isEqualTo(11);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM parking_spot WHERE community_id = ?", Long.class, communityId)).isEqualTo(11);
+    }
+
+    private static InputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
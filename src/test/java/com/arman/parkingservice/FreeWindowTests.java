@@ -0,0 +1,74 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.dto.booking.FreeWindowResponse;
+import com.arman.parkingservice.exception.BookingConflictException;
+import com.arman.parkingservice.service.FreeWindowService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class FreeWindowTests {
+
+    @Autowired
+    private FreeWindowService freeWindowService;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long residentId;
+    private Long spotId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        Long communityId = fixtures.community("windows");
+        residentId = fixtures.resident(communityId);
+        spotId = fixtures.spot(communityId, "W-1");
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        book(base.plusHours(1), base.plusHours(3));
+        book(base.plusHours(4), base.plusHours(5));
+    }
+
+    @Test
+    void gapsShorterThanTheDurationAreSkipped() {
+        List<FreeWindowResponse> hour = freeWindowService.findForSpot(spotId, base, Duration.ofHours(1), 5);
+        List<FreeWindowResponse> twoHours = freeWindowService.findForSpot(spotId, base, Duration.ofHours(2), 5);
+
+        assertThat(hour)
+                .extracting(FreeWindowResponse::getStartTime)
+                .containsExactly(base, base.plusHours(3), base.plusHours(5));
+        assertThat(hour.get(1).getFreeUntil()).isEqualTo(base.plusHours(4));
+        assertThat(hour.get(2).getFreeUntil()).isNull();
+        assertThat(twoHours)
+                .extracting(FreeWindowResponse::getStartTime)
+                .containsExactly(base.plusHours(5));
+    }
+
+    @Test
+    void conflictCarriesTheClashAndTheNearestAlternatives() {
+        assertThatThrownBy(() -> book(base.plusHours(2), base.plusHours(3)))
+                .isInstanceOfSatisfying(BookingConflictException.class, conflict -> {
+                    assertThat(conflict.getConflictStartTime()).isEqualTo(base.plusHours(1));
+                    assertThat(conflict.getConflictEndTime()).isEqualTo(base.plusHours(3));
+                    assertThat(conflict.getAlternatives())
+                            .extracting(FreeWindowResponse::getStartTime)
+                            .startsWith(base.plusHours(3), base.plusHours(5));
+                });
+    }
+
+    private void book(LocalDateTime start, LocalDateTime end) {
+        fixtures.book(residentId, spotId, start, end);
+    }
+}
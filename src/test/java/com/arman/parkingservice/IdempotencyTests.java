@@ -0,0 +1,99 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.cache.IdempotencyCache;
+import com.arman.parkingservice.exception.BookingConflictException;
+import com.arman.parkingservice.exception.IdempotencyKeyReusedException;
+import com.arman.parkingservice.exception.IdempotentRequestInProgressException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "parking.idempotency.wait-timeout=PT1S")
+class IdempotencyTests {
+
+    @Autowired
+    private IdempotencyCache idempotencyCache;
+
+    @Test
+    void replaysGetTheFirstResponseWithoutRunningAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("POST /test", key, "request", () -> {
+                    started.countDown();
+                    await(release);
+                    return runs.incrementAndGet();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> duplicate = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("POST /test", key, "request", runs::incrementAndGet));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(idempotencyCache.execute("POST /test", key, "request", runs::incrementAndGet)).isEqualTo(1);
+        assertThat(idempotencyCache.execute("POST /other", key, "request", runs::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void failuresAreNotKept() {
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> idempotencyCache.execute("POST /test", key, "request", () -> {
+            throw new BookingConflictException("taken", null, null, null);
+        })).isInstanceOf(BookingConflictException.class);
+
+        assertThat(idempotencyCache.execute("POST /test", key, "request", () -> "created")).isEqualTo("created");
+    }
+
+    @Test
+    void keyReusedForAnotherRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        idempotencyCache.execute("POST /test", key, "request", () -> "created");
+
+        assertThatThrownBy(() -> idempotencyCache.execute("POST /test", key, "other request", () -> "created"))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    void duplicateOfALongRunningRequestIsToldItIsInProgress() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() ->
+                idempotencyCache.execute("POST /test", key, "request", () -> {
+                    started.countDown();
+                    await(release);
+                    return "created";
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> idempotencyCache.execute("POST /test", key, "request", () -> "again"))
+                .isInstanceOf(IdempotentRequestInProgressException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("created");
+        assertThat(idempotencyCache.execute("POST /test", key, "request", () -> "again")).isEqualTo("created");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
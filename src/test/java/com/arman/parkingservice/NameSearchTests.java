@@ -0,0 +1,130 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.criteria.CommunitySearchCriteria;
+import com.arman.parkingservice.criteria.ParkingSpotSearchCriteria;
+import com.arman.parkingservice.criteria.ResidentSearchCriteria;
+import com.arman.parkingservice.dto.community.CommunityCreateDto;
+import com.arman.parkingservice.dto.community.CommunityResponse;
+import com.arman.parkingservice.dto.parkingspot.ParkingSpotResponse;
+import com.arman.parkingservice.dto.resident.ResidentCreateDto;
+import com.arman.parkingservice.dto.resident.ResidentResponse;
+import com.arman.parkingservice.enums.DataFormat;
+import com.arman.parkingservice.index.NameSearchIndex;
+import com.arman.parkingservice.service.CommunityService;
+import com.arman.parkingservice.service.ImportService;
+import com.arman.parkingservice.service.ParkingSpotService;
+import com.arman.parkingservice.service.ResidentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "parking.search.max-ids=2")
+class NameSearchTests {
+
+    @Autowired
+    private CommunityService communityService;
+    @Autowired
+    private ResidentService residentService;
+    @Autowired
+    private ParkingSpotService parkingSpotService;
+    @Autowired
+    private ImportService importService;
+    @Autowired
+    private NameSearchIndex nameSearchIndex;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String communityName;
+    private Long communityId;
+
+    @BeforeEach
+    void setUp() {
+        CommunityCreateDto community = new CommunityCreateDto();
+        community.setName("Search-" + UUID.randomUUID());
+        CommunityResponse created = communityService.addCommunity(community);
+        communityName = created.getName();
+        communityId = created.getId();
+    }
+
+    @Test
+    void communityNameMatchesAnySubstringIgnoringCase() {
+        CommunitySearchCriteria criteria = new CommunitySearchCriteria();
+        criteria.setName(communityName.substring(10, 22).toUpperCase());
+
+        assertThat(communityService.getCommunities(criteria).getContent())
+                .extracting(CommunityResponse::getId)
+                .containsExactly(communityId);
+    }
+
+    @Test
+    void residentFiltersCombineFirstAndLastName() {
+        addResident("Annabel", "Lee");
+        addResident("Joanna", "Leeds");
+        addResident("Hannah", "Moss");
+
+        assertThat(findResidents("ANN", null)).containsExactly("Annabel", "Hannah", "Joanna");
+        assertThat(findResidents("ann", "lee")).containsExactly("Annabel", "Joanna");
+        assertThat(findResidents("nn", "mo")).containsExactly("Hannah");
+        assertThat(findResidents("xyz", null)).isEmpty();
+    }
+
+    @Test
+    void importedSpotsAreSearchable() {
+        importService.importParkingSpots(communityId, DataFormat.CSV, new ByteArrayInputStream("""
+                code
+                A-101
+                A-102
+                B-201
+                """.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(findSpots("b-2")).containsExactly("B-201");
+        assertThat(findSpots("10")).containsExactly("A-101", "A-102");
+    }
+
+    @Test
+    void rowsWrittenElsewhereAreSearchableAfterARefresh() {
+        jdbcTemplate.update("INSERT INTO resident (first_name, last_name, email, community_id) VALUES (?, ?, ?, ?)",
+                "Rosalind", "Franklin", UUID.randomUUID() + "@example.com", communityId);
+
+        nameSearchIndex.refresh();
+
+        assertThat(findResidents("sali", "frank")).containsExactly("Rosalind");
+    }
+
+    private void addResident(String firstName, String lastName) {
+        ResidentCreateDto resident = new ResidentCreateDto();
+        resident.setFirstName(firstName);
+        resident.setLastName(lastName);
+        resident.setEmail(UUID.randomUUID() + "@example.com");
+        resident.setCommunityId(communityId);
+        residentService.addResident(resident);
+    }
+
+    private List<String> findResidents(String firstName, String lastName) {
+        ResidentSearchCriteria criteria = new ResidentSearchCriteria();
+        criteria.setFirstName(firstName);
+        criteria.setLastName(lastName);
+
+        return residentService.getResidentsByCommunity(communityId, criteria).getContent().stream()
+                .map(ResidentResponse::getFirstName)
+                .toList();
+    }
+
+    private List<String> findSpots(String code) {
+        ParkingSpotSearchCriteria criteria = new ParkingSpotSearchCriteria();
+        criteria.setCode(code);
+
+        return parkingSpotService.getAllParkingSpotsByCommunity(communityId, criteria).getContent().stream()
+                .map(ParkingSpotResponse::getCode)
+                .toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.datasource.ReadWriteRoutingDataSource;
+import com.arman.parkingservice.datasource.ReplicaLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the replica as a second pool on the test database, told apart by its application name.
+ */
+@SpringBootTest(properties = {
+        "parking.datasource.replica.url=${spring.datasource.url}",
+        "parking.datasource.replica.hikari.connection-init-sql=SET application_name = 'replica'",
+        "parking.datasource.replica.max-staleness=PT5S",
+        "parking.datasource.replica.lag-check-interval=PT1H"
+})
+class ReadWriteRoutingTests {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @AfterEach
+    void tearDown() {
+        replicaLagMonitor.check();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        replicaLagMonitor.check();
+
+        assertThat(routingDataSource.isReplicaUsable()).isTrue();
+        assertThat(applicationName(true)).isEqualTo("replica");
+        assertThat(applicationName(false)).isNotEqualTo("replica");
+    }
+
+    @Test
+    void staleReplicaSendsReadsToThePrimary() {
+        routingDataSource.setReplicaLag(Duration.ofMinutes(1));
+
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+        assertThat(applicationName(true)).isNotEqualTo("replica");
+    }
+
+    @Test
+    void lagGrowsWithTheTimeSinceItWasMeasured() throws InterruptedException {
+        routingDataSource.setReplicaLag(Duration.ofMillis(4_500));
+        assertThat(routingDataSource.isReplicaUsable()).isTrue();
+
+        Thread.sleep(600);
+
+        assertThat(routingDataSource.isReplicaUsable()).isFalse();
+    }
+
+    private String applicationName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+    }
+}
@@ -0,0 +1,87 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.exception.InvalidRecurrenceRuleException;
+import com.arman.parkingservice.service.RecurrenceRule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTests {
+    // a Monday
+    private static final LocalDate FROM = LocalDate.of(2030, 1, 7);
+    private static final LocalTime EIGHT = LocalTime.of(8, 0);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+
+    @Test
+    void dailyRuleMatchesEveryDayOfTheRange() {
+        assertThat(startDates("FREQ=DAILY", FROM.plusDays(3)))
+                .containsExactly(FROM, FROM.plusDays(1), FROM.plusDays(2), FROM.plusDays(3));
+    }
+
+    @Test
+    void partsAreCaseInsensitiveAndDailyIntervalSkipsDays() {
+        assertThat(startDates("freq=daily; interval=3", FROM.plusDays(9)))
+                .containsExactly(FROM, FROM.plusDays(3), FROM.plusDays(6), FROM.plusDays(9));
+    }
+
+    @Test
+    void weeklyRuleWithoutDaysRepeatsTheStartDay() {
+        assertThat(startDates("FREQ=WEEKLY", FROM.plusWeeks(2)))
+                .containsExactly(FROM, FROM.plusWeeks(1), FROM.plusWeeks(2));
+    }
+
+    @Test
+    void weeklyRuleWithDaysAndIntervalMatchesTheDaysOfEveryOtherWeek() {
+        assertThat(startDates("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,FR", FROM.plusWeeks(3)))
+                .containsExactly(FROM, FROM.plusDays(4), FROM.plusWeeks(2), FROM.plusWeeks(2).plusDays(4));
+    }
+
+    @Test
+    void dailyRuleWithDaysMatchesOnlyThoseDays() {
+        assertThat(startDates("FREQ=DAILY;BYDAY=SA,SU", FROM.plusDays(13)))
+                .containsExactly(FROM.plusDays(5), FROM.plusDays(6), FROM.plusDays(12), FROM.plusDays(13));
+    }
+
+    @Test
+    void overnightWindowEndsOnTheNextDay() {
+        List<RecurrenceRule.Window> windows = RecurrenceRule.parse("FREQ=DAILY")
+                .windows(FROM, FROM, LocalTime.of(22, 0), LocalTime.of(6, 0), FROM.atStartOfDay(), 10);
+
+        assertThat(windows).containsExactly(new RecurrenceRule.Window(
+                FROM.atTime(22, 0), FROM.plusDays(1).atTime(6, 0)));
+    }
+
+    @Test
+    void pastWindowsAreLeftOutAndExpansionStopsAtTheLimit() {
+        List<RecurrenceRule.Window> windows = RecurrenceRule.parse("FREQ=DAILY")
+                .windows(FROM, FROM.plusYears(1), EIGHT, NINE, FROM.plusDays(1).atTime(EIGHT), 3);
+
+        assertThat(windows)
+                .extracting(RecurrenceRule.Window::start)
+                .containsExactly(FROM.plusDays(2).atTime(EIGHT), FROM.plusDays(3).atTime(EIGHT),
+                        FROM.plusDays(4).atTime(EIGHT));
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        for (String rule : List.of("INTERVAL=2", "FREQ=MONTHLY", "FREQ=DAILY;INTERVAL=0", "FREQ=DAILY;INTERVAL=x",
+                "FREQ=WEEKLY;BYDAY=XX", "FREQ=DAILY;COUNT=3", "FREQ")) {
+            assertThatThrownBy(() -> RecurrenceRule.parse(rule))
+                    .as(rule)
+                    .isInstanceOf(InvalidRecurrenceRuleException.class);
+        }
+    }
+
+    private static List<LocalDate> startDates(String rule, LocalDate until) {
+        return RecurrenceRule.parse(rule)
+                .windows(FROM, until, EIGHT, NINE, LocalDateTime.MIN, 1000).stream()
+                .map(window -> window.start().toLocalDate())
+                .toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.criteria.CommunitySearchCriteria;
+import com.arman.parkingservice.criteria.Cursor;
+import com.arman.parkingservice.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchCriteriaTests {
+    private static final Cursor CURSOR = Cursor.of("Green Park", 42L);
+
+    @Test
+    void cursorIsDecodedForTheDefaultOrder() {
+        CommunitySearchCriteria criteria = new CommunitySearchCriteria();
+        criteria.setAfter(CURSOR.encode());
+        criteria.setSortAscDesc("asc");
+
+        assertThat(criteria.cursor()).isEqualTo(CURSOR);
+    }
+
+    @Test
+    void cursorIsRejectedWithAnotherSortKey() {
+        CommunitySearchCriteria criteria = new CommunitySearchCriteria();
+        criteria.setAfter(CURSOR.encode());
+        criteria.setSort("id");
+
+        assertThatThrownBy(criteria::cursor).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void cursorIsRejectedWithDescendingOrder() {
+        CommunitySearchCriteria criteria = new CommunitySearchCriteria();
+        criteria.setAfter(CURSOR.encode());
+        criteria.setSortAscDesc("DESC");
+
+        assertThatThrownBy(criteria::cursor).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        CommunitySearchCriteria criteria = new CommunitySearchCriteria();
+        criteria.setAfter("!");
+
+        assertThatThrownBy(criteria::cursor).isInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,77 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.dto.booking.BookingRequestDto;
+import com.arman.parkingservice.persistence.entity.Community;
+import com.arman.parkingservice.persistence.entity.ParkingSpot;
+import com.arman.parkingservice.persistence.entity.Resident;
+import com.arman.parkingservice.persistence.repository.CommunityRepository;
+import com.arman.parkingservice.persistence.repository.ParkingSpotRepository;
+import com.arman.parkingservice.persistence.repository.ResidentRepository;
+import com.arman.parkingservice.service.BookingService;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Creates the communities, residents, spots and bookings the integration tests run against.
+ * Names and emails are made unique so that tests can share the database.
+ */
+@TestComponent
+class TestFixtures {
+    private final BookingService bookingService;
+    private final CommunityRepository communityRepository;
+    private final ParkingSpotRepository parkingSpotRepository;
+    private final ResidentRepository residentRepository;
+
+    TestFixtures(BookingService bookingService,
+                 CommunityRepository communityRepository,
+                 ParkingSpotRepository parkingSpotRepository,
+                 ResidentRepository residentRepository) {
+        this.bookingService = bookingService;
+        this.communityRepository = communityRepository;
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.residentRepository = residentRepository;
+    }
+
+    /**
+     * @return the id of a new community named after the prefix
+     */
+    Long community(String prefix) {
+        Community community = new Community();
+        community.setName(prefix + "-" + UUID.randomUUID());
+        return communityRepository.save(community).getId();
+    }
+
+    Long resident(Long communityId) {
+        return resident(communityId, "Test", "Resident");
+    }
+
+    Long resident(Long communityId, String firstName, String lastName) {
+        Resident resident = new Resident();
+        resident.setFirstName(firstName);
+        resident.setLastName(lastName);
+        resident.setEmail(UUID.randomUUID() + "@example.com");
+        resident.setCommunity(communityRepository.getReferenceById(communityId));
+        return residentRepository.save(resident).getId();
+    }
+
+    Long spot(Long communityId, String code) {
+        ParkingSpot spot = new ParkingSpot();
+        spot.setCode(code);
+        spot.setCommunity(communityRepository.getReferenceById(communityId));
+        return parkingSpotRepository.save(spot).getId();
+    }
+
+    /**
+     * @return the id of the booking, created through {@link BookingService#addBooking}
+     */
+    Long book(Long residentId, Long spotId, LocalDateTime start, LocalDateTime end) {
+        BookingRequestDto request = new BookingRequestDto();
+        request.setResidentId(residentId);
+        request.setParkingSpotId(spotId);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        return bookingService.addBooking(request).getBookingId();
+    }
+}
@@ -0,0 +1,100 @@
+package com.arman.parkingservice;
+
+import com.arman.parkingservice.dto.utilization.UtilizationReportResponse;
+import com.arman.parkingservice.enums.ReportGranularity;
+import com.arman.parkingservice.exception.BookingExpiredException;
+import com.arman.parkingservice.rollup.UtilizationRollup;
+import com.arman.parkingservice.service.BookingService;
+import com.arman.parkingservice.service.UtilizationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Import(TestFixtures.class)
+class UtilizationTests {
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UtilizationService utilizationService;
+    @Autowired
+    private UtilizationRollup utilizationRollup;
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Long communityId;
+    private Long residentId;
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        communityId = fixtures.community("utilization");
+        residentId = fixtures.resident(communityId);
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @Test
+    void rebuiltReportCountsBookedTimeAndPeakConcurrency() {
+        Long first = addSpot("U-1");
+        Long second = addSpot("U-2");
+        book(first, base.plusHours(1), base.plusHours(3));
+        book(second, base.plusHours(2).plusMinutes(30), base.plusHours(4));
+        utilizationRollup.awaitWrites();
+
+        utilizationService.rebuild(communityId, base, base.plusDays(1));
+        UtilizationReportResponse report = utilizationService.getCommunityReport(
+                communityId, base, base.plusDays(1), ReportGranularity.HOUR);
+
+        assertThat(report.getBookings()).isEqualTo(2);
+        assertThat(report.getBookedSeconds()).isEqualTo((2 * 60 + 90) * 60);
+        assertThat(report.getPeakBookedSpots()).isEqualTo(2);
+        assertThat(report.getSpots()).isEqualTo(2);
+        assertThat(report.getBuckets()).hasSize(3);
+    }
+
+    @Test
+    void incrementalRollupMatchesARebuildOfTheSameRange() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime from = now.minusHours(3).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = base.plusDays(1);
+        Long first = addSpot("I-1");
+        Long second = addSpot("I-2");
+
+        Long parked = book(first, now.minusMinutes(30), now.plusMinutes(30));
+        bookingService.park(parked);
+        bookingService.release(parked);
+        bookingService.cancel(book(second, base.plusHours(2), base.plusHours(5)));
+        book(second, base.plusHours(6), base.plusHours(7));
+        Long expired = book(first, now.minusHours(2), now.minusHours(1));
+        assertThatThrownBy(() -> bookingService.park(expired)).isInstanceOf(BookingExpiredException.class);
+
+        utilizationRollup.awaitWrites();
+        UtilizationReportResponse incremental = utilizationService.getCommunityReport(
+                communityId, from, to, ReportGranularity.HOUR);
+        utilizationService.rebuild(communityId, from, to);
+        UtilizationReportResponse rebuilt = utilizationService.getCommunityReport(
+                communityId, from, to, ReportGranularity.HOUR);
+
+        assertThat(incremental.getBookings()).isEqualTo(3);
+        assertThat(incremental.getNoShows()).isEqualTo(1);
+        assertThat(incremental).usingRecursiveComparison().isEqualTo(rebuilt);
+    }
+
+    private Long addSpot(String code) {
+        return fixtures.spot(communityId, code);
+    }
+
+    private Long book(Long spotId, LocalDateTime start, LocalDateTime end) {
+        return fixtures.book(residentId, spotId, start, end);
+    }
+}
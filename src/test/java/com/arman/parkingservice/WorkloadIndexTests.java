@@ -0,0 +1,204 @@
+package com.arman.parkingservice;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that each index of {@code V2__workload_indexes.sql}, as recreated per partition and on
+ * {@code open_booking} by {@code V4__partition_booking.sql}, is picked for the query it was added for.
+ * Sequential scans are disabled for the plans so the tables do not need production sizes.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WorkloadIndexTests {
+    private static final int SPOTS = 200;
+    private static final int RESIDENTS = 200;
+    private static final int HOURS = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Long communityId;
+    private Long spotId;
+    private Long residentId;
+    private Long seriesId;
+
+    @BeforeAll
+    void seed() {
+        communityId = jdbcTemplate.queryForObject(
+                "INSERT INTO community (name) VALUES (?) RETURNING id", Long.class, "explain-" + UUID.randomUUID());
+
+        jdbcTemplate.update("""
+                INSERT INTO parking_spot (code, community_id)
+                SELECT 'E-' || g, ? FROM generate_series(1, ?) g
+                """, communityId, SPOTS);
+        jdbcTemplate.update("""
+                INSERT INTO resident (first_name, last_name, email, community_id)
+                SELECT 'First' || g, 'Last' || g, 'explain' || g || '@example.com', ? FROM generate_series(1, ?) g
+                """, communityId, RESIDENTS);
+
+        // Every spot booked back to back for HOURS hours around now: the first half completed,
+        // the second half reserved, every tenth booking cancelled.
+        jdbcTemplate.update("""
+                INSERT INTO booking (resident_id, spot_id, start_date, end_date, booking_status)
+                SELECT r.id,
+                       s.id,
+                       date_trunc('hour', localtimestamp) + (h - ? / 2) * interval '1 hour',
+                       date_trunc('hour', localtimestamp) + (h - ? / 2 + 1) * interval '1 hour',
+                       CASE WHEN h % 10 = 0 THEN 'CANCELLED'
+                            WHEN h < ? / 2 THEN 'COMPLETED'
+                            ELSE 'RESERVED' END
+                FROM (SELECT id, row_number() OVER (ORDER BY id) AS rn FROM parking_spot WHERE community_id = ?) s
+                CROSS JOIN generate_series(0, ? - 1) h
+                JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS rn FROM resident WHERE community_id = ?) r
+                    ON r.rn = (s.rn + h) % ?
+                """, HOURS, HOURS, HOURS, communityId, HOURS, communityId, RESIDENTS);
+
+        spotId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM parking_spot WHERE community_id = ?", Long.class, communityId);
+        residentId = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM resident WHERE community_id = ?", Long.class, communityId);
+        seriesId = jdbcTemplate.queryForObject("""
+                INSERT INTO booking_series (resident_id, spot_id, recurrence, start_date, end_date,
+                                            start_time, end_time, series_status)
+                VALUES (?, ?, 'FREQ=DAILY', current_date, current_date + 30, '08:00', '09:00', 'ACTIVE')
+                RETURNING id
+                """, Long.class, residentId, spotId);
+        jdbcTemplate.update("UPDATE booking SET series_id = ? WHERE spot_id = ? AND booking_status = 'RESERVED'",
+                seriesId, spotId);
+
+        jdbcTemplate.execute("ANALYZE community, resident, parking_spot, booking_series, booking, open_booking");
+    }
+
+    @Test
+    void openIntervalsOfSpotUseOpenSpotEndIndex() {
+        assertThat(plan("""
+                SELECT booking_id, spot_id, start_date, end_date FROM open_booking
+                WHERE spot_id = %d
+                    AND end_date > localtimestamp
+                """.formatted(spotId)))
+                .contains("open_booking_spot_end_idx");
+    }
+
+    @Test
+    void openIntervalsUseOpenEndIndex() {
+        assertThat(plan("""
+                SELECT booking_id, spot_id, start_date, end_date FROM open_booking
+                WHERE end_date > localtimestamp + interval '45 hours'
+                """))
+                .contains("open_booking_end_idx");
+    }
+
+    @Test
+    void expireChunkUsesOpenEndIndex() {
+        assertThat(plan("""
+                SELECT id FROM booking
+                WHERE booking_status = 'RESERVED'
+                    AND end_date < localtimestamp
+                LIMIT 1000
+                FOR UPDATE SKIP LOCKED
+                """))
+                .containsPattern("booking_\\w+_open_end_idx");
+    }
+
+    @Test
+    void availabilitySubqueryUsesOpenEndIndex() {
+        assertThat(plan("""
+                SELECT p.id FROM parking_spot p
+                WHERE p.community_id = %d
+                    AND p.id NOT IN (
+                        SELECT o.spot_id FROM open_booking o
+                        WHERE o.start_date < localtimestamp + interval '46 hours'
+                            AND o.end_date > localtimestamp + interval '45 hours'
+                    )
+                """.formatted(communityId)))
+                .contains("open_booking_end_idx");
+    }
+
+    @Test
+    void pastBookingsCountUsesResidentStatusEndIndex() {
+        assertThat(plan("""
+                SELECT count(*) FROM booking_history
+                WHERE resident_id = %d
+                    AND end_date < localtimestamp
+                    AND booking_status = 'COMPLETED'
+                """.formatted(residentId)))
+                .containsPattern("booking_\\w+_resident_status_end_idx");
+    }
+
+    @Test
+    void allBookingsAfterCursorUseResidentIdIndex() {
+        assertThat(plan("""
+                SELECT id FROM booking_history
+                WHERE resident_id = %d
+                    AND id > 0
+                ORDER BY id
+                LIMIT 21
+                """.formatted(residentId)))
+                .containsPattern("booking_\\w+_resident_id_idx");
+    }
+
+    @Test
+    void cancelSeriesUsesSeriesReservedIndex() {
+        assertThat(plan("""
+                UPDATE booking SET booking_status = 'CANCELLED'
+                WHERE series_id = %d
+                    AND booking_status = 'RESERVED'
+                    AND start_date > localtimestamp
+                """.formatted(seriesId)))
+                .containsPattern("booking_\\w+_series_reserved_idx");
+    }
+
+    @Test
+    void spotsOfCommunityUseCommunityCodeIndex() {
+        assertThat(plan("""
+                SELECT id, code FROM parking_spot
+                WHERE community_id = %d
+                ORDER BY code, id
+                LIMIT 21
+                """.formatted(communityId)))
+                .contains("parking_spot_community_code_idx");
+    }
+
+    @Test
+    void residentsOfCommunityUseCommunityFirstNameIndex() {
+        assertThat(plan("""
+                SELECT id, first_name, last_name FROM resident
+                WHERE community_id = %d
+                ORDER BY first_name, id
+                LIMIT 21
+                """.formatted(communityId)))
+                .contains("resident_community_first_name_idx");
+    }
+
+    @Test
+    void communitiesAfterCursorUseNameIndex() {
+        assertThat(plan("""
+                SELECT id, name FROM community
+                WHERE name >= 'explain-'
+                    AND (name > 'explain-' OR id > 0)
+                ORDER BY name, id
+                LIMIT 21
+                """))
+                .contains("community_name_idx");
+    }
+
+    private String plan(String sql) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+        });
+    }
+}